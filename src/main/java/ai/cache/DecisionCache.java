@@ -0,0 +1,295 @@
+package ai.cache;
+
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import entities.Player;
+import entities.Pokemon;
+import entities.battle.Stats;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static entities.battle.RandomStreams.mix64;
+
+/**
+ * Cache of LLM battle decisions keyed by a fingerprint of the situation, so a recurring
+ * situation skips the network. The fingerprint covers difficulty, decision type, both
+ * active Pokemon with HP rounded to eighths, a hash of the moves offered to the AI and both
+ * benches; turn history is left out so near-identical situations share an entry.
+ *
+ * <p>Entries live in an LRU map and expire after a TTL. An optional file tier keeps them
+ * across restarts. Decisions are stored as a move index or team slot and rebuilt against
+ * the current state on a hit, so a cached entry never hands out another battle's Pokemon.
+ */
+public class DecisionCache {
+
+    public static final int DEFAULT_CAPACITY = 2048;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(24);
+    // HP is quantised to this many buckets per Pokemon
+    public static final int HP_BUCKETS = 8;
+
+    // .env / environment variable naming the file tier; unset means memory only
+    private static final String FILE_VARIABLE = "AI_DECISION_CACHE_FILE";
+
+    private static volatile DecisionCache shared;
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final DecisionCacheFile file;
+    // access-ordered, guarded by this
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DecisionCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_TTL_MILLIS, System::currentTimeMillis, null);
+    }
+
+    /**
+     * @param file the file tier, or null for memory only
+     */
+    public DecisionCache(int capacity, long ttlMillis, LongSupplier clock, DecisionCacheFile file) {
+        this.capacity = capacity;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.file = file;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > DecisionCache.this.capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (file != null) {
+            entries.putAll(file.load(clock.getAsLong()));
+        }
+    }
+
+    /**
+     * The cache shared by every decision graph, with a file tier if AI_DECISION_CACHE_FILE is set.
+     */
+    public static DecisionCache shared() {
+        if (shared == null) {
+            synchronized (DecisionCache.class) {
+                if (shared == null) {
+                    final String path = Dotenv.configure().ignoreIfMissing().load().get(FILE_VARIABLE);
+                    shared = new DecisionCache(DEFAULT_CAPACITY, DEFAULT_TTL_MILLIS, System::currentTimeMillis,
+                            path == null || path.isBlank() ? null : new DecisionCacheFile(path));
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * The canonical key for a decision state, or null if the state has no active Pokemon.
+     */
+    public static String fingerprint(BattleDecisionState state) {
+        final Player ai = state.getAiPlayer();
+        final Player opponent = state.getOpponent();
+        if (ai == null || opponent == null || ai.getActivePokemon() == null || opponent.getActivePokemon() == null) {
+            return null;
+        }
+        final Pokemon aiActive = ai.getActivePokemon();
+        final StringBuilder key = new StringBuilder(96);
+        key.append(state.getDifficulty()).append('|')
+                .append("switch".equals(state.getMetadata().get("decisionType")) ? 'S' : 'M').append('|');
+        appendPokemon(key, aiActive);
+        key.append('|');
+        appendMoves(key, aiActive.getMoveNames());
+        key.append('|');
+        appendBench(key, ai);
+        key.append('|');
+        appendPokemon(key, opponent.getActivePokemon());
+        key.append('|');
+        appendBench(key, opponent);
+        return key.toString();
+    }
+
+    private static void appendPokemon(StringBuilder key, Pokemon pokemon) {
+        key.append(pokemon.getId()).append('@').append(hpBucket(pokemon));
+    }
+
+    // count and 64-bit hash of the move list, rather than every name; order matters as
+    // move decisions are stored as indexes
+    private static void appendMoves(StringBuilder key, List<String> moves) {
+        if (moves == null) {
+            key.append('-');
+            return;
+        }
+        long hash = 0;
+        for (String move : moves) {
+            hash = mix64(hash + (move != null ? move.hashCode() : 0));
+        }
+        key.append(moves.size()).append(':').append(Long.toHexString(hash));
+    }
+
+    // team order matters: switch decisions are stored as team slots
+    private static void appendBench(StringBuilder key, Player player) {
+        final List<Pokemon> team = player.getTeam();
+        if (team == null) {
+            return;
+        }
+        for (Pokemon p : team) {
+            if (p != player.getActivePokemon()) {
+                appendPokemon(key, p);
+                key.append(',');
+            }
+        }
+    }
+
+    // 0 for fainted, otherwise 1..HP_BUCKETS
+    static int hpBucket(Pokemon pokemon) {
+        final Stats stats = pokemon.getStats();
+        if (stats == null || stats.getHp() <= 0) {
+            return 0;
+        }
+        final int maxHp = Math.max(stats.getMaxHp(), stats.getHp());
+        return 1 + (int) ((long) (stats.getHp() - 1) * HP_BUCKETS / maxHp);
+    }
+
+    /**
+     * The cached decision for this state, rebuilt against its Pokemon, or null on a miss.
+     */
+    public Decision get(BattleDecisionState state) {
+        final String key = fingerprint(state);
+        if (key == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        final Entry entry;
+        synchronized (this) {
+            final Entry found = entries.get(key);
+            if (found != null && found.expiresAt <= clock.getAsLong()) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+            else {
+                entry = found;
+            }
+        }
+        final Decision decision = entry != null ? entry.toDecision(state) : null;
+        (decision != null ? hits : misses).incrementAndGet();
+        return decision;
+    }
+
+    /**
+     * Remember the decision made for this state.
+     */
+    public void put(BattleDecisionState state, Decision decision) {
+        final String key = fingerprint(state);
+        final Entry entry = key != null ? Entry.of(decision, state, clock.getAsLong() + ttlMillis) : null;
+        if (entry == null) {
+            return;
+        }
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        if (file != null) {
+            file.append(key, entry);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRate() {
+        final long lookups = hits.get() + misses.get();
+        return lookups == 0 ? 0.0 : (double) hits.get() / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DecisionCache{size=%d, hits=%d, misses=%d, hitRate=%.2f, expired=%d, evicted=%d}",
+                size(), getHits(), getMisses(), getHitRate(), getExpirations(), getEvictions());
+    }
+
+    /**
+     * A cached decision: the index of the move in the active Pokemon's move list, or the
+     * team slot to switch to.
+     */
+    static final class Entry {
+        final boolean isSwitch;
+        final int index;
+        final double confidence;
+        final String reasoning;
+        final long expiresAt;
+
+        Entry(boolean isSwitch, int index, double confidence, String reasoning, long expiresAt) {
+            this.isSwitch = isSwitch;
+            this.index = index;
+            this.confidence = confidence;
+            this.reasoning = reasoning;
+            this.expiresAt = expiresAt;
+        }
+
+        static Entry of(Decision decision, BattleDecisionState state, long expiresAt) {
+            final Player ai = state.getAiPlayer();
+            final int index;
+            if (decision.isSwitch()) {
+                index = ai.getTeam() != null ? ai.getTeam().indexOf(decision.getSwitchTarget()) : -1;
+            }
+            else {
+                final List<String> moves = ai.getActivePokemon().getMoveNames();
+                index = decision.getSelectedMove() != null && moves != null
+                        ? moves.indexOf(decision.getSelectedMove().getName()) : -1;
+            }
+            if (index < 0) {
+                return null;
+            }
+            return new Entry(decision.isSwitch(), index, decision.getConfidence(), decision.getReasoning(), expiresAt);
+        }
+
+        Decision toDecision(BattleDecisionState state) {
+            final Player ai = state.getAiPlayer();
+            final String why = "Cached: " + reasoning;
+            if (isSwitch) {
+                final List<Pokemon> team = ai.getTeam();
+                if (team == null || index >= team.size() || team.get(index).isFainted()) {
+                    return null;
+                }
+                return Decision.switchPokemon(team.get(index), why, confidence);
+            }
+            final List<String> moves = ai.getActivePokemon().getMoveNames();
+            if (moves == null || index >= moves.size()) {
+                return null;
+            }
+            return Decision.move(RuleBasedDecisionMaker.lookupMove(moves.get(index)), why, confidence);
+        }
+    }
+}
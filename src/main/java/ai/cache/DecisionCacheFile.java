@@ -0,0 +1,95 @@
+package ai.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * File tier of the {@link DecisionCache}: an append-only, tab-separated log with one line
+ * per stored decision (key, M or S, index, confidence, expiry, reasoning). The newest line
+ * for a key wins. Expired entries are dropped on load, and the log is compacted once it
+ * holds mostly superseded or expired lines.
+ * The cache is only an optimisation, so I/O errors are reported and otherwise ignored.
+ */
+public class DecisionCacheFile {
+
+    private final Path path;
+
+    public DecisionCacheFile(String path) {
+        this.path = Paths.get(path);
+    }
+
+    /**
+     * The live entries of the log, newest line per key, leaving out those expired by {@code now}.
+     */
+    synchronized Map<String, DecisionCache.Entry> load(long now) {
+        final Map<String, DecisionCache.Entry> entries = new LinkedHashMap<>();
+        if (!Files.isRegularFile(path)) {
+            return entries;
+        }
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                final String[] fields = line.split("\t", 6);
+                if (fields.length < 6) {
+                    continue;
+                }
+                try {
+                    entries.put(fields[0], new DecisionCache.Entry("S".equals(fields[1]),
+                            Integer.parseInt(fields[2]), Double.parseDouble(fields[3]),
+                            fields[5], Long.parseLong(fields[4])));
+                } catch (NumberFormatException e) {
+                    // skip a damaged line
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read decision cache: " + e.getMessage());
+            return entries;
+        }
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        if (lines > 2 * entries.size() + 64) {
+            compact(entries);
+        }
+        return entries;
+    }
+
+    synchronized void append(String key, DecisionCache.Entry entry) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line(key, entry));
+        } catch (IOException e) {
+            System.err.println("Could not write decision cache: " + e.getMessage());
+        }
+    }
+
+    // rewrite with only the live, unexpired lines; temp file + move so a crash never truncates the log
+    private void compact(Map<String, DecisionCache.Entry> entries) {
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, DecisionCache.Entry> entry : entries.entrySet()) {
+                    writer.write(line(entry.getKey(), entry.getValue()));
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not compact decision cache: " + e.getMessage());
+        }
+    }
+
+    private static String line(String key, DecisionCache.Entry entry) {
+        final String reasoning = entry.reasoning == null ? "" : entry.reasoning.replaceAll("[\\t\\r\\n]+", " ");
+        return key + '\t' + (entry.isSwitch ? 'S' : 'M') + '\t' + entry.index + '\t' + entry.confidence
+                + '\t' + entry.expiresAt + '\t' + reasoning + '\n';
+    }
+}
@@ -12,10 +12,18 @@ public class DifficultyConfig {
     private final boolean useTypeEffectiveness;
     private final boolean usePowerAnalysis;
     private final boolean useStrategicThinking;
+    private final boolean speculative;
+    private final long latencyBudgetMillis;
+    private final int historyTokenBudget;
+    private final boolean useLocalPolicy;
+    private final long searchBudgetMillis;
+    private final int searchDepth;
 
     private DifficultyConfig(String level, boolean useSimplePrompts, double fallbackProbability,
                             int turnHistoryLimit, boolean useTypeEffectiveness,
-                            boolean usePowerAnalysis, boolean useStrategicThinking) {
+                            boolean usePowerAnalysis, boolean useStrategicThinking,
+                            boolean speculative, long latencyBudgetMillis, int historyTokenBudget,
+                            boolean useLocalPolicy, long searchBudgetMillis, int searchDepth) {
         this.level = level;
         this.useSimplePrompts = useSimplePrompts;
         this.fallbackProbability = fallbackProbability;
@@ -23,6 +31,12 @@ public class DifficultyConfig {
         this.useTypeEffectiveness = useTypeEffectiveness;
         this.usePowerAnalysis = usePowerAnalysis;
         this.useStrategicThinking = useStrategicThinking;
+        this.speculative = speculative;
+        this.latencyBudgetMillis = latencyBudgetMillis;
+        this.historyTokenBudget = historyTokenBudget;
+        this.useLocalPolicy = useLocalPolicy;
+        this.searchBudgetMillis = searchBudgetMillis;
+        this.searchDepth = searchDepth;
     }
 
     /**
@@ -36,7 +50,13 @@ public class DifficultyConfig {
                 0,             // No turn history
                 true,          // Basic type effectiveness only
                 false,         // No power analysis
-                false          // No strategic thinking
+                false,         // No strategic thinking
+                false,         // Decide after the player's move
+                1500,          // Answer within 1.5s
+                0,             // No history tokens
+                true,          // Local policy model, no LLM
+                0,             // No search
+                0
         );
     }
 
@@ -51,7 +71,13 @@ public class DifficultyConfig {
                 3,             // Last 3 turns in context
                 true,          // Type effectiveness
                 true,          // Power + accuracy consideration
-                false          // Limited strategic thinking
+                false,         // Limited strategic thinking
+                false,         // Decide after the player's move
+                3000,          // Answer within 3s
+                60,            // ~60 tokens of history
+                true,          // Local policy model, no LLM
+                2,             // Search for up to 2ms...
+                2              // ...one exchange ahead
         );
     }
 
@@ -66,7 +92,13 @@ public class DifficultyConfig {
                 Integer.MAX_VALUE, // Full turn history
                 true,          // Type effectiveness
                 true,          // Power + accuracy
-                true           // Multi-turn planning, stat changes, etc.
+                true,          // Multi-turn planning, stat changes, etc.
+                true,          // Pre-compute replies while the player chooses
+                6000,          // Answer within 6s
+                160,           // ~160 tokens of history, older turns summarised
+                false,         // LLM decides
+                8,             // Search for up to 8ms...
+                16             // ...as deep as the budget allows
         );
     }
 
@@ -117,6 +149,51 @@ public class DifficultyConfig {
         return useStrategicThinking;
     }
 
+    /**
+     * Whether the AI evaluates its replies to each player move before the player acts.
+     * Costs up to one LLM call per player move, so it is reserved for hard.
+     */
+    public boolean isSpeculative() {
+        return speculative;
+    }
+
+    /**
+     * How long the AI may wait for the LLM before it plays the rule-based decision instead.
+     */
+    public long getLatencyBudgetMillis() {
+        return latencyBudgetMillis;
+    }
+
+    /**
+     * Most prompt tokens the turn history may take, so prompts stop growing as battles get
+     * longer. Turns that do not fit are summarised in one line.
+     */
+    public int getHistoryTokenBudget() {
+        return historyTokenBudget;
+    }
+
+    /**
+     * Whether decisions come from the in-process policy model instead of the LLM.
+     * The model is distilled from logged LLM decisions and answers in microseconds.
+     */
+    public boolean useLocalPolicy() {
+        return useLocalPolicy;
+    }
+
+    /**
+     * How long the expectimax search may take for one decision.
+     */
+    public long getSearchBudgetMillis() {
+        return searchBudgetMillis;
+    }
+
+    /**
+     * Deepest expectimax search in plies; 0 means the difficulty does not search.
+     */
+    public int getSearchDepth() {
+        return searchDepth;
+    }
+
     /**
      * Check if fallback should be used based on random chance
      */
@@ -130,6 +207,9 @@ public class DifficultyConfig {
                 "level='" + level + '\'' +
                 ", fallbackProbability=" + fallbackProbability +
                 ", turnHistoryLimit=" + turnHistoryLimit +
+                ", latencyBudgetMillis=" + latencyBudgetMillis +
+                ", useLocalPolicy=" + useLocalPolicy +
+                ", searchBudgetMillis=" + searchBudgetMillis +
                 '}';
     }
 }
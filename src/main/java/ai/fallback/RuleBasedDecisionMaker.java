@@ -1,34 +1,39 @@
 package ai.fallback;
 
+import ai.config.DifficultyConfig;
 import ai.graph.BattleDecisionState;
 import ai.graph.Decision;
+import ai.search.BattleSearch;
+import entities.battle.BattleRandom;
 import entities.battle.Move;
+import entities.battle.RandomStreams;
 import entities.Pokemon;
 import pokeapi.JSONLoader;
+import pokeapi.MatchupMatrix;
 
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 /**
  * Rule-based fallback decision maker for when LLM is unavailable or fails.
- * Uses simple heuristics based on difficulty level.
+ * Easy picks at random; medium and hard search the battle with {@link BattleSearch}.
+ * Switches that are not searched go to the best species matchup in {@link MatchupMatrix}.
  */
 public class RuleBasedDecisionMaker {
-    private static final Random random = new Random();
 
     /**
      * Make a move decision using rule-based logic
      */
     public static Decision decideMoveEasy(BattleDecisionState state) {
         Pokemon activePokemon = state.getAiPlayer().getActivePokemon();
-        if (activePokemon == null || activePokemon.getMoves() == null || activePokemon.getMoves().isEmpty()) {
+        List<String> moves = activePokemon != null ? activePokemon.getMoveNames() : null;
+        if (moves == null || moves.isEmpty()) {
             return Decision.move(new Move(), "No moves available", 0.1);
         }
 
         // Easy: Just pick a random move
-        List<String> moves = activePokemon.getMoves();
-        int randomIndex = random.nextInt(moves.size());
+        int randomIndex = tiebreakRandom(state).nextInt(moves.size());
         String moveName = moves.get(randomIndex);
 
         // Look up the full move from JSONLoader
@@ -37,67 +42,41 @@ public class RuleBasedDecisionMaker {
         return Decision.move(selectedMove, "Random move selection (Easy difficulty)", 0.3);
     }
 
+    // the battle's own tiebreak stream keeps AI choices replayable from the battle seed
+    private static RandomGenerator tiebreakRandom(BattleDecisionState state) {
+        if (state.getBattle() != null) {
+            return state.getBattle().getRandomStreams().get(RandomStreams.Stream.AI_TIEBREAK);
+        }
+        return BattleRandom.current();
+    }
+
     /**
-     * Make a medium difficulty move decision
+     * Make a medium difficulty move decision: a shallow search, one exchange ahead
      */
     public static Decision decideMoveMedium(BattleDecisionState state) {
-        Pokemon activePokemon = state.getAiPlayer().getActivePokemon();
-        Pokemon opponentPokemon = state.getOpponent().getActivePokemon();
-
-        if (activePokemon == null || activePokemon.getMoves() == null || activePokemon.getMoves().isEmpty()) {
-            return Decision.move(new Move(), "No moves available", 0.1);
-        }
-
-        List<String> moves = activePokemon.getMoves();
-
-        // Medium: Try to pick a super-effective move if available
-        // For now, just pick the first move (simplified logic)
-        // In a full implementation, this would check type effectiveness
-        String selectedMoveName = moves.get(0);
-        if (opponentPokemon != null && opponentPokemon.getTypes() != null && !opponentPokemon.getTypes().isEmpty()) {
-            // Simple heuristic: prefer moves that match opponent weakness
-            for (String moveName : moves) {
-                // This is simplified - would need actual type chart lookup
-                selectedMoveName = moveName;
-                break;
-            }
-        }
-
-        Move selectedMove = lookupMove(selectedMoveName);
-        return Decision.move(selectedMove, "Selected move based on type matchup (Medium difficulty)", 0.6);
+        return decideMoveBySearch(state, DifficultyConfig.medium());
     }
 
     /**
-     * Make a hard difficulty move decision
+     * Make a hard difficulty move decision: an expectimax search as deep as the time budget allows
      */
     public static Decision decideMoveHard(BattleDecisionState state) {
-        Pokemon activePokemon = state.getAiPlayer().getActivePokemon();
-        Pokemon opponentPokemon = state.getOpponent().getActivePokemon();
+        return decideMoveBySearch(state, DifficultyConfig.hard());
+    }
 
-        if (activePokemon == null || activePokemon.getMoves() == null || activePokemon.getMoves().isEmpty()) {
+    private static Decision decideMoveBySearch(BattleDecisionState state, DifficultyConfig config) {
+        Pokemon activePokemon = state.getAiPlayer().getActivePokemon();
+        List<String> moves = activePokemon != null ? activePokemon.getMoveNames() : null;
+        if (moves == null || moves.isEmpty()) {
             return Decision.move(new Move(), "No moves available", 0.1);
         }
 
-        List<String> moves = activePokemon.getMoves();
-
-        // Hard: Consider type effectiveness, power, and HP percentages
-        // For now, pick the first move with reasoning
-        // In a full implementation, this would analyze all factors
-        String selectedMoveName = moves.get(0);
-        String reasoning = "Selected strategically based on type effectiveness, move power, and battle state";
-
-        if (opponentPokemon != null && opponentPokemon.getStats() != null) {
-            int opponentHp = opponentPokemon.getStats().getHp();
-
-            if (opponentHp < 30) {
-                // Opponent is low HP, go for any damaging move
-                selectedMoveName = moves.get(0);
-                reasoning = "Opponent is low on HP - finishing them off";
-            }
+        Decision decision = BattleSearch.decideMove(state, config);
+        if (decision != null) {
+            return decision;
         }
-
-        Move selectedMove = lookupMove(selectedMoveName);
-        return Decision.move(selectedMove, reasoning, 0.8);
+        // No opponent to search against
+        return Decision.move(lookupMove(moves.get(0)), "No target to evaluate moves against", 0.3);
     }
 
     /**
@@ -120,12 +99,41 @@ public class RuleBasedDecisionMaker {
             return Decision.switchPokemon(null, "No available Pokemon to switch to", 0.1);
         }
 
-        // Simple heuristic: pick the first available Pokemon
-        // In a full implementation, would consider type matchups
+        // Difficulties that search compare every option
+        DifficultyConfig config = DifficultyConfig.forLevel(state.getDifficulty());
+        if (config.getSearchDepth() > 0 && availablePokemon.size() > 1) {
+            Decision decision = BattleSearch.decideSwitch(state, config);
+            if (decision != null) {
+                return decision;
+            }
+        }
+
+        // Otherwise send in whoever matches up best against the opponent's active Pokemon
+        Pokemon opponentActive = state.getOpponent() != null ? state.getOpponent().getActivePokemon() : null;
+        if (opponentActive == null) {
+            Pokemon switchTarget = availablePokemon.get(0);
+            return Decision.switchPokemon(switchTarget,
+                    "Switching to " + switchTarget.getName() + " as best available option", 0.6);
+        }
+        MatchupMatrix matchups = MatchupMatrix.get();
         Pokemon switchTarget = availablePokemon.get(0);
-        String reasoning = "Switching to " + switchTarget.getName() + " as best available option";
+        for (Pokemon candidate : availablePokemon) {
+            if (matchupScore(matchups, candidate, opponentActive) > matchupScore(matchups, switchTarget, opponentActive)) {
+                switchTarget = candidate;
+            }
+        }
+        boolean wins = matchups.beats(switchTarget.getId(), opponentActive.getId());
+        String reasoning = "Switching to " + switchTarget.getName()
+                + (wins ? " as it wins the matchup against " : " as the best available matchup against ")
+                + opponentActive.getName();
 
-        return Decision.switchPokemon(switchTarget, reasoning, 0.6);
+        return Decision.switchPokemon(switchTarget, reasoning, wins ? 0.7 : 0.5);
+    }
+
+    // winning the one-on-one comes first, then the damage traded per hit
+    private static double matchupScore(MatchupMatrix matchups, Pokemon candidate, Pokemon opponent) {
+        double advantage = matchups.advantage(candidate.getId(), opponent.getId());
+        return (matchups.beats(candidate.getId(), opponent.getId()) ? 2 * MatchupMatrix.MAX_SHARE : 0.0) + advantage;
     }
 
     /**
@@ -155,12 +163,11 @@ public class RuleBasedDecisionMaker {
     /**
      * Helper method to look up a move from JSONLoader by name
      */
-    private static Move lookupMove(String moveName) {
+    public static Move lookupMove(String moveName) {
         // Look up the full move from JSONLoader to get power and other properties
-        for (Move move : JSONLoader.getInstance().getAllMoves()) {
-            if (move.getName().equalsIgnoreCase(moveName)) {
-                return move;
-            }
+        final Move move = JSONLoader.getInstance().getMoveRepository().getByName(moveName);
+        if (move != null) {
+            return move;
         }
 
         // If move not found, create a basic move with default power
@@ -1,35 +1,63 @@
 package ai.graph;
 
+import ai.config.DifficultyConfig;
 import ai.graph.nodes.*;
+import ai.runtime.AIRuntime;
 import org.bsc.langgraph4j.CompiledGraph;
 import org.bsc.langgraph4j.StateGraph;
 import org.bsc.langgraph4j.GraphStateException;
+import shared.GroqAPIClient;
 
 import static org.bsc.langgraph4j.StateGraph.END;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.bsc.langgraph4j.action.AsyncEdgeAction.edge_async;
 import static org.bsc.langgraph4j.action.AsyncNodeAction.node_async;
 
 /**
  * Decision engine using LangGraph4j StateGraph to orchestrate AI decision-making.
  * Builds a graph with nodes for analysis, evaluation, LLM decision, and validation.
+ * Trivial decisions (one legal switch target or one move) are routed from evaluation to
+ * a deterministic resolver instead of the LLM, difficulties configured with a local
+ * policy are decided in-process by {@link LocalPolicyNode}, and hard can be set to play
+ * by search ({@link SearchDecisionNode}).
  */
 public class DecisionGraph {
 
+    // routes out of the evaluate node
+    private static final String ROUTE_LLM = "llm";
+    private static final String ROUTE_FORCED = "forced";
+    private static final String ROUTE_LOCAL = "local";
+    private static final String ROUTE_SEARCH = "search";
+
     private CompiledGraph<BattleDecisionState> compiledGraph;
+    private final AtomicLong llmBypassCount = new AtomicLong();
 
     public DecisionGraph() {
-        this.compiledGraph = buildStateGraph();
+        this(AIRuntime.get().getGroqClient());
+    }
+
+    /**
+     * @param groqClient the client the LLM node calls, or null to always use the local policy
+     */
+    public DecisionGraph(GroqAPIClient groqClient) {
+        this.compiledGraph = buildStateGraph(groqClient);
     }
 
     /**
      * Build the LangGraph4j StateGraph with all decision nodes.
      */
-    private CompiledGraph<BattleDecisionState> buildStateGraph() {
+    private CompiledGraph<BattleDecisionState> buildStateGraph(GroqAPIClient groqClient) {
         try {
             // Create node instances
             AnalyzeBattleStateNode analyzeNode = new AnalyzeBattleStateNode();
             EvaluateOptionsNode evaluateNode = new EvaluateOptionsNode();
-            LLMDecisionNode llmNode = new LLMDecisionNode();
+            LLMDecisionNode llmNode = new LLMDecisionNode(groqClient);
             ValidateDecisionNode validateNode = new ValidateDecisionNode();
+            ForcedDecisionNode forcedNode = new ForcedDecisionNode();
+            LocalPolicyNode localNode = new LocalPolicyNode();
+            SearchDecisionNode searchNode = new SearchDecisionNode();
 
             // Build the StateGraph using LangGraph4j API
             // Wrap nodes with node_async to convert NodeAction to AsyncNodeAction
@@ -41,10 +69,18 @@ public class DecisionGraph {
             .addNode("evaluate", node_async(evaluateNode))
             .addNode("llm_decision", node_async(llmNode))
             .addNode("validate", node_async(validateNode))
+            .addNode("forced_decision", node_async(forcedNode))
+            .addNode("local_policy", node_async(localNode))
+            .addNode("search_decision", node_async(searchNode))
             .addEdge(StateGraph.START, "analyze")
             .addEdge("analyze", "evaluate")
-            .addEdge("evaluate", "llm_decision")
+            .addConditionalEdges("evaluate", edge_async(DecisionGraph::route),
+                    Map.of(ROUTE_LLM, "llm_decision", ROUTE_FORCED, "forced_decision",
+                            ROUTE_LOCAL, "local_policy", ROUTE_SEARCH, "search_decision"))
             .addEdge("llm_decision", "validate")
+            .addEdge("forced_decision", "validate")
+            .addEdge("local_policy", "validate")
+            .addEdge("search_decision", "validate")
             .addEdge("validate", END);
 
             return stateGraph.compile();
@@ -53,6 +89,21 @@ public class DecisionGraph {
         }
     }
 
+    // trivial decisions skip the LLM, and so do difficulties played by the local policy or search
+    private static String route(BattleDecisionState state) {
+        if (state.<Boolean>value("trivialDecision").orElse(false)) {
+            return ROUTE_FORCED;
+        }
+        DifficultyConfig config = DifficultyConfig.forLevel(state.getDifficulty());
+        if (config.useLocalPolicy()) {
+            return ROUTE_LOCAL;
+        }
+        if ("hard".equals(config.getLevel()) && AIRuntime.get().searchPlaysHard()) {
+            return ROUTE_SEARCH;
+        }
+        return ROUTE_LLM;
+    }
+
     /**
      * Execute the decision graph using LangGraph4j and return the final decision.
      */
@@ -72,6 +123,10 @@ public class DecisionGraph {
         }
 
         BattleDecisionState finalState = resultOpt.get();
+        if (finalState.<Boolean>value("llmBypassed").orElse(false)) {
+            llmBypassCount.incrementAndGet();
+            System.out.println("[DecisionGraph] LLM bypassed: " + finalState.<String>value("llmBypassReason").orElse(""));
+        }
 
         // Extract final decision
         Decision finalDecision = finalState.getCurrentDecision();
@@ -100,11 +155,19 @@ public class DecisionGraph {
     }
 
     /**
-     * Build a decision graph for the specified difficulty level.
+     * How many decisions this graph resolved without the LLM.
+     */
+    public long getLlmBypassCount() {
+        return llmBypassCount.get();
+    }
+
+    /**
+     * The decision graph for the specified difficulty level. Graphs are compiled once per
+     * process and shared; see {@link AIRuntime}.
      */
     public static DecisionGraph buildGraph(String difficulty) {
-        // For now, all difficulty levels use the same graph structure
+        // All difficulty levels use the same graph structure
         // The difficulty affects behavior within the nodes (prompts, fallback probability, etc.)
-        return new DecisionGraph();
+        return AIRuntime.get().graphFor(difficulty);
     }
 }
@@ -0,0 +1,142 @@
+package ai.graph;
+
+import entities.Player;
+import entities.Pokemon;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decision graph runs started ahead of time, one per predicted battle state.
+ * While the human picks a move, the AI evaluates the state each of their moves is
+ * expected to lead to. When the human acts, the matching run is committed and the
+ * others are cancelled, so the AI's reply is usually ready (or nearly) at once.
+ */
+public class SpeculativeDecisions {
+
+    // one worker per possible player move
+    private static final int WORKERS = 4;
+
+    private static final ExecutorService POOL = createPool();
+
+    private final DecisionGraph graph;
+    // player move index -> speculation for the state that move leads to
+    private final Map<Integer, Speculation> pending = new HashMap<>();
+
+    public SpeculativeDecisions(DecisionGraph graph) {
+        this.graph = graph;
+    }
+
+    private static ExecutorService createPool() {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(WORKERS, WORKERS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(WORKERS * 2), runnable -> {
+                    final Thread thread = new Thread(runnable, "ai-speculation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Start evaluating the state the given player move is predicted to lead to.
+     * The state must hold its own copies of both teams, since it is read on another thread.
+     * If the pool is saturated the speculation is skipped.
+     */
+    public synchronized void speculate(int playerMoveIndex, BattleDecisionState predicted) {
+        cancel(pending.remove(playerMoveIndex));
+        try {
+            final Future<Decision> decision = POOL.submit(() -> graph.execute(predicted));
+            pending.put(playerMoveIndex, new Speculation(predicted, decision));
+        } catch (RejectedExecutionException e) {
+            // speculation is best effort; the AI will decide after the move instead
+        }
+    }
+
+    /**
+     * Take the speculative decision for the move the player actually made, and cancel the rest.
+     * Waits for the run if it is still going, which is never slower than starting over.
+     *
+     * @return the decision, or null if there was none, the actual state no longer matches
+     *         the prediction, or the run failed
+     */
+    public Decision commit(int playerMoveIndex, Player aiPlayer, Player opponent) {
+        final Speculation speculation;
+        synchronized (this) {
+            speculation = pending.remove(playerMoveIndex);
+            cancelAll();
+        }
+        if (speculation == null || !speculation.matches(aiPlayer, opponent)) {
+            cancel(speculation);
+            return null;
+        }
+        try {
+            return speculation.decision.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drop every pending speculation, e.g. when the battle ends.
+     */
+    public synchronized void cancelAll() {
+        for (Speculation speculation : pending.values()) {
+            cancel(speculation);
+        }
+        pending.clear();
+    }
+
+    private static void cancel(Speculation speculation) {
+        if (speculation != null) {
+            speculation.decision.cancel(true);
+        }
+    }
+
+    /**
+     * A running decision plus the parts of its predicted state that must still hold for it
+     * to be used: the same Pokemon active on both sides with the same moves.
+     */
+    private static final class Speculation {
+        private final int aiActiveId;
+        private final int opponentActiveId;
+        private final List<String> aiMoves;
+        private final Future<Decision> decision;
+
+        Speculation(BattleDecisionState predicted, Future<Decision> decision) {
+            final Pokemon aiActive = predicted.getAiPlayer().getActivePokemon();
+            final Pokemon opponentActive = predicted.getOpponent().getActivePokemon();
+            this.aiActiveId = aiActive.getId();
+            this.opponentActiveId = opponentActive != null ? opponentActive.getId() : -1;
+            this.aiMoves = moveNames(aiActive);
+            this.decision = decision;
+        }
+
+        boolean matches(Player aiPlayer, Player opponent) {
+            final Pokemon aiActive = aiPlayer.getActivePokemon();
+            final Pokemon opponentActive = opponent != null ? opponent.getActivePokemon() : null;
+            return aiActive != null && !aiActive.isFainted()
+                    && aiActive.getId() == aiActiveId
+                    && (opponentActive != null ? opponentActive.getId() : -1) == opponentActiveId
+                    && aiMoves.equals(moveNames(aiActive));
+        }
+
+        private static List<String> moveNames(Pokemon pokemon) {
+            final List<String> names = pokemon.getMoveNames();
+            return names != null ? new ArrayList<>(names) : new ArrayList<>();
+        }
+    }
+}
@@ -2,10 +2,14 @@ package ai.graph.nodes;
 
 import ai.graph.BattleDecisionState;
 import entities.Pokemon;
+import entities.battle.DamageCalculator;
+import entities.battle.PokemonType;
 import org.bsc.langgraph4j.action.NodeAction;
+import pokeapi.MatchupMatrix;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -65,34 +69,42 @@ public class AnalyzeBattleStateNode implements NodeAction<BattleDecisionState> {
             analysis.append("Your ").append(String.join("/", aiTypes));
             analysis.append(" vs Opponent's ").append(String.join("/", opponentTypes));
 
-            // Simplified type effectiveness analysis
-            // In a full implementation, would use a type chart
-            if (hasTypeAdvantage(aiTypes, opponentTypes)) {
+            if (hasTypeAdvantage(aiPokemon.getTypeIds(), opponentPokemon.getTypeIds())) {
                 analysis.append(" - You have type advantage!");
-            } else if (hasTypeAdvantage(opponentTypes, aiTypes)) {
+            } else if (hasTypeAdvantage(opponentPokemon.getTypeIds(), aiPokemon.getTypeIds())) {
                 analysis.append(" - Opponent has type advantage!");
             } else {
                 analysis.append(" - Neutral matchup");
             }
         }
 
+        // Species matchup from the precomputed matrix: best learnable moves, full HP
+        MatchupMatrix matchups = MatchupMatrix.get();
+        int aiId = aiPokemon.getId();
+        int opponentId = opponentPokemon.getId();
+        if (matchups.contains(aiId) && matchups.contains(opponentId)) {
+            analysis.append(String.format(Locale.ROOT,
+                    "\n  Species Matchup: your best move takes %.0f%% of its HP, its best takes %.0f%% of yours",
+                    100 * matchups.damageShare(aiId, opponentId), 100 * matchups.damageShare(opponentId, aiId)));
+            if (matchups.beats(aiId, opponentId)) {
+                analysis.append(" - You win this matchup!");
+            } else if (matchups.beats(opponentId, aiId)) {
+                analysis.append(" - Opponent wins this matchup!");
+            } else {
+                analysis.append(" - Even matchup");
+            }
+        }
+
         return analysis.toString();
     }
 
     /**
-     * Simple type advantage check (placeholder for full type chart)
+     * Whether any of the attacker's types hits the defender super effectively
      */
-    private boolean hasTypeAdvantage(List<String> attackerTypes, List<String> defenderTypes) {
-        // Simplified type effectiveness - would use full type chart in production
-        // This is a placeholder that returns false to avoid incorrect assumptions
-        for (String atkType : attackerTypes) {
-            for (String defType : defenderTypes) {
-                // Example: Water beats Fire, Fire beats Grass, Grass beats Water
-                if (atkType.equalsIgnoreCase("water") && defType.equalsIgnoreCase("fire")) return true;
-                if (atkType.equalsIgnoreCase("fire") && defType.equalsIgnoreCase("grass")) return true;
-                if (atkType.equalsIgnoreCase("grass") && defType.equalsIgnoreCase("water")) return true;
-                if (atkType.equalsIgnoreCase("electric") && defType.equalsIgnoreCase("water")) return true;
-                // Add more type matchups as needed
+    private boolean hasTypeAdvantage(PokemonType[] attackerTypes, PokemonType[] defenderTypes) {
+        for (PokemonType type : attackerTypes) {
+            if (DamageCalculator.getTypeEffectiveness(type, defenderTypes) > 1.0) {
+                return true;
             }
         }
         return false;
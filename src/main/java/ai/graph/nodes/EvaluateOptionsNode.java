@@ -4,12 +4,16 @@ import ai.graph.BattleDecisionState;
 import entities.Pokemon;
 import org.bsc.langgraph4j.action.NodeAction;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * LangGraph4j node that determines what type of decision is needed.
- * Decides between forced switch (Pokemon fainted) or tactical decision (move or strategic switch).
+ * Decides between forced switch (Pokemon fainted) or tactical decision (move or strategic switch),
+ * and flags trivial decisions (a single legal switch target or a single move) so the graph
+ * can resolve them without the LLM.
  */
 public class EvaluateOptionsNode implements NodeAction<BattleDecisionState> {
 
@@ -29,7 +33,7 @@ public class EvaluateOptionsNode implements NodeAction<BattleDecisionState> {
         } else if (activePokemon.isFainted()) {
             forcedSwitch = true;
             reason = "Active Pokemon fainted";
-        } else if (activePokemon.getMoves() == null || activePokemon.getMoves().isEmpty()) {
+        } else if (activePokemon.getMoveNames() == null || activePokemon.getMoveNames().isEmpty()) {
             forcedSwitch = true;
             reason = "No moves available";
         }
@@ -46,8 +50,52 @@ public class EvaluateOptionsNode implements NodeAction<BattleDecisionState> {
             updates.put("decisionType", "move");
         }
 
+        // Flag decisions with at most one legal option
+        final boolean switchDecision = forcedSwitch || "switch".equals(state.getMetadata().get("decisionType"));
+        final String trivialReason = switchDecision
+                ? trivialSwitchReason(state.getAiPlayer().getTeam(), activePokemon)
+                : trivialMoveReason(activePokemon);
+        updates.put("trivialDecision", trivialReason != null);
+        if (trivialReason != null) {
+            updates.put("llmBypassReason", trivialReason);
+        }
+
         updates.put("evaluationCompleted", true);
 
         return updates;
     }
+
+    private static String trivialSwitchReason(List<Pokemon> team, Pokemon activePokemon) {
+        final List<Pokemon> targets = switchTargets(team, activePokemon);
+        if (targets.isEmpty()) {
+            return "No Pokemon left to switch to";
+        }
+        if (targets.size() == 1) {
+            return "Forced switch: " + targets.get(0).getName() + " is the only option";
+        }
+        return null;
+    }
+
+    private static String trivialMoveReason(Pokemon activePokemon) {
+        final List<String> moves = activePokemon.getMoveNames();
+        if (moves.size() == 1) {
+            return "Only one usable move: " + moves.get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Team members that can legally be switched in.
+     */
+    public static List<Pokemon> switchTargets(List<Pokemon> team, Pokemon activePokemon) {
+        final List<Pokemon> targets = new ArrayList<>();
+        if (team != null) {
+            for (Pokemon p : team) {
+                if (p != activePokemon && !p.isFainted()) {
+                    targets.add(p);
+                }
+            }
+        }
+        return targets;
+    }
 }
@@ -0,0 +1,46 @@
+package ai.graph.nodes;
+
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import entities.Pokemon;
+import org.bsc.langgraph4j.action.NodeAction;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LangGraph4j node that resolves trivial decisions without the LLM.
+ * Reached when EvaluateOptionsNode finds a single legal switch target or a single move.
+ */
+public class ForcedDecisionNode implements NodeAction<BattleDecisionState> {
+
+    @Override
+    public Map<String, Object> apply(BattleDecisionState state) throws Exception {
+        Map<String, Object> updates = new HashMap<>();
+
+        String reason = state.<String>value("llmBypassReason").orElse("Trivial decision");
+        System.out.println("[ForcedDecisionNode] Skipping LLM: " + reason);
+
+        Pokemon activePokemon = state.getAiPlayer().getActivePokemon();
+        boolean isSwitch = activePokemon == null || activePokemon.isFainted()
+                || activePokemon.getMoveNames() == null || activePokemon.getMoveNames().isEmpty()
+                || "switch".equals(state.getMetadata().get("decisionType"));
+
+        Decision decision;
+        if (isSwitch) {
+            List<Pokemon> targets = EvaluateOptionsNode.switchTargets(state.getAiPlayer().getTeam(), activePokemon);
+            decision = targets.size() == 1
+                    ? Decision.switchPokemon(targets.get(0), reason, 1.0)
+                    : RuleBasedDecisionMaker.makeDecision(state, true);
+        } else {
+            decision = Decision.move(RuleBasedDecisionMaker.lookupMove(activePokemon.getMoveNames().get(0)), reason, 1.0);
+        }
+
+        updates.put("currentDecision", decision);
+        updates.put("useFallback", false);
+        updates.put("llmBypassed", true);
+        return updates;
+    }
+}
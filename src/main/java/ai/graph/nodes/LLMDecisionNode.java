@@ -1,12 +1,20 @@
 package ai.graph.nodes;
 
+import ai.cache.DecisionCache;
 import ai.config.DifficultyConfig;
 import ai.fallback.RuleBasedDecisionMaker;
 import ai.graph.BattleDecisionState;
 import ai.graph.Decision;
 import ai.parsers.LLMResponseParser;
+import ai.parsers.StreamingDecisionParser;
+import ai.policy.DecisionLog;
+import ai.policy.PolicyFeatures;
+import ai.prompts.ConversationSession;
 import ai.prompts.PromptTemplates;
+import ai.runtime.AIRuntime;
 import ai.serializers.BattleContextSerializer;
+import ai.serializers.TokenEstimator;
+import entities.Pokemon;
 import org.bsc.langgraph4j.action.NodeAction;
 import shared.GroqAPIClient;
 import shared.GroqAPIClient.Message;
@@ -15,25 +23,45 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * LangGraph4j node that calls the Groq LLM to make battle decisions.
  * Includes fallback logic for API failures.
+ * The rule-based decision is computed while the request is in flight, and if the LLM
+ * has not answered within the difficulty's latency budget the request is cancelled and
+ * that decision is played, so a slow API never stalls the turn.
+ * The reply is streamed and the decision is taken as soon as its line is complete; the
+ * reasoning that follows is only logged.
  */
 public class LLMDecisionNode implements NodeAction<BattleDecisionState> {
 
+    // how long the reply may keep streaming reasoning for the log once the decision is in
+    private static final long REASONING_TAIL_MILLIS = 1500;
+
     private final GroqAPIClient groqClient;
+    // consulted before the API; hits skip the network
+    private final DecisionCache cache;
+    // every parsed LLM decision, for training the local policy
+    private final DecisionLog decisionLog = DecisionLog.shared();
 
     public LLMDecisionNode() {
-        try {
-            this.groqClient = new GroqAPIClient();
-        } catch (GroqAPIClient.GroqAPIException e) {
-            throw new RuntimeException("Failed to initialize GroqAPIClient", e);
-        }
+        this(AIRuntime.get().getGroqClient());
     }
 
+    /**
+     * @param groqClient the API client, or null if no API key is configured
+     */
     public LLMDecisionNode(GroqAPIClient groqClient) {
+        this(groqClient, DecisionCache.shared());
+    }
+
+    public LLMDecisionNode(GroqAPIClient groqClient, DecisionCache cache) {
         this.groqClient = groqClient;
+        this.cache = cache;
     }
 
     @Override
@@ -52,43 +80,117 @@ public class LLMDecisionNode implements NodeAction<BattleDecisionState> {
             return updates;
         }
 
-        try {
-            // Serialize battle context
-            String context = BattleContextSerializer.serializeForLLM(state);
+        // A recurring situation reuses the earlier LLM decision
+        Decision cached = cache.get(state);
+        if (cached != null) {
+            System.out.println("[LLMDecisionNode] Cache hit: " + cache);
+            updates.put("currentDecision", cached);
+            updates.put("useFallback", false);
+            updates.put("cacheHit", true);
+            return updates;
+        }
+
+        // Without an API key the local policy decides
+        if (groqClient == null) {
+            System.out.println("[LLMDecisionNode] No API key configured, using fallback");
+            updates.put("useFallback", true);
+            updates.put("fallbackReason", "No API key configured");
+            updates.put("currentDecision", makeFallbackDecision(state));
+            return updates;
+        }
 
+        final long budgetMillis = config.getLatencyBudgetMillis();
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Decision localDecision = null;
+        ConversationSession session = (ConversationSession) state.getMetadata().get(ConversationSession.METADATA_KEY);
+        ConversationSession.Exchange exchange = null;
+        try {
             // Determine if this is a move or switch decision
             boolean isSwitch = "switch".equals(state.getMetadata().get("decisionType"));
             System.out.println("[LLMDecisionNode] Decision type: " + (isSwitch ? "SWITCH" : "MOVE"));
 
-            // Build messages for LLM
-            List<Message> messages = buildMessages(state.getDifficulty(), context, isSwitch);
+            // Build messages for LLM: within a battle conversation only this turn's delta is new
+            List<Message> messages;
+            if (session != null) {
+                exchange = session.prepare(state, isSwitch);
+                messages = exchange.getMessages();
+            } else {
+                String context = BattleContextSerializer.serializeForLLM(state);
+                messages = buildMessages(state.getDifficulty(), context, isSwitch);
+            }
+            int promptTokens = 0;
+            for (Message message : messages) {
+                promptTokens += TokenEstimator.estimate(message.getContent());
+            }
+            System.out.println("[LLMDecisionNode] Prompt: ~" + promptTokens + " tokens");
+            updates.put("promptTokens", promptTokens);
 
-            // Call Groq API
-            System.out.println("[LLMDecisionNode] >>> Calling Groq LLM API...");
+            // Stream the reply; the rule-based decision is worked out while it is in flight
+            System.out.println("[LLMDecisionNode] >>> Streaming Groq LLM API (budget " + budgetMillis + "ms)...");
             long startTime = System.currentTimeMillis();
-            GroqAPIClient.ChatCompletionResponse response = groqClient.createChatCompletion(messages);
-            long endTime = System.currentTimeMillis();
-            System.out.println("[LLMDecisionNode] <<< LLM API response received in " + (endTime - startTime) + "ms");
-            System.out.println("[LLMDecisionNode] Model: " + response.getModel() + ", Tokens: " + response.getTotalTokens());
+            StreamingDecisionParser parser = new StreamingDecisionParser(state);
+            CompletableFuture<Decision> parsed = new CompletableFuture<>();
+            CompletableFuture<GroqAPIClient.ChatCompletionResponse> stream =
+                    groqClient.streamChatCompletion(messages, content -> {
+                        Decision early = parser.feed(content);
+                        if (early != null) {
+                            parsed.complete(early);
+                        }
+                    });
+            stream.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    parsed.complete(parser.finish());
+                } else {
+                    parsed.completeExceptionally(failure);
+                }
+                logReply(parser.getText(), response, startTime);
+            });
+            localDecision = makeFallbackDecision(state);
 
-            String llmResponse = response.getContent();
-            System.out.println("[LLMDecisionNode] LLM Response: " + llmResponse.substring(0, Math.min(100, llmResponse.length())) + "...");
+            Decision decision;
+            try {
+                decision = parsed.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                // Out of time (or the decision was abandoned): drop the request and play the local decision
+                stream.cancel(true);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                String reason = e instanceof TimeoutException
+                        ? "LLM exceeded " + budgetMillis + "ms budget" : "Interrupted while waiting for LLM";
+                System.out.println("[LLMDecisionNode] " + reason + ", using fallback");
+                updates.put("useFallback", true);
+                updates.put("fallbackReason", reason);
+                updates.put("deadlineExpired", e instanceof TimeoutException);
+                updates.put("currentDecision", localDecision);
+                return updates;
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof GroqAPIClient.GroqAPIException
+                        ? (GroqAPIClient.GroqAPIException) e.getCause()
+                        : new GroqAPIClient.GroqAPIException("Error communicating with Groq API", e.getCause());
+            }
+            System.out.println("[LLMDecisionNode] <<< LLM decision after " + (System.currentTimeMillis() - startTime) + "ms");
 
-            // Parse response into Decision
-            Decision decision = LLMResponseParser.parseDecision(llmResponse, state);
+            // The reasoning is only logged, so it gets a short tail before the call is cancelled
+            stream.orTimeout(REASONING_TAIL_MILLIS, TimeUnit.MILLISECONDS);
+            String llmResponse = parser.getText();
 
             if (decision != null) {
                 System.out.println("[LLMDecisionNode] Parsed decision: " + decision.toString());
                 updates.put("currentDecision", decision);
                 updates.put("llmResponse", llmResponse);
                 updates.put("useFallback", false);
+                cache.put(state, decision);
+                logForDistillation(state, decision, isSwitch);
+                if (exchange != null && !Boolean.TRUE.equals(state.getMetadata().get("speculative"))) {
+                    session.commit(exchange, decision);
+                }
             } else {
                 // Failed to parse - use fallback
                 System.out.println("[LLMDecisionNode] Failed to parse LLM response, using fallback");
                 updates.put("useFallback", true);
                 updates.put("fallbackReason", "Failed to parse LLM response");
-                Decision fallbackDecision = makeFallbackDecision(state);
-                updates.put("currentDecision", fallbackDecision);
+                updates.put("currentDecision", localDecision);
             }
 
         } catch (GroqAPIClient.GroqAPIException e) {
@@ -97,13 +199,34 @@ public class LLMDecisionNode implements NodeAction<BattleDecisionState> {
             updates.put("useFallback", true);
             updates.put("fallbackReason", "API error: " + e.getMessage());
             updates.put("errorMessage", e.getMessage());
-            Decision fallbackDecision = makeFallbackDecision(state);
-            updates.put("currentDecision", fallbackDecision);
+            updates.put("currentDecision", localDecision != null ? localDecision : makeFallbackDecision(state));
         }
 
         return updates;
     }
 
+    // training data for the local policy model
+    private void logForDistillation(BattleDecisionState state, Decision decision, boolean isSwitch) {
+        if (!decisionLog.isEnabled()) {
+            return;
+        }
+        if (decision.isSwitch()) {
+            List<Pokemon> targets = EvaluateOptionsNode.switchTargets(
+                    state.getAiPlayer().getTeam(), state.getAiPlayer().getActivePokemon());
+            decisionLog.record(true, PolicyFeatures.switches(state, targets), targets.indexOf(decision.getSwitchTarget()));
+        } else if (!isSwitch && decision.getSelectedMove() != null) {
+            List<String> moves = state.getAiPlayer().getActivePokemon().getMoveNames();
+            decisionLog.record(false, PolicyFeatures.moves(state), moves.indexOf(decision.getSelectedMove().getName()));
+        }
+    }
+
+    // runs when the stream ends or is cancelled, off the deciding thread
+    private static void logReply(String text, GroqAPIClient.ChatCompletionResponse response, long startTime) {
+        System.out.println("[LLMDecisionNode] Stream closed after " + (System.currentTimeMillis() - startTime) + "ms"
+                + (response != null ? " (model: " + response.getModel() + ", tokens: " + response.getTotalTokens() + ")" : ""));
+        System.out.println("[LLMDecisionNode] LLM reasoning: " + LLMResponseParser.extractReasoning(text));
+    }
+
     /**
      * Build messages for LLM
      */
@@ -0,0 +1,55 @@
+package ai.graph.nodes;
+
+import ai.config.DifficultyConfig;
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import ai.policy.PolicyModel;
+import org.bsc.langgraph4j.action.NodeAction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LangGraph4j node that decides with the in-process {@link PolicyModel} instead of the LLM.
+ * Used for difficulties configured with a local policy; takes microseconds and no network.
+ * Keeps the difficulty's intentional rule-based mistakes, like the LLM node.
+ */
+public class LocalPolicyNode implements NodeAction<BattleDecisionState> {
+
+    private final PolicyModel model;
+
+    public LocalPolicyNode() {
+        this(PolicyModel.shared());
+    }
+
+    public LocalPolicyNode(PolicyModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public Map<String, Object> apply(BattleDecisionState state) throws Exception {
+        Map<String, Object> updates = new HashMap<>();
+        boolean isSwitch = "switch".equals(state.getMetadata().get("decisionType"));
+
+        // Check if we should use fallback based on difficulty
+        if (DifficultyConfig.forLevel(state.getDifficulty()).shouldUseFallback()) {
+            updates.put("useFallback", true);
+            updates.put("fallbackReason", "Intentional fallback for difficulty level");
+            updates.put("currentDecision", RuleBasedDecisionMaker.makeDecision(state, isSwitch));
+            return updates;
+        }
+
+        Decision decision = model.decide(state, isSwitch);
+        if (decision == null) {
+            updates.put("useFallback", true);
+            updates.put("fallbackReason", "Local policy had no options");
+            decision = RuleBasedDecisionMaker.makeDecision(state, isSwitch);
+        } else {
+            updates.put("useFallback", false);
+        }
+        updates.put("currentDecision", decision);
+        updates.put("localPolicy", true);
+        return updates;
+    }
+}
@@ -0,0 +1,54 @@
+package ai.graph.nodes;
+
+import ai.config.DifficultyConfig;
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import ai.runtime.AIRuntime;
+import ai.search.BattleSearch;
+import org.bsc.langgraph4j.action.NodeAction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LangGraph4j node that decides by search instead of the LLM.
+ * Selected for hard with AI_HARD_ENGINE=search or mcts; answers within the difficulty's search budget.
+ * With mcts, moves come from Monte Carlo tree search and switches still from expectimax.
+ */
+public class SearchDecisionNode implements NodeAction<BattleDecisionState> {
+
+    @Override
+    public Map<String, Object> apply(BattleDecisionState state) throws Exception {
+        Map<String, Object> updates = new HashMap<>();
+        boolean isSwitch = "switch".equals(state.getMetadata().get("decisionType"));
+        DifficultyConfig config = DifficultyConfig.forLevel(state.getDifficulty());
+
+        // Check if we should use fallback based on difficulty
+        if (config.shouldUseFallback()) {
+            updates.put("useFallback", true);
+            updates.put("fallbackReason", "Intentional fallback for difficulty level");
+            updates.put("currentDecision", RuleBasedDecisionMaker.makeDecision(state, isSwitch));
+            return updates;
+        }
+
+        Decision decision;
+        if (isSwitch) {
+            decision = BattleSearch.decideSwitch(state, config);
+        } else if (AIRuntime.get().mctsPlaysHard()) {
+            decision = BattleSearch.decideMoveByMcts(state, config);
+        } else {
+            decision = BattleSearch.decideMove(state, config);
+        }
+        if (decision == null) {
+            updates.put("useFallback", true);
+            updates.put("fallbackReason", "Nothing to search");
+            decision = RuleBasedDecisionMaker.makeDecision(state, isSwitch);
+        } else {
+            updates.put("useFallback", false);
+        }
+        updates.put("currentDecision", decision);
+        updates.put("search", true);
+        return updates;
+    }
+}
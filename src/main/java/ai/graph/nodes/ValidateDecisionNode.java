@@ -74,7 +74,7 @@ public class ValidateDecisionNode implements NodeAction<BattleDecisionState> {
             return false;
         }
 
-        List<String> availableMoves = activePokemon.getMoves();
+        List<String> availableMoves = activePokemon.getMoveNames();
         if (availableMoves == null || availableMoves.isEmpty()) {
             return false;
         }
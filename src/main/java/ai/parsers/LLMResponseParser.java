@@ -18,6 +18,8 @@ public class LLMResponseParser {
     // Patterns for extracting decisions
     private static final Pattern MOVE_PATTERN = Pattern.compile("MOVE:\\s*(\\d+)", Pattern.CASE_INSENSITIVE);
     private static final Pattern SWITCH_PATTERN = Pattern.compile("SWITCH:\\s*([\\w\\s-]+?)(?:\\n|$)", Pattern.CASE_INSENSITIVE);
+    // a line that is itself the decision, e.g. "MOVE: 2" or "**SWITCH: Pikachu**"
+    private static final Pattern DECISION_LINE_PATTERN = Pattern.compile("^\\W*(MOVE|SWITCH)\\s*:", Pattern.CASE_INSENSITIVE);
     private static final Pattern REASONING_PATTERN = Pattern.compile("REASONING:\\s*(.+?)(?:$|\\n\\n)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
 
     /**
@@ -47,6 +49,28 @@ public class LLMResponseParser {
         return null;
     }
 
+    /**
+     * Parse a single complete line that states the decision, as a streamed reply's first
+     * line does. Unlike {@link #parseDecision} this ignores lines that merely mention a
+     * move or a switch, so it is safe to call on reasoning text.
+     *
+     * @return the decision, or null if the line is not a valid decision line
+     */
+    public static Decision parseDecisionLine(String line, BattleDecisionState state, String reasoning) {
+        if (line == null) {
+            return null;
+        }
+        Matcher matcher = DECISION_LINE_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return null;
+        }
+        double confidence = 0.7; // Default confidence for LLM decisions
+        if ("move".equalsIgnoreCase(matcher.group(1))) {
+            return parseMoveDecision(line, state, reasoning, confidence);
+        }
+        return parseSwitchDecision(line.replace("*", ""), state, reasoning, confidence);
+    }
+
     /**
      * Parse move decision from response
      */
@@ -58,25 +82,15 @@ public class LLMResponseParser {
         }
 
         Pokemon activePokemon = state.getAiPlayer().getActivePokemon();
-        if (activePokemon == null || activePokemon.getMoves() == null) {
-            return null;
-        }
-
-        List<String> moves = activePokemon.getMoves();
-        if (moveIndex >= moves.size()) {
+        List<String> moves = activePokemon != null ? activePokemon.getMoveNames() : null;
+        if (moves == null || moveIndex >= moves.size()) {
             return null;
         }
 
         String moveName = moves.get(moveIndex);
 
         // Look up the full move from JSONLoader to get power and other properties
-        Move selectedMove = null;
-        for (Move move : JSONLoader.getInstance().getAllMoves()) {
-            if (move.getName().equalsIgnoreCase(moveName)) {
-                selectedMove = move;
-                break;
-            }
-        }
+        Move selectedMove = JSONLoader.getInstance().getMoveRepository().getByName(moveName);
 
         // If move not found, create a basic move with default power
         if (selectedMove == null) {
@@ -0,0 +1,60 @@
+package ai.parsers;
+
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+
+/**
+ * Incremental parser for a streamed LLM reply. Content is fed in as it arrives, and the
+ * decision is available as soon as its line is complete, so the caller need not wait for
+ * the reasoning that follows. The prompts ask for the decision line first.
+ * Fed from the HTTP thread and read from the deciding thread, so all methods are synchronized.
+ */
+public class StreamingDecisionParser {
+
+    // the reasoning is still streaming when the decision is made
+    private static final String STREAMED_REASONING = "Decided from the first line of a streamed reply";
+
+    private final BattleDecisionState state;
+    private final StringBuilder text = new StringBuilder();
+    // start of the first line not yet looked at
+    private int lineStart;
+    private Decision decision;
+
+    public StreamingDecisionParser(BattleDecisionState state) {
+        this.state = state;
+    }
+
+    /**
+     * Add the next piece of the reply.
+     *
+     * @return the decision once a complete decision line has been seen, otherwise null
+     */
+    public synchronized Decision feed(String content) {
+        text.append(content);
+        int end;
+        while (decision == null && (end = text.indexOf("\n", lineStart)) >= 0) {
+            decision = LLMResponseParser.parseDecisionLine(text.substring(lineStart, end), state, STREAMED_REASONING);
+            lineStart = end + 1;
+        }
+        return decision;
+    }
+
+    /**
+     * The decision for the reply so far, parsing the whole text leniently if no decision
+     * line has completed. Used when the stream ends without a newline after the decision.
+     */
+    public synchronized Decision finish() {
+        if (decision == null) {
+            decision = LLMResponseParser.parseDecision(text.toString(), state);
+        }
+        return decision;
+    }
+
+    public synchronized Decision getDecision() {
+        return decision;
+    }
+
+    public synchronized String getText() {
+        return text.toString();
+    }
+}
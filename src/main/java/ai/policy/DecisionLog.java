@@ -0,0 +1,90 @@
+package ai.policy;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Training data for the local policy: every decision the LLM makes, written as one
+ * tab-separated line per candidate (decision id, M or S, 1 if chosen else 0, comma-separated
+ * {@link PolicyFeatures}). {@link PolicyTrainer} reads the file back. Logging is only an
+ * aid, so I/O errors are reported and otherwise ignored.
+ */
+public class DecisionLog {
+
+    // .env / environment variable naming the log file; unset means no logging
+    private static final String FILE_VARIABLE = "AI_DECISION_LOG_FILE";
+
+    private static volatile DecisionLog shared;
+
+    private final Path path;
+    private final String session = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong decisions = new AtomicLong();
+
+    /**
+     * @param path the log file, or null to log nothing
+     */
+    public DecisionLog(String path) {
+        this.path = path != null && !path.isBlank() ? Paths.get(path) : null;
+    }
+
+    /**
+     * The log named by AI_DECISION_LOG_FILE, which does nothing if it is unset.
+     */
+    public static DecisionLog shared() {
+        if (shared == null) {
+            synchronized (DecisionLog.class) {
+                if (shared == null) {
+                    shared = new DecisionLog(Dotenv.configure().ignoreIfMissing().load().get(FILE_VARIABLE));
+                }
+            }
+        }
+        return shared;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Record one decision.
+     *
+     * @param candidates feature rows of every option that was available
+     * @param chosen index of the option taken
+     */
+    public void record(boolean isSwitch, double[][] candidates, int chosen) {
+        if (path == null || chosen < 0 || chosen >= candidates.length || candidates.length < 2) {
+            return;
+        }
+        final String id = session + '-' + decisions.incrementAndGet();
+        final StringBuilder lines = new StringBuilder(candidates.length * 48);
+        for (int i = 0; i < candidates.length; i++) {
+            lines.append(id).append('\t').append(isSwitch ? 'S' : 'M').append('\t')
+                    .append(i == chosen ? 1 : 0).append('\t');
+            for (int f = 0; f < candidates[i].length; f++) {
+                if (f > 0) {
+                    lines.append(',');
+                }
+                lines.append(candidates[i][f]);
+            }
+            lines.append('\n');
+        }
+        write(lines.toString());
+    }
+
+    private synchronized void write(String lines) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(lines);
+        } catch (IOException e) {
+            System.err.println("Could not write decision log: " + e.getMessage());
+        }
+    }
+}
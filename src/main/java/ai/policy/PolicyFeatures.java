@@ -0,0 +1,111 @@
+package ai.policy;
+
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.BattleDecisionState;
+import ai.graph.nodes.EvaluateOptionsNode;
+import entities.Pokemon;
+import entities.battle.DamageCalculator;
+import entities.battle.Move;
+import entities.battle.PokemonType;
+import entities.battle.Stats;
+
+import java.util.List;
+
+/**
+ * Features the local policy scores each candidate action on. A move and a switch target
+ * are described by a handful of numbers, all roughly in [-1, 2], built from primitives so
+ * the app's entities and the headless engine produce identical vectors.
+ *
+ * <p>Move: share of the target's HP the expected damage removes, whether it knocks out,
+ * log2 effectiveness / 2, STAB, power / 100, and whether it is a status move.
+ * Switch: HP fraction, log2 of the candidate's best hit on the foe / 2, log2 of the foe's
+ * best hit on it / 2, and its share of the two Pokemon's combined speed.
+ */
+public final class PolicyFeatures {
+
+    public static final int MOVE_FEATURES = 6;
+    public static final int SWITCH_FEATURES = 4;
+
+    private PolicyFeatures() {
+    }
+
+    public static void move(double[] out, double expectedDamage, int targetHp, double effectiveness,
+                            boolean stab, int power, boolean damaging) {
+        final int hp = Math.max(1, targetHp);
+        out[0] = Math.min(1.0, expectedDamage / hp);
+        out[1] = damaging && expectedDamage >= hp ? 1.0 : 0.0;
+        out[2] = log2(effectiveness) / 2.0;
+        out[3] = stab ? 1.0 : 0.0;
+        out[4] = power / 100.0;
+        out[5] = damaging ? 0.0 : 1.0;
+    }
+
+    public static void switchIn(double[] out, int hp, int maxHp, double attackMultiplier,
+                                double defenseMultiplier, int speed, int foeSpeed) {
+        out[0] = maxHp > 0 ? (double) hp / maxHp : 0.0;
+        out[1] = log2(attackMultiplier) / 2.0;
+        out[2] = log2(defenseMultiplier) / 2.0;
+        out[3] = speed + foeSpeed > 0 ? (double) speed / (speed + foeSpeed) : 0.5;
+    }
+
+    /**
+     * One feature row per move of the AI's active Pokemon, in move-list order.
+     */
+    public static double[][] moves(BattleDecisionState state) {
+        final Pokemon active = state.getAiPlayer().getActivePokemon();
+        final Pokemon target = state.getOpponent() != null ? state.getOpponent().getActivePokemon() : null;
+        final List<String> names = active != null ? active.getMoveNames() : null;
+        if (target == null || names == null) {
+            return new double[0][];
+        }
+        final double[][] rows = new double[names.size()][MOVE_FEATURES];
+        final int targetHp = target.getStats() != null ? target.getStats().getHp() : 1;
+        for (int i = 0; i < rows.length; i++) {
+            final Move move = RuleBasedDecisionMaker.lookupMove(names.get(i));
+            final int power = move.getPower() != null ? move.getPower() : 0;
+            final int damage = DamageCalculator.expectedDamage(active, target, move);
+            move(rows[i], damage, targetHp, DamageCalculator.calculateTypeEffectiveness(move, target),
+                    DamageCalculator.calculateSTAB(active, move) > 1.0, power, damage > 0);
+        }
+        return rows;
+    }
+
+    /**
+     * One feature row per legal switch target, in the order of
+     * {@link EvaluateOptionsNode#switchTargets}.
+     */
+    public static double[][] switches(BattleDecisionState state, List<Pokemon> targets) {
+        final Pokemon foe = state.getOpponent() != null ? state.getOpponent().getActivePokemon() : null;
+        final double[][] rows = new double[targets.size()][SWITCH_FEATURES];
+        for (int i = 0; i < rows.length; i++) {
+            final Pokemon candidate = targets.get(i);
+            final Stats stats = candidate.getStats();
+            final Stats foeStats = foe != null ? foe.getStats() : null;
+            switchIn(rows[i],
+                    stats != null ? stats.getHp() : 0, stats != null ? stats.getMaxHp() : 0,
+                    foe != null ? bestMultiplier(candidate.getTypeIds(), foe.getTypeIds()) : 1.0,
+                    foe != null ? bestMultiplier(foe.getTypeIds(), candidate.getTypeIds()) : 1.0,
+                    stats != null ? stats.getSpeed() : 0, foeStats != null ? foeStats.getSpeed() : 0);
+        }
+        return rows;
+    }
+
+    /**
+     * The strongest multiplier any of the attacker's types gets against the defender.
+     */
+    public static double bestMultiplier(PokemonType[] attackerTypes, PokemonType[] defenderTypes) {
+        if (attackerTypes == null || attackerTypes.length == 0 || defenderTypes == null) {
+            return 1.0;
+        }
+        double best = 0.0;
+        for (PokemonType type : attackerTypes) {
+            best = Math.max(best, DamageCalculator.getTypeEffectiveness(type, defenderTypes));
+        }
+        return best;
+    }
+
+    // immunity (x0) is clamped to the same value as x0.25
+    private static double log2(double multiplier) {
+        return multiplier <= 0.0 ? -2.0 : Math.log(multiplier) / Math.log(2.0);
+    }
+}
@@ -0,0 +1,251 @@
+package ai.policy;
+
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.nodes.EvaluateOptionsNode;
+import entities.Pokemon;
+import entities.battle.engine.BattleAction;
+import entities.battle.engine.BattlePolicy;
+import entities.battle.engine.BattleSimulator;
+import entities.battle.engine.SimPokemon;
+import entities.battle.engine.SimState;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Small linear policy distilled from logged LLM decisions: each candidate action is scored
+ * as the dot product of its {@link PolicyFeatures} with a weight vector, and the best
+ * score wins (a conditional logit model, so softmax of the scores gives its confidence).
+ * Deciding takes microseconds and no network. The same model plays simulated battles as a
+ * {@link BattlePolicy}, where it only picks moves.
+ *
+ * <p>Weights come from {@link PolicyTrainer}; until a model has been trained the hand-set
+ * {@link #DEFAULT} is used.
+ */
+public final class PolicyModel implements BattlePolicy {
+
+    /** Prefers damage, knockouts and effective moves; switches to healthy, favourable matchups. */
+    public static final PolicyModel DEFAULT = new PolicyModel(
+            new double[] {3.0, 2.0, 0.5, 0.2, 0.1, -1.0},
+            new double[] {1.5, 1.0, -1.0, 0.5});
+
+    // .env / environment variable naming a trained model file; unset means DEFAULT
+    private static final String FILE_VARIABLE = "AI_POLICY_MODEL_FILE";
+
+    private static volatile PolicyModel shared;
+
+    // scratch row for chooseAction, so simulated turns do not allocate
+    private static final ThreadLocal<double[]> SIM_FEATURES =
+            ThreadLocal.withInitial(() -> new double[PolicyFeatures.MOVE_FEATURES]);
+
+    private final double[] moveWeights;
+    private final double[] switchWeights;
+
+    public PolicyModel(double[] moveWeights, double[] switchWeights) {
+        if (moveWeights.length != PolicyFeatures.MOVE_FEATURES
+                || switchWeights.length != PolicyFeatures.SWITCH_FEATURES) {
+            throw new IllegalArgumentException("Expected " + PolicyFeatures.MOVE_FEATURES + " move and "
+                    + PolicyFeatures.SWITCH_FEATURES + " switch weights");
+        }
+        this.moveWeights = moveWeights.clone();
+        this.switchWeights = switchWeights.clone();
+    }
+
+    /**
+     * The model named by AI_POLICY_MODEL_FILE, or {@link #DEFAULT} if it is unset or unreadable.
+     */
+    public static PolicyModel shared() {
+        if (shared == null) {
+            synchronized (PolicyModel.class) {
+                if (shared == null) {
+                    shared = loadConfigured();
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static PolicyModel loadConfigured() {
+        final String path = Dotenv.configure().ignoreIfMissing().load().get(FILE_VARIABLE);
+        if (path == null || path.isBlank()) {
+            return DEFAULT;
+        }
+        try {
+            return load(Paths.get(path));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not load policy model, using defaults: " + e.getMessage());
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Read a model written by {@link #save}: a "move" and a "switch" line of tab-separated weights.
+     */
+    public static PolicyModel load(Path path) throws IOException {
+        double[] move = null;
+        double[] switchIn = null;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] fields = line.split("\t");
+                if ("move".equals(fields[0])) {
+                    move = parseWeights(fields);
+                }
+                else if ("switch".equals(fields[0])) {
+                    switchIn = parseWeights(fields);
+                }
+            }
+        }
+        if (move == null || switchIn == null) {
+            throw new IOException("Policy model " + path + " is missing its move or switch weights");
+        }
+        return new PolicyModel(move, switchIn);
+    }
+
+    private static double[] parseWeights(String[] fields) {
+        final double[] weights = new double[fields.length - 1];
+        for (int i = 1; i < fields.length; i++) {
+            weights[i - 1] = Double.parseDouble(fields[i]);
+        }
+        return weights;
+    }
+
+    public void save(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(line("move", moveWeights));
+            writer.write(line("switch", switchWeights));
+        }
+    }
+
+    private static String line(String label, double[] weights) {
+        final StringBuilder line = new StringBuilder(label);
+        for (double weight : weights) {
+            line.append('\t').append(weight);
+        }
+        return line.append('\n').toString();
+    }
+
+    public double[] getMoveWeights() {
+        return moveWeights.clone();
+    }
+
+    public double[] getSwitchWeights() {
+        return switchWeights.clone();
+    }
+
+    /**
+     * Index of the best-scoring candidate, or -1 if there are none.
+     */
+    public int best(double[][] candidates, boolean isSwitch) {
+        final double[] weights = isSwitch ? switchWeights : moveWeights;
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < candidates.length; i++) {
+            final double score = score(weights, candidates[i]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Softmax of the candidates' scores: the model's probability of choosing each one.
+     */
+    public double[] probabilities(double[][] candidates, boolean isSwitch) {
+        return softmax(isSwitch ? switchWeights : moveWeights, candidates);
+    }
+
+    static double[] softmax(double[] weights, double[][] candidates) {
+        final double[] p = new double[candidates.length];
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < p.length; i++) {
+            p[i] = score(weights, candidates[i]);
+            max = Math.max(max, p[i]);
+        }
+        double sum = 0.0;
+        for (int i = 0; i < p.length; i++) {
+            p[i] = Math.exp(p[i] - max);
+            sum += p[i];
+        }
+        for (int i = 0; i < p.length; i++) {
+            p[i] /= sum;
+        }
+        return p;
+    }
+
+    static double score(double[] weights, double[] features) {
+        double score = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            score += weights[i] * features[i];
+        }
+        return score;
+    }
+
+    /**
+     * The model's decision for a battle state, or null if there is nothing to choose from.
+     */
+    public Decision decide(BattleDecisionState state, boolean isSwitch) {
+        if (isSwitch) {
+            final List<Pokemon> targets = EvaluateOptionsNode.switchTargets(
+                    state.getAiPlayer().getTeam(), state.getAiPlayer().getActivePokemon());
+            final double[][] candidates = PolicyFeatures.switches(state, targets);
+            final int choice = best(candidates, true);
+            if (choice < 0) {
+                return null;
+            }
+            return Decision.switchPokemon(targets.get(choice), "Local policy",
+                    probabilities(candidates, true)[choice]);
+        }
+        final double[][] candidates = PolicyFeatures.moves(state);
+        final int choice = best(candidates, false);
+        if (choice < 0) {
+            return null;
+        }
+        final String moveName = state.getAiPlayer().getActivePokemon().getMoveNames().get(choice);
+        return Decision.move(RuleBasedDecisionMaker.lookupMove(moveName), "Local policy",
+                probabilities(candidates, false)[choice]);
+    }
+
+    @Override
+    public int chooseAction(SimState state, int side, RandomGenerator random) {
+        final SimPokemon active = state.getActivePokemon(side);
+        final int opponent = SimState.opponent(side);
+        final SimPokemon target = state.getActivePokemon(opponent);
+        if (active == null || target == null || active.getMoveCount() == 0) {
+            return BattleAction.PASS;
+        }
+        final double[] features = SIM_FEATURES.get();
+        final int targetHp = state.getActiveHp(opponent);
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < active.getMoveCount(); i++) {
+            PolicyFeatures.move(features, BattleSimulator.expectedDamage(active, i, target), targetHp,
+                    BattleSimulator.effectiveness(active, i, target), active.getStab(i) > 1.0,
+                    active.getMove(i).getPower(), active.getMove(i).isDamaging());
+            final double score = score(moveWeights, features);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return BattleAction.move(best);
+    }
+
+    @Override
+    public String toString() {
+        return "PolicyModel{move=" + Arrays.toString(moveWeights) + ", switch=" + Arrays.toString(switchWeights) + '}';
+    }
+}
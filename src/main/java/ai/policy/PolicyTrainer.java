@@ -0,0 +1,167 @@
+package ai.policy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline trainer for the {@link PolicyModel}. Fits the move and switch weights to a
+ * {@link DecisionLog} by multinomial logistic regression over each decision's candidates
+ * (full-batch gradient descent with L2), starting from {@link PolicyModel#DEFAULT}.
+ * Runs on the CPU in seconds for tens of thousands of decisions.
+ *
+ * <pre>java ai.policy.PolicyTrainer decisions.tsv policy.tsv [epochs]</pre>
+ */
+public class PolicyTrainer {
+
+    private static final int DEFAULT_EPOCHS = 500;
+    private static final double LEARNING_RATE = 0.5;
+    private static final double L2 = 1e-3;
+
+    /**
+     * One logged decision: the feature rows of its candidates and the index chosen.
+     */
+    public static final class Example {
+        final double[][] candidates;
+        final int chosen;
+
+        public Example(double[][] candidates, int chosen) {
+            this.candidates = candidates;
+            this.chosen = chosen;
+        }
+    }
+
+    private final int epochs;
+
+    public PolicyTrainer(int epochs) {
+        this.epochs = epochs;
+    }
+
+    /**
+     * Fit a model to the move and switch decisions.
+     */
+    public PolicyModel train(List<Example> moves, List<Example> switches) {
+        return new PolicyModel(fit(moves, PolicyModel.DEFAULT.getMoveWeights()),
+                fit(switches, PolicyModel.DEFAULT.getSwitchWeights()));
+    }
+
+    private double[] fit(List<Example> examples, double[] initial) {
+        final double[] weights = initial.clone();
+        if (examples.isEmpty()) {
+            return weights;
+        }
+        final double[] gradient = new double[weights.length];
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            Arrays.fill(gradient, 0.0);
+            for (Example example : examples) {
+                final double[] p = PolicyModel.softmax(weights, example.candidates);
+                for (int i = 0; i < p.length; i++) {
+                    final double error = p[i] - (i == example.chosen ? 1.0 : 0.0);
+                    for (int f = 0; f < weights.length; f++) {
+                        gradient[f] += error * example.candidates[i][f];
+                    }
+                }
+            }
+            for (int f = 0; f < weights.length; f++) {
+                weights[f] -= LEARNING_RATE * (gradient[f] / examples.size() + L2 * weights[f]);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Share of examples where the model picks the logged choice.
+     */
+    public static double accuracy(PolicyModel model, List<Example> examples, boolean isSwitch) {
+        if (examples.isEmpty()) {
+            return 0.0;
+        }
+        int correct = 0;
+        for (Example example : examples) {
+            if (model.best(example.candidates, isSwitch) == example.chosen) {
+                correct++;
+            }
+        }
+        return (double) correct / examples.size();
+    }
+
+    /**
+     * Read a decision log, grouping its lines into examples.
+     *
+     * @param moves receives the move decisions
+     * @param switches receives the switch decisions
+     */
+    public static void read(Path log, List<Example> moves, List<Example> switches) throws IOException {
+        final Map<String, List<double[]>> rows = new LinkedHashMap<>();
+        final Map<String, Integer> chosen = new LinkedHashMap<>();
+        final Map<String, Boolean> isSwitch = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] fields = line.split("\t");
+                if (fields.length < 4) {
+                    continue;
+                }
+                final double[] features;
+                try {
+                    features = parseFeatures(fields[3]);
+                } catch (NumberFormatException e) {
+                    // skip a damaged line
+                    continue;
+                }
+                final List<double[]> group = rows.computeIfAbsent(fields[0], key -> new ArrayList<>());
+                if ("1".equals(fields[2])) {
+                    chosen.put(fields[0], group.size());
+                }
+                group.add(features);
+                isSwitch.put(fields[0], "S".equals(fields[1]));
+            }
+        }
+        for (Map.Entry<String, List<double[]>> group : rows.entrySet()) {
+            final Integer choice = chosen.get(group.getKey());
+            final int width = isSwitch.get(group.getKey()) ? PolicyFeatures.SWITCH_FEATURES : PolicyFeatures.MOVE_FEATURES;
+            if (choice == null || group.getValue().stream().anyMatch(row -> row.length != width)) {
+                continue;
+            }
+            final Example example = new Example(group.getValue().toArray(new double[0][]), choice);
+            (isSwitch.get(group.getKey()) ? switches : moves).add(example);
+        }
+    }
+
+    private static double[] parseFeatures(String field) {
+        final String[] values = field.split(",");
+        final double[] features = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            features[i] = Double.parseDouble(values[i]);
+        }
+        return features;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PolicyTrainer <decision log> <model file> [epochs]");
+            System.exit(1);
+        }
+        final List<Example> moves = new ArrayList<>();
+        final List<Example> switches = new ArrayList<>();
+        read(Paths.get(args[0]), moves, switches);
+        System.out.println("Read " + moves.size() + " move and " + switches.size() + " switch decisions");
+
+        final PolicyTrainer trainer = new PolicyTrainer(args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_EPOCHS);
+        final PolicyModel model = trainer.train(moves, switches);
+        System.out.printf("Agreement with the LLM: moves %.1f%% (default %.1f%%), switches %.1f%% (default %.1f%%)%n",
+                100 * accuracy(model, moves, false), 100 * accuracy(PolicyModel.DEFAULT, moves, false),
+                100 * accuracy(model, switches, true), 100 * accuracy(PolicyModel.DEFAULT, switches, true));
+
+        model.save(Paths.get(args[1]));
+        System.out.println("Wrote " + model + " to " + args[1]);
+    }
+}
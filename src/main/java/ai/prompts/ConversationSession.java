@@ -0,0 +1,123 @@
+package ai.prompts;
+
+import ai.config.DifficultyConfig;
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import ai.serializers.BattleContextSerializer;
+import entities.Pokemon;
+import shared.GroqAPIClient.Message;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The LLM conversation for one battle. Every request starts with the same prefix (system
+ * prompt and both rosters, built once), so the provider can cache it. After the prefix
+ * come the last few turns as short exchanges: a delta message with the current state
+ * against the roster, plus the decision line the AI gave. Older exchanges fall out of the
+ * window, which keeps the tokens per request flat however long the battle runs.
+ *
+ * <p>An exchange is only added once its decision is committed, so a failed or timed-out
+ * request is simply covered again by the next delta. Speculative runs prepare exchanges
+ * but never commit them.
+ */
+public class ConversationSession {
+
+    /** Metadata key under which a decision state carries its battle's session. */
+    public static final String METADATA_KEY = "conversation";
+
+    // earlier exchanges kept after the prefix
+    private static final int WINDOW = 3;
+
+    private final String difficulty;
+    private List<Message> prefix;
+    // user delta, assistant decision line, oldest first
+    private final Deque<Message[]> exchanges = new ArrayDeque<>();
+    // turn history already covered by a committed exchange
+    private int committedTurns;
+
+    public ConversationSession(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * The messages for deciding the given state: the fixed prefix, the recent exchanges
+     * and a delta for this turn.
+     */
+    public synchronized Exchange prepare(BattleDecisionState state, boolean isSwitch) {
+        if (prefix == null) {
+            prefix = List.of(
+                    new Message("system", PromptTemplates.getConversationSystemPrompt(difficulty)),
+                    new Message("user", BattleContextSerializer.serializeRoster(state)));
+        }
+        final DifficultyConfig config = DifficultyConfig.forLevel(difficulty);
+        final int historySize = state.getTurnHistory() != null ? state.getTurnHistory().size() : 0;
+        final int fromTurn = config.getTurnHistoryLimit() > 0 ? committedTurns : historySize;
+        final String delta = BattleContextSerializer.serializeDelta(state, fromTurn, config.getHistoryTokenBudget())
+                + (isSwitch ? PromptTemplates.CONVERSATION_SWITCH_REQUEST : PromptTemplates.CONVERSATION_MOVE_REQUEST);
+
+        final List<Message> messages = new ArrayList<>(prefix.size() + exchanges.size() * 2 + 1);
+        messages.addAll(prefix);
+        for (Message[] exchange : exchanges) {
+            messages.add(exchange[0]);
+            messages.add(exchange[1]);
+        }
+        final Message request = new Message("user", delta);
+        messages.add(request);
+        return new Exchange(messages, request, historySize, state);
+    }
+
+    /**
+     * Record the decision made for a prepared exchange, so later turns see it.
+     */
+    public synchronized void commit(Exchange exchange, Decision decision) {
+        final String reply = decisionLine(decision, exchange.state);
+        if (reply == null) {
+            return;
+        }
+        exchanges.addLast(new Message[] {exchange.request, new Message("assistant", reply)});
+        while (exchanges.size() > WINDOW) {
+            exchanges.removeFirst();
+        }
+        committedTurns = Math.max(committedTurns, exchange.historySize);
+    }
+
+    // the reply as the model would have written it, without the reasoning
+    private static String decisionLine(Decision decision, BattleDecisionState state) {
+        if (decision == null) {
+            return null;
+        }
+        if (decision.isSwitch()) {
+            return decision.getSwitchTarget() != null ? "SWITCH: " + decision.getSwitchTarget().getName() : null;
+        }
+        final Pokemon active = state.getAiPlayer().getActivePokemon();
+        if (decision.getSelectedMove() == null || active == null || active.getMoveNames() == null) {
+            return null;
+        }
+        final int index = active.getMoveNames().indexOf(decision.getSelectedMove().getName());
+        return index >= 0 ? "MOVE: " + (index + 1) : null;
+    }
+
+    /**
+     * A prepared request, to be passed back to {@link #commit} once its decision is in.
+     */
+    public static final class Exchange {
+        private final List<Message> messages;
+        private final Message request;
+        private final int historySize;
+        private final BattleDecisionState state;
+
+        private Exchange(List<Message> messages, Message request, int historySize, BattleDecisionState state) {
+            this.messages = messages;
+            this.request = request;
+            this.historySize = historySize;
+            this.state = state;
+        }
+
+        public List<Message> getMessages() {
+            return messages;
+        }
+    }
+}
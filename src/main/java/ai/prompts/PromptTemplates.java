@@ -23,7 +23,7 @@ public class PromptTemplates {
     public static final String MOVE_SELECTION_PROMPT_EASY =
         "Choose the best move for your Pokemon to use.\n\n" +
         "{context}\n\n" +
-        "Pick a move based on type effectiveness. Respond with:\n" +
+        "Pick a move based on type effectiveness. Start your reply with the decision line, then explain:\n" +
         "MOVE: [move number 1-4]\n" +
         "REASONING: [brief explanation]";
 
@@ -34,7 +34,7 @@ public class PromptTemplates {
         "- Type effectiveness (super effective, not very effective, etc.)\n" +
         "- Move power and accuracy\n" +
         "- Current HP of both Pokemon\n\n" +
-        "Respond with:\n" +
+        "Start your reply with the decision line, then explain:\n" +
         "MOVE: [move number 1-4]\n" +
         "REASONING: [your tactical analysis]";
 
@@ -48,7 +48,7 @@ public class PromptTemplates {
         "- Stat advantages/disadvantages\n" +
         "- Multi-turn strategy and positioning\n" +
         "- Recent battle history and patterns\n\n" +
-        "Respond with:\n" +
+        "Start your reply with the decision line, then explain:\n" +
         "MOVE: [move number 1-4]\n" +
         "REASONING: [detailed strategic analysis]";
 
@@ -56,7 +56,7 @@ public class PromptTemplates {
     public static final String SWITCH_SELECTION_PROMPT_EASY =
         "Your Pokemon needs to be switched out. Choose a replacement.\n\n" +
         "{context}\n\n" +
-        "Pick a Pokemon with a type advantage. Respond with:\n" +
+        "Pick a Pokemon with a type advantage. Start your reply with the decision line, then explain:\n" +
         "SWITCH: [Pokemon name]\n" +
         "REASONING: [brief explanation]";
 
@@ -67,7 +67,7 @@ public class PromptTemplates {
         "- Type matchups against opponent's active Pokemon\n" +
         "- HP and available moves of each Pokemon\n" +
         "- Which Pokemon has the best chance to win\n\n" +
-        "Respond with:\n" +
+        "Start your reply with the decision line, then explain:\n" +
         "SWITCH: [Pokemon name]\n" +
         "REASONING: [your tactical analysis]";
 
@@ -81,10 +81,30 @@ public class PromptTemplates {
         "- Stat advantages/disadvantages\n" +
         "- Long-term battle strategy\n" +
         "- Preserving strong Pokemon for later\n\n" +
-        "Respond with:\n" +
+        "Start your reply with the decision line, then explain:\n" +
         "SWITCH: [Pokemon name]\n" +
         "REASONING: [detailed strategic analysis]";
 
+    // Conversation mode: one fixed prefix per battle, then a short message per turn
+    public static final String CONVERSATION_RULES =
+        "\n\nThe first message lists both teams. Each later message gives the current turn: both active " +
+        "Pokemon with HP, your moves with their multiplier against the foe (x2 super effective, x0.5 resisted, " +
+        "x0 no effect), bench Pokemon below full HP, and the turns since your last decision. " +
+        "Start every reply with the decision line, MOVE: [move number] or SWITCH: [Pokemon name], " +
+        "then REASONING: [your analysis].";
+
+    public static final String CONVERSATION_MOVE_REQUEST = "Choose a move.";
+
+    public static final String CONVERSATION_SWITCH_REQUEST = "Your Pokemon must be replaced. Choose a switch.";
+
+    /**
+     * Get the system prompt for a battle conversation. It is the same for every turn of
+     * the battle, which lets the provider cache the prompt prefix.
+     */
+    public static String getConversationSystemPrompt(String difficulty) {
+        return getSystemPrompt(difficulty) + CONVERSATION_RULES;
+    }
+
     /**
      * Get system prompt for difficulty level
      */
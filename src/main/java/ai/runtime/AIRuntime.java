@@ -0,0 +1,132 @@
+package ai.runtime;
+
+import ai.config.DifficultyConfig;
+import ai.graph.DecisionGraph;
+import io.github.cdimascio.dotenv.Dotenv;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import pokeapi.MatchupMatrix;
+import shared.GroqAPIClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide AI runtime: the .env is read once, one tuned HTTP client is shared by every
+ * LLM call, and each difficulty's decision graph is compiled once and shared by every
+ * AI player. Without an API key there is no Groq client and the graph's LLM node plays
+ * the rule-based decision instead, so the AI still works offline.
+ */
+public final class AIRuntime {
+
+    private static final String API_KEY_VARIABLE = "GROQ_API_KEY";
+    // "search" makes hard play by expectimax search instead of the LLM, "mcts" by Monte Carlo tree search
+    private static final String HARD_ENGINE_VARIABLE = "AI_HARD_ENGINE";
+
+    // idle connections are kept this long so the next turn skips the TCP/TLS handshake
+    private static final long KEEP_ALIVE_MINUTES = 5;
+
+    private static volatile AIRuntime instance;
+
+    private final OkHttpClient httpClient;
+    private final GroqAPIClient groqClient;
+    private final boolean searchPlaysHard;
+    private final boolean mctsPlaysHard;
+    private final Map<String, DecisionGraph> graphs = new ConcurrentHashMap<>();
+
+    private AIRuntime(String apiKey, String hardEngine) {
+        this.httpClient = new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectionPool(new ConnectionPool(4, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .pingInterval(30, TimeUnit.SECONDS)
+                .connectTimeout(5, TimeUnit.SECONDS)
+                .writeTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(20, TimeUnit.SECONDS)
+                .callTimeout(30, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .build();
+        this.groqClient = createGroqClient(apiKey, httpClient);
+        this.mctsPlaysHard = "mcts".equalsIgnoreCase(hardEngine);
+        this.searchPlaysHard = mctsPlaysHard || "search".equalsIgnoreCase(hardEngine);
+    }
+
+    private static GroqAPIClient createGroqClient(String apiKey, OkHttpClient httpClient) {
+        try {
+            return new GroqAPIClient(apiKey, httpClient);
+        } catch (GroqAPIClient.GroqAPIException e) {
+            System.out.println("[AIRuntime] " + e.getMessage() + " The AI will use its local policy.");
+            return null;
+        }
+    }
+
+    public static AIRuntime get() {
+        if (instance == null) {
+            synchronized (AIRuntime.class) {
+                if (instance == null) {
+                    final Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+                    instance = new AIRuntime(dotenv.get(API_KEY_VARIABLE), dotenv.get(HARD_ENGINE_VARIABLE));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Compile every difficulty's graph, map the matchup matrix and open the API connection
+     * in the background, so the first battle and its first turn start warm.
+     */
+    public static CompletableFuture<Void> warmUpAsync() {
+        return CompletableFuture.runAsync(() -> {
+            final AIRuntime runtime = get();
+            for (DifficultyConfig config : List.of(DifficultyConfig.easy(), DifficultyConfig.medium(),
+                    DifficultyConfig.hard())) {
+                runtime.graphFor(config.getLevel());
+            }
+            MatchupMatrix.get();
+            if (runtime.groqClient != null) {
+                runtime.groqClient.preconnect();
+            }
+        });
+    }
+
+    /**
+     * The shared decision graph for a difficulty, compiled on first use.
+     */
+    public DecisionGraph graphFor(String difficulty) {
+        final String level = DifficultyConfig.forLevel(difficulty).getLevel();
+        return graphs.computeIfAbsent(level, key -> new DecisionGraph(groqClient));
+    }
+
+    /**
+     * The shared Groq client, or null if no API key is configured.
+     */
+    public GroqAPIClient getGroqClient() {
+        return groqClient;
+    }
+
+    public boolean hasLLM() {
+        return groqClient != null;
+    }
+
+    /**
+     * Whether hard decides by search rather than the LLM (AI_HARD_ENGINE=search or mcts).
+     */
+    public boolean searchPlaysHard() {
+        return searchPlaysHard;
+    }
+
+    /**
+     * Whether hard picks its moves by Monte Carlo tree search on every core (AI_HARD_ENGINE=mcts).
+     */
+    public boolean mctsPlaysHard() {
+        return mctsPlaysHard;
+    }
+
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+}
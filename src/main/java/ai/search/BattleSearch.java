@@ -0,0 +1,169 @@
+package ai.search;
+
+import ai.config.DifficultyConfig;
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import entities.Pokemon;
+import entities.battle.Stats;
+import entities.battle.engine.BattleAction;
+import entities.battle.engine.BattleState;
+import entities.battle.engine.ExpectimaxSearch;
+import entities.battle.engine.MctsSearch;
+import entities.battle.engine.SimState;
+import entities.battle.engine.SimTeam;
+import entities.battle.engine.TranspositionTable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides the AI's turn by searching the current battle with {@link ExpectimaxSearch}, or
+ * for moves optionally with {@link MctsSearch} on every core.
+ * The battle is compiled into the engine's form with the AI as side 0, which acts next,
+ * and searched within the difficulty's time budget and depth. Takes a few milliseconds on
+ * the CPU and needs no network.
+ */
+public final class BattleSearch {
+
+    private static final int AI_SIDE = 0;
+    private static final int OPPONENT_SIDE = 1;
+
+    // shared by every thread's search; positions recur from turn to turn of a battle
+    private static final TranspositionTable TABLE = new TranspositionTable(1 << 18);
+    private static final ThreadLocal<ExpectimaxSearch> SEARCHES =
+            ThreadLocal.withInitial(() -> new ExpectimaxSearch(TABLE));
+
+    private BattleSearch() {
+    }
+
+    /**
+     * The move the search prefers, or null if the battle cannot be searched.
+     */
+    public static Decision decideMove(BattleDecisionState state, DifficultyConfig config) {
+        final SimState battle = snapshot(state);
+        if (battle == null || battle.getActivePokemon(AI_SIDE) == null) {
+            return null;
+        }
+        final ExpectimaxSearch search = SEARCHES.get();
+        final int action = search.searchMove(battle, AI_SIDE, budgetNanos(config), config.getSearchDepth());
+        if (!BattleAction.isMove(action)) {
+            return null;
+        }
+        final Pokemon active = state.getAiPlayer().getActivePokemon();
+        final String moveName = active.getMoveNames().get(BattleAction.moveIndex(action));
+        return Decision.move(RuleBasedDecisionMaker.lookupMove(moveName), reasoning(search), confidence(search));
+    }
+
+    /**
+     * The move Monte Carlo tree search prefers within the difficulty's time budget, or null
+     * if the battle cannot be searched.
+     */
+    public static Decision decideMoveByMcts(BattleDecisionState state, DifficultyConfig config) {
+        final SimState battle = snapshot(state);
+        if (battle == null || battle.getActivePokemon(AI_SIDE) == null || config.getSearchBudgetMillis() <= 0) {
+            return null;
+        }
+        final MctsSearch.Result result = MctsSearch.timed(config.getSearchBudgetMillis())
+                .searchMove(battle, AI_SIDE, System.nanoTime());
+        if (!BattleAction.isMove(result.getAction())) {
+            return null;
+        }
+        final Pokemon active = state.getAiPlayer().getActivePokemon();
+        final String moveName = active.getMoveNames().get(BattleAction.moveIndex(result.getAction()));
+        final String reasoning = String.format(Locale.ROOT, "Monte Carlo search, %d playouts (%.0f/s), win rate %.2f",
+                result.getPlayouts(), result.getPlayoutsPerSecond(), result.getWinRate());
+        return Decision.move(RuleBasedDecisionMaker.lookupMove(moveName), reasoning,
+                Math.max(0.1, Math.min(0.95, result.getWinRate())));
+    }
+
+    /**
+     * The Pokemon the search prefers to send in, or null if the battle cannot be searched
+     * or it would rather keep the active one.
+     */
+    public static Decision decideSwitch(BattleDecisionState state, DifficultyConfig config) {
+        final SimState battle = snapshot(state);
+        if (battle == null) {
+            return null;
+        }
+        final ExpectimaxSearch search = SEARCHES.get();
+        final int action = search.searchSwitch(battle, AI_SIDE, budgetNanos(config), config.getSearchDepth());
+        if (!BattleAction.isSwitch(action)) {
+            return null;
+        }
+        final Pokemon target = state.getAiPlayer().getTeam().get(BattleAction.switchSlot(action));
+        if (target == state.getAiPlayer().getActivePokemon()) {
+            return null;
+        }
+        return Decision.switchPokemon(target, reasoning(search), confidence(search));
+    }
+
+    /**
+     * The battle compiled for the engine: side 0 is the AI, side 1 its opponent.
+     */
+    static SimState snapshot(BattleDecisionState state) {
+        final BattleState battle = capture(state);
+        return battle != null ? battle.toSimState() : null;
+    }
+
+    /**
+     * The battle as an immutable position with the AI, as side 0, to act; null if either
+     * side has nothing to battle with. Detached from the entities, so it can be branched
+     * without copying any Pokemon.
+     */
+    public static BattleState capture(BattleDecisionState state) {
+        if (state.getAiPlayer() == null || state.getOpponent() == null) {
+            return null;
+        }
+        final List<Pokemon> aiTeam = state.getAiPlayer().getTeam();
+        final List<Pokemon> opponentTeam = state.getOpponent().getTeam();
+        if (aiTeam == null || aiTeam.isEmpty() || opponentTeam == null || opponentTeam.isEmpty()) {
+            return null;
+        }
+        final int[][] hp = {currentHp(aiTeam), currentHp(opponentTeam)};
+        final int[] active = {
+                aiTeam.indexOf(state.getAiPlayer().getActivePokemon()),
+                opponentTeam.indexOf(state.getOpponent().getActivePokemon()),
+        };
+        final BattleState battle = BattleState.of(
+                SimTeam.of("ai", aiTeam, RuleBasedDecisionMaker::lookupMove),
+                SimTeam.of("opponent", opponentTeam, RuleBasedDecisionMaker::lookupMove),
+                hp, active, new byte[][]{stages(aiTeam), stages(opponentTeam)}, AI_SIDE);
+        return battle.getActivePokemon(OPPONENT_SIDE) != null ? battle : null;
+    }
+
+    private static byte[] stages(List<Pokemon> team) {
+        final byte[] stages = new byte[team.size() * Stats.STAT_NAMES.length];
+        for (int slot = 0; slot < team.size(); slot++) {
+            for (int stat = 0; stat < Stats.STAT_NAMES.length; stat++) {
+                stages[slot * Stats.STAT_NAMES.length + stat] = (byte) team.get(slot).getStatStage(Stats.STAT_NAMES[stat]);
+            }
+        }
+        return stages;
+    }
+
+    private static int[] currentHp(List<Pokemon> team) {
+        final int[] hp = new int[team.size()];
+        for (int i = 0; i < hp.length; i++) {
+            hp[i] = team.get(i).getStats() != null ? team.get(i).getStats().getHp() : 0;
+        }
+        return hp;
+    }
+
+    private static long budgetNanos(DifficultyConfig config) {
+        return TimeUnit.MILLISECONDS.toNanos(config.getSearchBudgetMillis());
+    }
+
+    private static String reasoning(ExpectimaxSearch search) {
+        return String.format(Locale.ROOT,
+                "Search %d plies deep (%d positions, %d transpositions), expected HP lead %+.2f",
+                search.getDepth(), search.getNodes(), search.getTableHits(),
+                Math.max(-1.0, Math.min(1.0, search.getValue())));
+    }
+
+    // an even position is a coin flip; a forced win is as sure as the search gets
+    private static double confidence(ExpectimaxSearch search) {
+        return Math.max(0.1, Math.min(0.95, 0.5 + search.getValue() / 2.0));
+    }
+}
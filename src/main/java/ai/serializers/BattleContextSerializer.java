@@ -1,163 +1,390 @@
 package ai.serializers;
 
 import ai.config.DifficultyConfig;
+import ai.fallback.RuleBasedDecisionMaker;
 import ai.graph.BattleDecisionState;
+import entities.Player;
 import entities.Pokemon;
+import entities.battle.DamageCalculator;
+import entities.battle.Move;
+import entities.battle.MoveTurn;
+import entities.battle.PokemonType;
+import entities.battle.Stats;
+import entities.battle.SwitchTurn;
 import entities.battle.Turn;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Converts battle state into LLM-friendly text format.
+ * Converts battle state into a compact, tabular text for the LLM prompt.
+ * Moves carry their type, power, accuracy and effectiveness against the opponent, so the
+ * model does not have to work them out, and the turn history is cut to the difficulty's
+ * token budget with older turns summarised, so the prompt stays the same size however
+ * long the battle runs. Prompt tokens drive both latency and cost.
  */
 public class BattleContextSerializer {
 
+    // tokens kept back for the line summarising turns that did not fit
+    private static final int SUMMARY_RESERVE = 20;
+
     /**
      * Serialize battle state for LLM consumption
      */
     public static String serializeForLLM(BattleDecisionState state) {
-        StringBuilder context = new StringBuilder();
-
-        // Battle header
-        context.append("=== BATTLE SITUATION ===\n\n");
-
-        // Your active Pokemon
+        StringBuilder context = new StringBuilder(512);
         Pokemon aiPokemon = state.getAiPlayer().getActivePokemon();
+        Pokemon opponentPokemon = state.getOpponent().getActivePokemon();
+
+        context.append("Pokemon: name types hp/max atk/def/spa/spd/spe\n");
         if (aiPokemon != null) {
-            context.append("YOUR ACTIVE POKEMON:\n");
-            context.append(formatPokemonInfo(aiPokemon, true));
-            context.append("\n");
+            context.append("ME ");
+            appendPokemon(context, aiPokemon);
         }
-
-        // Opponent's active Pokemon
-        Pokemon opponentPokemon = state.getOpponent().getActivePokemon();
         if (opponentPokemon != null) {
-            context.append("OPPONENT'S ACTIVE POKEMON:\n");
-            context.append(formatPokemonInfo(opponentPokemon, false));
-            context.append("\n");
+            context.append("FOE ");
+            appendPokemon(context, opponentPokemon);
         }
 
-        // Your team (bench)
+        // Moves, numbered as the prompt expects
+        List<String> moves = aiPokemon != null ? aiPokemon.getMoveNames() : null;
+        if (moves != null && !moves.isEmpty()) {
+            context.append("MOVES #|move|type|pow|acc|vs foe\n");
+            for (int i = 0; i < moves.size(); i++) {
+                context.append(i + 1).append('|');
+                appendMove(context, RuleBasedDecisionMaker.lookupMove(moves.get(i)), opponentPokemon);
+                context.append('\n');
+            }
+        }
+
+        // Bench, with each Pokemon's best type matchup each way against the foe
         List<Pokemon> team = state.getAiPlayer().getTeam();
-        if (team != null && !team.isEmpty()) {
-            context.append("YOUR TEAM:\n");
-            List<Pokemon> benchPokemon = team.stream()
-                    .filter(p -> p != aiPokemon)
-                    .collect(Collectors.toList());
-
-            if (!benchPokemon.isEmpty()) {
-                for (Pokemon p : benchPokemon) {
-                    context.append("  - ").append(formatPokemonSummary(p)).append("\n");
+        if (team != null) {
+            context.append("BENCH name|types|hp|hits foe|foe hits it\n");
+            boolean any = false;
+            for (Pokemon p : team) {
+                if (p != aiPokemon) {
+                    appendBench(context, p, opponentPokemon);
+                    any = true;
                 }
-            } else {
-                context.append("  (No other Pokemon available)\n");
             }
-            context.append("\n");
+            if (!any) {
+                context.append("(none)\n");
+            }
         }
 
-        // Turn history (if configured)
+        // Turn history, cut to the token budget (if configured)
         DifficultyConfig config = DifficultyConfig.forLevel(state.getDifficulty());
-        int historyLimit = config.getTurnHistoryLimit();
-        if (historyLimit > 0 && state.getTurnHistory() != null && !state.getTurnHistory().isEmpty()) {
-            context.append("RECENT BATTLE HISTORY:\n");
-            context.append(formatTurnHistory(state.getTurnHistory(), historyLimit));
-            context.append("\n");
+        if (config.getTurnHistoryLimit() > 0 && state.getTurnHistory() != null && !state.getTurnHistory().isEmpty()) {
+            context.append("HISTORY tN me/foe action dmg eff\n");
+            context.append(formatTurnHistory(state.getTurnHistory(), state.getAiPlayer(),
+                    config.getTurnHistoryLimit(), config.getHistoryTokenBudget()));
         }
 
         // Analysis metadata (if available)
         if (state.getMetadata().containsKey("typeAdvantages")) {
-            context.append("ANALYSIS:\n");
-            context.append(state.getMetadata().get("typeAdvantages")).append("\n");
+            context.append("NOTE ").append(state.getMetadata().get("typeAdvantages")).append('\n');
         }
 
         return context.toString();
     }
 
     /**
-     * Format detailed Pokemon information with moves
+     * The parts of a battle that never change, for the fixed prefix of a conversation:
+     * both teams with types, max HP, stats and move tables. Current HP is left out so the
+     * text is byte-identical on every turn of the battle.
      */
-    private static String formatPokemonInfo(Pokemon pokemon, boolean includeMoves) {
-        StringBuilder info = new StringBuilder();
+    public static String serializeRoster(BattleDecisionState state) {
+        StringBuilder roster = new StringBuilder(1024);
+        roster.append("Pokemon: name types maxhp atk/def/spa/spd/spe; moves: move|type|pow|acc\n");
+        appendRoster(roster, "MY TEAM", state.getAiPlayer());
+        appendRoster(roster, "FOE TEAM", state.getOpponent());
+        return roster.toString();
+    }
 
-        // Basic info
-        info.append(String.format("  %s", pokemon.getName()));
+    /**
+     * What the current turn looks like against the roster: both active Pokemon with HP,
+     * the AI's moves with their effectiveness against the foe, any bench Pokemon below
+     * full HP, and the turns played since {@code fromTurn} (cut to {@code tokenBudget}).
+     */
+    public static String serializeDelta(BattleDecisionState state, int fromTurn, int tokenBudget) {
+        StringBuilder delta = new StringBuilder(256);
+        Pokemon aiPokemon = state.getAiPlayer().getActivePokemon();
+        Pokemon opponentPokemon = state.getOpponent().getActivePokemon();
+        delta.append("ME ");
+        appendActive(delta, aiPokemon);
+        delta.append(" | FOE ");
+        appendActive(delta, opponentPokemon);
+        delta.append('\n');
 
-        // Types
-        if (pokemon.getTypes() != null && !pokemon.getTypes().isEmpty()) {
-            info.append(" (").append(String.join(", ", pokemon.getTypes())).append(")");
+        List<String> moves = aiPokemon != null ? aiPokemon.getMoveNames() : null;
+        if (moves != null && !moves.isEmpty()) {
+            delta.append("MOVES");
+            for (int i = 0; i < moves.size(); i++) {
+                Move move = RuleBasedDecisionMaker.lookupMove(moves.get(i));
+                delta.append(i == 0 ? " " : ", ").append(i + 1).append(' ').append(move.getName());
+                if (opponentPokemon != null) {
+                    delta.append(' ');
+                    appendMultiplier(delta, DamageCalculator.calculateTypeEffectiveness(move, opponentPokemon));
+                }
+            }
+            delta.append('\n');
         }
 
-        // Stats
-        if (pokemon.getStats() != null) {
-            info.append(String.format("\n  HP: %d | ", pokemon.getStats().getHp()));
-            info.append(String.format("ATK: %d | DEF: %d | ",
-                    pokemon.getStats().getAttack(),
-                    pokemon.getStats().getDefense()));
-            info.append(String.format("SP.ATK: %d | SP.DEF: %d | SPD: %d",
-                    pokemon.getStats().getSpAttack(),
-                    pokemon.getStats().getSpDefense(),
-                    pokemon.getStats().getSpeed()));
+        appendHurtBench(delta, "MY BENCH", state.getAiPlayer());
+        appendHurtBench(delta, "FOE BENCH", state.getOpponent());
+
+        List<Turn> history = state.getTurnHistory();
+        if (history != null && fromTurn < history.size()) {
+            delta.append("LOG\n").append(formatTurnHistory(history.subList(Math.max(0, fromTurn), history.size()),
+                    state.getAiPlayer(), Integer.MAX_VALUE, tokenBudget));
         }
+        return delta.toString();
+    }
 
-        // Moves (only for AI's Pokemon)
-        if (includeMoves && pokemon.getMoves() != null && !pokemon.getMoves().isEmpty()) {
-            info.append("\n  AVAILABLE MOVES:\n");
-            List<String> moves = pokemon.getMoves();
-            for (int i = 0; i < moves.size(); i++) {
-                info.append(String.format("    %d. %s\n", i + 1, moves.get(i)));
+    private static void appendRoster(StringBuilder out, String label, Player player) {
+        out.append(label).append('\n');
+        if (player == null || player.getTeam() == null) {
+            return;
+        }
+        for (Pokemon pokemon : player.getTeam()) {
+            out.append(pokemon.getName()).append(' ');
+            appendTypes(out, pokemon);
+            Stats stats = pokemon.getStats();
+            if (stats != null) {
+                out.append(' ').append(stats.getMaxHp())
+                        .append(' ').append(stats.getAttack()).append('/').append(stats.getDefense())
+                        .append('/').append(stats.getSpAttack()).append('/').append(stats.getSpDefense())
+                        .append('/').append(stats.getSpeed());
+            }
+            out.append('\n');
+            List<String> moves = pokemon.getMoveNames();
+            if (moves != null && !moves.isEmpty()) {
+                out.append("  ");
+                for (int i = 0; i < moves.size(); i++) {
+                    if (i > 0) {
+                        out.append(", ");
+                    }
+                    appendMove(out, RuleBasedDecisionMaker.lookupMove(moves.get(i)), null);
+                }
+                out.append('\n');
             }
         }
+    }
+
+    private static void appendActive(StringBuilder out, Pokemon pokemon) {
+        if (pokemon == null) {
+            out.append("none");
+            return;
+        }
+        out.append(pokemon.getName());
+        Stats stats = pokemon.getStats();
+        if (stats != null) {
+            out.append(' ').append(stats.getHp()).append('/').append(stats.getMaxHp());
+        }
+    }
 
-        return info.toString();
+    // bench Pokemon that are no longer at full HP; the roster implies the rest
+    private static void appendHurtBench(StringBuilder out, String label, Player player) {
+        if (player == null || player.getTeam() == null) {
+            return;
+        }
+        boolean any = false;
+        for (Pokemon pokemon : player.getTeam()) {
+            Stats stats = pokemon.getStats();
+            if (pokemon == player.getActivePokemon() || stats == null || stats.getHp() >= stats.getMaxHp()) {
+                continue;
+            }
+            out.append(any ? ", " : label + " ").append(pokemon.getName()).append(' ')
+                    .append(pokemon.isFainted() ? "KO" : stats.getHp() + "/" + stats.getMaxHp());
+            any = true;
+        }
+        if (any) {
+            out.append('\n');
+        }
     }
 
     /**
-     * Format Pokemon summary (for bench display)
+     * Estimated prompt tokens for the serialized state; see {@link TokenEstimator}.
      */
-    private static String formatPokemonSummary(Pokemon pokemon) {
-        StringBuilder summary = new StringBuilder();
-        summary.append(pokemon.getName());
+    public static int estimateTokens(BattleDecisionState state) {
+        return TokenEstimator.estimate(serializeForLLM(state));
+    }
 
-        if (pokemon.getTypes() != null && !pokemon.getTypes().isEmpty()) {
-            summary.append(" (").append(String.join(", ", pokemon.getTypes())).append(")");
+    private static void appendPokemon(StringBuilder out, Pokemon pokemon) {
+        out.append(pokemon.getName()).append(' ');
+        appendTypes(out, pokemon);
+        Stats stats = pokemon.getStats();
+        if (stats != null) {
+            out.append(' ').append(stats.getHp()).append('/').append(stats.getMaxHp())
+                    .append(' ').append(stats.getAttack()).append('/').append(stats.getDefense())
+                    .append('/').append(stats.getSpAttack()).append('/').append(stats.getSpDefense())
+                    .append('/').append(stats.getSpeed());
         }
+        out.append('\n');
+    }
 
-        if (pokemon.getStats() != null) {
-            summary.append(String.format(" - HP: %d", pokemon.getStats().getHp()));
+    private static void appendTypes(StringBuilder out, Pokemon pokemon) {
+        List<String> types = pokemon.getTypes();
+        out.append(types != null && !types.isEmpty() ? String.join("/", types) : "?");
+    }
+
+    private static void appendMove(StringBuilder out, Move move, Pokemon target) {
+        out.append(move.getName()).append('|')
+                .append(move.getType() != null ? move.getType() : "?").append('|')
+                .append(move.getPower() != null ? move.getPower().toString() : "-").append('|')
+                .append(move.getAccuracy() != null ? move.getAccuracy().toString() : "-");
+        if (target != null) {
+            out.append('|');
+            appendMultiplier(out, DamageCalculator.calculateTypeEffectiveness(move, target));
         }
+    }
 
+    private static void appendBench(StringBuilder out, Pokemon pokemon, Pokemon foe) {
+        out.append(pokemon.getName()).append('|');
+        appendTypes(out, pokemon);
+        out.append('|');
+        Stats stats = pokemon.getStats();
+        if (stats != null) {
+            out.append(stats.getHp()).append('/').append(stats.getMaxHp());
+        }
         if (pokemon.isFainted()) {
-            summary.append(" [FAINTED]");
+            out.append("|KO\n");
+            return;
+        }
+        out.append('|');
+        if (foe != null) {
+            appendMultiplier(out, bestMultiplier(pokemon.getTypeIds(), foe.getTypeIds()));
+            out.append('|');
+            appendMultiplier(out, bestMultiplier(foe.getTypeIds(), pokemon.getTypeIds()));
         }
+        out.append('\n');
+    }
 
-        return summary.toString();
+    // the strongest same-type hit the attacker's types can land on the defender
+    private static double bestMultiplier(PokemonType[] attackerTypes, PokemonType[] defenderTypes) {
+        if (attackerTypes == null || attackerTypes.length == 0 || defenderTypes == null) {
+            return 1.0;
+        }
+        double best = 0.0;
+        for (PokemonType type : attackerTypes) {
+            best = Math.max(best, DamageCalculator.getTypeEffectiveness(type, defenderTypes));
+        }
+        return best;
+    }
+
+    // x2, x0.5, x0.25 ...
+    private static void appendMultiplier(StringBuilder out, double multiplier) {
+        out.append('x');
+        if (multiplier == Math.rint(multiplier)) {
+            out.append((long) multiplier);
+        }
+        else {
+            out.append(multiplier);
+        }
     }
 
     /**
-     * Format turn history
+     * Format turn history: the newest turns that fit in the token budget, one short line
+     * each, after a single line summarising the older ones.
      */
-    private static String formatTurnHistory(List<Turn> history, int limit) {
-        if (history == null || history.isEmpty()) {
-            return "  No recent turns\n";
+    private static String formatTurnHistory(List<Turn> history, Player ai, int limit, int tokenBudget) {
+        int first = Math.max(0, history.size() - limit);
+        Deque<String> kept = new ArrayDeque<>();
+        int used = 0;
+        int i = history.size() - 1;
+        for (; i >= first; i--) {
+            String line = formatTurn(history.get(i), ai);
+            int cost = TokenEstimator.estimate(line);
+            if (used + cost > tokenBudget - (i > 0 ? SUMMARY_RESERVE : 0)) {
+                break;
+            }
+            kept.addFirst(line);
+            used += cost;
         }
 
         StringBuilder formatted = new StringBuilder();
-        int start = Math.max(0, history.size() - limit);
-        List<Turn> recentTurns = history.subList(start, history.size());
+        if (i >= 0) {
+            formatted.append(summarise(history.subList(0, i + 1), ai)).append('\n');
+        }
+        for (String line : kept) {
+            formatted.append(line).append('\n');
+        }
+        return formatted.toString();
+    }
 
-        for (Turn turn : recentTurns) {
-            formatted.append("  - ").append(turn.getTurnDetails()).append("\n");
+    private static String formatTurn(Turn turn, Player ai) {
+        StringBuilder line = new StringBuilder(32);
+        line.append('t').append(turn.getTurnNumber()).append(' ').append(isAi(turn, ai) ? "me" : "foe").append(' ');
+        if (turn instanceof MoveTurn) {
+            MoveTurn move = (MoveTurn) turn;
+            line.append(move.getMove() != null ? move.getMove().getName() : "?").append(' ').append(move.getDamage());
+            String effectiveness = abbreviate(move.getEffectiveness());
+            if (!effectiveness.isEmpty()) {
+                line.append(' ').append(effectiveness);
+            }
+        }
+        else if (turn instanceof SwitchTurn) {
+            Pokemon in = ((SwitchTurn) turn).getNewPokemon();
+            line.append("switch ").append(in != null ? in.getName() : "?");
+        }
+        else {
+            line.append(turn.getClass().getSimpleName());
         }
+        return line.toString();
+    }
 
-        return formatted.toString();
+    // one line for turns that did not fit: counts and total damage each way
+    private static String summarise(List<Turn> turns, Player ai) {
+        int myDamage = 0;
+        int foeDamage = 0;
+        int switches = 0;
+        for (Turn turn : turns) {
+            if (turn instanceof MoveTurn) {
+                if (isAi(turn, ai)) {
+                    myDamage += ((MoveTurn) turn).getDamage();
+                }
+                else {
+                    foeDamage += ((MoveTurn) turn).getDamage();
+                }
+            }
+            else if (turn instanceof SwitchTurn) {
+                switches++;
+            }
+        }
+        return "earlier " + turns.size() + " turns: me dealt " + myDamage + ", foe dealt " + foeDamage
+                + ", " + switches + " switches";
+    }
+
+    private static boolean isAi(Turn turn, Player ai) {
+        Player player = turn.getPlayer();
+        return player != null && ai != null
+                && (player == ai || player.getName() != null && player.getName().equals(ai.getName()));
+    }
+
+    private static String abbreviate(String effectiveness) {
+        if (effectiveness == null) {
+            return "";
+        }
+        switch (effectiveness) {
+            case "super effective":
+                return "SE";
+            case "not very effective":
+                return "NVE";
+            case "no effect":
+                return "immune";
+            default:
+                return "";
+        }
     }
 
     /**
      * Format move information (for detailed analysis)
      */
     public static String formatMoveInfo(String moveName) {
-        // Simplified for now - would query move database in full implementation
-        return String.format("Move: %s", moveName);
+        StringBuilder info = new StringBuilder();
+        appendMove(info, RuleBasedDecisionMaker.lookupMove(moveName), null);
+        return info.toString();
     }
 }
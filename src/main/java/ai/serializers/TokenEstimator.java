@@ -0,0 +1,54 @@
+package ai.serializers;
+
+/**
+ * Cheap estimate of how many tokens a text costs in an LLM prompt, without a tokenizer.
+ * Words cost one token per four letters, numbers one per three digits and each symbol
+ * one; whitespace is folded into the following token. This tracks BPE tokenizers on
+ * the short, tabular text we send closely enough to budget prompt size.
+ */
+public final class TokenEstimator {
+
+    private static final int LETTERS_PER_TOKEN = 4;
+    private static final int DIGITS_PER_TOKEN = 3;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int i = 0;
+        final int length = text.length();
+        while (i < length) {
+            final char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            }
+            else if (Character.isLetter(c)) {
+                final int start = i;
+                while (i < length && Character.isLetter(text.charAt(i))) {
+                    i++;
+                }
+                tokens += ceilDiv(i - start, LETTERS_PER_TOKEN);
+            }
+            else if (Character.isDigit(c)) {
+                final int start = i;
+                while (i < length && Character.isDigit(text.charAt(i))) {
+                    i++;
+                }
+                tokens += ceilDiv(i - start, DIGITS_PER_TOKEN);
+            }
+            else {
+                tokens++;
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
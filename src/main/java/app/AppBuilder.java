@@ -53,6 +53,8 @@ public class AppBuilder {
     private final NavigationController navigationController;
 
     private User user;
+    // a default user still waiting for its starter Pokemon
+    private boolean needsStarterPokemon;
     private JsonUserDataAccess userDA = new JsonUserDataAccess("user.json");
 
     // Views
@@ -94,14 +96,33 @@ public class AppBuilder {
      */
     public AppBuilder setUser(User user) {
         this.user = user;
+        this.needsStarterPokemon = false;
         return this;
     }
 
     /**
-     * Creates a default user with starter Pokemon and currency.
+     * Creates a default user with currency. It gets its starter Pokemon from
+     * {@link #addStarterPokemon()} once the Pokedex has loaded.
      */
     public AppBuilder createDefaultUser() {
         user = new User(1, "Trainer", "trainer@pokemon.com", 5000);
+        needsStarterPokemon = true;
+        return this;
+    }
+
+    /**
+     * Gives a new default user its starter Pokemon and deck, and saves it.
+     * Blocks until the Pokedex has loaded, so call it from the loading callback rather than
+     * while building the menu. Does nothing for a user that was loaded or already has them.
+     */
+    public AppBuilder addStarterPokemon() {
+        if (user == null) {
+            createDefaultUser();
+        }
+        if (!needsStarterPokemon) {
+            return this;
+        }
+        needsStarterPokemon = false;
 
         // Add starter Pokémon
         int starterCount = Math.min(6, JSONLoader.getInstance().getAllPokemon().size());
@@ -141,6 +162,8 @@ public class AppBuilder {
         }
 
         mainMenuView = new MainMenuView(viewManagerModel, user);
+        // until enableDataViews(): the views behind these buttons are added once the Pokedex loads
+        mainMenuView.setDataViewsEnabled(false);
 
         // Set up navigation callbacks
         mainMenuView.setOnCollectionClick(() -> {
@@ -179,9 +202,7 @@ public class AppBuilder {
      * Adds the collection view to the application.
      */
     public AppBuilder addCollectionView() {
-        if (user == null) {
-            createDefaultUser();
-        }
+        addStarterPokemon();
 
         collectionViewModel = new ViewCollectionViewModel();
         collectionView = new CollectionView(collectionViewModel);
@@ -204,7 +225,7 @@ public class AppBuilder {
     }
 
     public AppBuilder addOpenPackView() {
-        if (user == null) createDefaultUser();
+        addStarterPokemon();
 
         openPackViewModel = new OpenPackViewModel();
         openPackViewModel.getState().setRemainingCurrency(user.getCurrency());
@@ -240,9 +261,7 @@ public class AppBuilder {
      * Adds the build deck view to the application.
      */
     public AppBuilder addBuildDeckView() {
-        if (user == null) {
-            createDefaultUser();
-        }
+        addStarterPokemon();
 
         buildDeckViewModel = new BuildDeckViewModel();
         buildDeckView = new BuildDeckView(buildDeckViewModel, user);
@@ -265,6 +284,15 @@ public class AppBuilder {
         return this;
     }
 
+    /**
+     * Enables the menu buttons for the views that need the Pokedex, once they are added.
+     */
+    public AppBuilder enableDataViews() {
+        mainMenuView.refreshUserInfo();
+        mainMenuView.setDataViewsEnabled(true);
+        return this;
+    }
+
     /**
      * Opens the Battle AI flow in a separate window.
      * Uses the DeckSelectionView -> BattleAIView flow.
@@ -1,8 +1,10 @@
 package app;
 
+import ai.runtime.AIRuntime;
 import pokeapi.JSONLoader;
 
 import javax.swing.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Main entry point for the Pokemon Battle Game application.
@@ -17,37 +19,59 @@ public class Main {
             // Use default look and feel
         }
 
+        // Start parsing Pokemon and Move data off the EDT straight away
+        final CompletableFuture<JSONLoader> data = JSONLoader.loadAsync();
+        // Compile the AI decision graphs and open the LLM connection in the background too
+        AIRuntime.warmUpAsync();
+
         SwingUtilities.invokeLater(() -> {
             try {
-                // Load Pokemon and Move data
-                System.out.println("Loading Pokemon data...");
-                System.out.println("Loaded " + JSONLoader.getInstance().getAllPokemon().size() + " Pokemon");
-
-                System.out.println("Loading Move data...");
-                System.out.println("Loaded " + JSONLoader.getInstance().getAllMoves().size() + " Moves");
-
-                // Build and display the application
+                // Build and display the main menu while the data is still loading;
+                // its data-backed buttons stay disabled until then
                 AppBuilder appBuilder = new AppBuilder();
                 JFrame application = appBuilder
                         .addMainMenuView()
-                        .addCollectionView()
-                        .addBuildDeckView()
-                        .addOpenPackView()
                         .build();
 
                 application.pack();
                 application.setLocationRelativeTo(null);
                 application.setVisible(true);
 
-                System.out.println("Application started successfully!");
+                // Add the data-backed views once loading finishes
+                data.whenComplete((loader, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        showStartupError(error.getCause() != null ? error.getCause() : error);
+                        return;
+                    }
+                    try {
+                        System.out.println("Loaded " + loader.getAllPokemon().size() + " Pokemon");
+                        System.out.println("Loaded " + loader.getAllMoves().size() + " Moves");
+
+                        appBuilder
+                                .addStarterPokemon()
+                                .addCollectionView()
+                                .addBuildDeckView()
+                                .addOpenPackView()
+                                .enableDataViews();
+                        application.revalidate();
+
+                        System.out.println("Application started successfully!");
+                    } catch (Exception e) {
+                        showStartupError(e);
+                    }
+                }));
 
             } catch (Exception e) {
-                e.printStackTrace();
-                JOptionPane.showMessageDialog(null,
-                    "Error starting application: " + e.getMessage(),
-                    "Startup Error",
-                    JOptionPane.ERROR_MESSAGE);
+                showStartupError(e);
             }
         });
     }
+
+    private static void showStartupError(Throwable e) {
+        e.printStackTrace();
+        JOptionPane.showMessageDialog(null,
+            "Error starting application: " + e.getMessage(),
+            "Startup Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
 }
@@ -10,6 +10,8 @@ import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Simple, clean main menu view.
@@ -27,6 +29,8 @@ public class MainMenuView extends JPanel implements PropertyChangeListener {
     private Runnable onBattleAIClick;
     private Runnable onBattlePlayerClick;
     private Runnable onBuildDeckClick;
+    // buttons whose views need the Pokedex, disabled while it loads
+    private final List<JButton> dataButtons = new ArrayList<>();
 
     public MainMenuView(ViewManagerModel viewManagerModel, User user) {
         this.user = user;
@@ -143,6 +147,7 @@ public class MainMenuView extends JPanel implements PropertyChangeListener {
         });
         panel.add(battlePlayerBtn);
 
+        dataButtons.addAll(List.of(collectionBtn, openPackBtn, buildDeckBtn, battleAIBtn, battlePlayerBtn));
         return panel;
     }
 
@@ -168,6 +173,15 @@ public class MainMenuView extends JPanel implements PropertyChangeListener {
         pokemonCountLabel.setText("Pokemon: " + user.getOwnedPokemon().size());
     }
 
+    /**
+     * Enables or disables the buttons whose views need the Pokedex.
+     */
+    public void setDataViewsEnabled(boolean enabled) {
+        for (JButton button : dataButtons) {
+            button.setEnabled(enabled);
+        }
+    }
+
     public void setOnCollectionClick(Runnable callback) {
         this.onCollectionClick = callback;
     }
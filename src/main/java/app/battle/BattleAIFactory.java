@@ -3,6 +3,7 @@ package app.battle;
 import entities.user.User;
 import frameworks_and_drivers.deck.DeckSelectionForBattleView;
 import frameworks_and_drivers.deck.DeckSelectionView;
+import interface_adapters.BattleCommandBus;
 import interface_adapters.battle_ai.*;
 import pokeapi.JSONLoader;
 import use_case.battle_ai.BattleAIInteractor;
@@ -34,7 +35,7 @@ public class BattleAIFactory {
     public static JFrame createWithCallback(User user, Runnable returnCallback) {
         // Data Access Layer
         BattleAIDataAccessObject dataAccess = new BattleAIDataAccessObject(
-                JSONLoader.getInstance().getAllPokemon(), JSONLoader.getInstance().getAllMoves());
+                JSONLoader.getInstance().getAllPokemon(), JSONLoader.getInstance().getMoveRepository());
 
         // Presenter & ViewModel
         BattleAIViewModel viewModel = new BattleAIViewModel();
@@ -44,7 +45,7 @@ public class BattleAIFactory {
         BattleAIInteractor aiInteractor = new BattleAIInteractor(dataAccess, presenter);
 
         // Controller
-        BattleAIController controller = new BattleAIController(aiInteractor);
+        BattleAIController controller = new BattleAIController(aiInteractor, viewModel, BattleCommandBus.shared());
 
         // Check if user has any decks with enough Pokemon
         boolean hasValidDecks = user.getDecks().values().stream()
@@ -69,7 +70,7 @@ public class BattleAIFactory {
     public static DeckSelectionForBattleView createDeckBasedView(User user, Runnable returnCallback) {
         // Data Access Layer
         BattleAIDataAccessObject dataAccess = new BattleAIDataAccessObject(
-                JSONLoader.getInstance().getAllPokemon(), JSONLoader.getInstance().getAllMoves());
+                JSONLoader.getInstance().getAllPokemon(), JSONLoader.getInstance().getMoveRepository());
 
         // Presenter & ViewModel
         BattleAIViewModel viewModel = new BattleAIViewModel();
@@ -79,7 +80,7 @@ public class BattleAIFactory {
         BattleAIInteractor aiInteractor = new BattleAIInteractor(dataAccess, presenter);
 
         // Controller 
-        BattleAIController controller = new BattleAIController(aiInteractor);
+        BattleAIController controller = new BattleAIController(aiInteractor, viewModel, BattleCommandBus.shared());
 
         return new DeckSelectionForBattleView(controller, dataAccess, viewModel, user, returnCallback);
     }
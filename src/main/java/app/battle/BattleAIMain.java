@@ -22,8 +22,8 @@ public class BattleAIMain {
 
         // Load Pokemon data from local JSON file
         System.out.println("Loading Pokemon data...");
-        JSONLoader.getInstance().loadPokemon();
-        JSONLoader.getInstance().loadMoves();
+        // getInstance() already loads pokemon.json and moves.json
+        JSONLoader.getInstance();
         System.out.println("Loaded " + JSONLoader.getInstance().getAllPokemon().size() + " Pokemon");
         System.out.println("Loaded " + JSONLoader.getInstance().getAllMoves().size() + " Moves");
 
@@ -6,6 +6,7 @@ import frameworks_and_drivers.battle.BattlePlayerDataAccessObject;
 import frameworks_and_drivers.battle.BattlePlayerView;
 import frameworks_and_drivers.battle.BattleSetupDeckView;
 import frameworks_and_drivers.battle.BattleSetupViewIntegrated;
+import interface_adapters.BattleCommandBus;
 import interface_adapters.battle_player.BattlePlayerController;
 import interface_adapters.battle_player.BattlePlayerPresenter;
 import interface_adapters.battle_player.BattlePlayerState;
@@ -61,7 +62,7 @@ public class BattlePlayerFactory {
         BattlePlayerViewModel viewModel = new BattlePlayerViewModel();
         BattlePlayerPresenter presenter = new BattlePlayerPresenter(viewModel);
         BattlePlayerInteractor interactor = new BattlePlayerInteractor(dataAccess, presenter);
-        BattlePlayerController controller = new BattlePlayerController(interactor);
+        BattlePlayerController controller = new BattlePlayerController(interactor, BattleCommandBus.shared());
 
         BattlePlayerView battleView = new BattlePlayerView(controller, viewModel, dataAccess, playAgainHandler);
 
@@ -22,8 +22,8 @@ public class BattlePlayerMain {
         // boot swing on the edt
         SwingUtilities.invokeLater(() -> {
             try {
-                JSONLoader.getInstance().loadPokemon();
-                JSONLoader.getInstance().loadMoves();
+                // getInstance() already loads pokemon.json and moves.json
+                JSONLoader.getInstance();
                 seedDecks();
                 user = createDefaultUser();
                 showSetup();
@@ -76,21 +76,20 @@ public class BattlePlayerMain {
     }
 
     private static Pokemon fetchPokemonFromJson(String name) {
-        for (Pokemon candidate : JSONLoader.getInstance().getAllPokemon()) {
-            if (candidate.getName().equalsIgnoreCase(name)) {
-                ArrayList<String> moves = candidate.getMoves();
-                int limit = Math.min(4, moves.size());
-                ArrayList<String> trimmed = new ArrayList<>(moves.subList(0, limit));
-                return new Pokemon(
-                    candidate.getName(),
-                    candidate.getId(),
-                    new ArrayList<>(candidate.getTypes()),
-                    candidate.getStats().copy(),
-                    trimmed
-                );
-            }
+        final Pokemon candidate = JSONLoader.getInstance().getPokemonRepository().getByName(name);
+        if (candidate == null) {
+            throw new IllegalArgumentException("Pokemon not found in local JSON: " + name);
         }
-        throw new IllegalArgumentException("Pokemon not found in local JSON: " + name);
+        List<String> moves = candidate.getMoveNames();
+        int limit = Math.min(4, moves.size());
+        ArrayList<String> trimmed = new ArrayList<>(moves.subList(0, limit));
+        return new Pokemon(
+            candidate.getName(),
+            candidate.getId(),
+            new ArrayList<>(candidate.getTypes()),
+            candidate.getStats().copy(),
+            trimmed
+        );
     }
 
     private static void seedDecks() {
@@ -2,38 +2,60 @@ package entities;
 
 import java.io.Serializable;
 
+import entities.battle.Learnset;
+import entities.battle.PokemonType;
 import entities.battle.Stats;
 import org.json.JSONObject;
 import pokeapi.JSONUtility;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Pokemon entity for the project.
+ * One Pokemon is one card or battler: the data shared by its whole kind lives in an
+ * immutable {@link Species}, and this class only keeps what can differ per card.
  */
 
 public class Pokemon implements Serializable {
     private static final long serialVersionUID = 1L;
-    private String name;
-    // private so no other classes can modify/access
-    private int id;
-    private ArrayList<String> types;
+
+    public static final int MIN_STAT_STAGE = -6;
+    public static final int MAX_STAT_STAGE = 6;
+
+    // shared name, id, types, base stats and learnset; replaced (never mutated) by the setters
+    private Species species;
+    // current stats; null until first needed, then a copy of the species' base stats
     private Stats stats;
+    // this Pokemon's own move list; null while it still uses the species learnset
     private ArrayList<String> moves;
     // IDK if pokemon should have a list of MOVE objects (high redundancy)
     // or a list of Strings of move_names which can be looked up
     private boolean shiny = false;
     // default of each pokemon is not shiny
+    // battle stat stages indexed like Stats.STAT_NAMES; null while all are 0
+    private byte[] statStages;
 
     public Pokemon(String name, int id, ArrayList<String> types, Stats stats, ArrayList<String> moves) {
-        this.name = name;
-        this.id = id;
-        this.types = types;
+        this.species = new Species(name, id, types, stats, null);
         this.stats = stats;
         this.moves = moves;
     }
 
+    public Pokemon(String name, int id, ArrayList<String> types, Stats stats, Learnset learnset) {
+        this.species = new Species(name, id, types, stats, learnset);
+        this.stats = stats;
+    }
+
+    /**
+     * A fresh Pokemon of the given species, with base stats and the species learnset.
+     */
+    public Pokemon(Species species) {
+        this.species = species;
+    }
+
     public Pokemon() {
+        this.species = Species.EMPTY;
     }
 
     public static Pokemon fromJSON(JSONObject jsonObject) {
@@ -50,6 +72,9 @@ public class Pokemon implements Serializable {
         return p;
     }
 
+    public Species getSpecies() {
+        return species;
+    }
 
     public boolean isShiny() {
         return shiny;
@@ -60,22 +85,25 @@ public class Pokemon implements Serializable {
     }
 
     public int getID() {
-        return id;
+        return species.getId();
     }
 
     public String getName() {
-        return name;
+        return species.getName();
     }
 
     public void setName(String name) {
-         this.name = name;
+         this.species = species.withName(name);
     }
 
     public int getId() {
-        return this.id;
+        return species.getId();
     }
 
     public Stats getStats() {
+        if (stats == null && species.hasBaseStats()) {
+            stats = species.getBaseStats();
+        }
         return this.stats;
     }
 
@@ -83,48 +111,134 @@ public class Pokemon implements Serializable {
         this.stats = stats;
     }
 
+    /**
+     * This Pokemon's moves as an editable list.
+     * A Pokemon that still uses its species learnset gets its own copy on the first call.
+     */
     public ArrayList<String> getMoves() {
+        if (moves == null && species.getLearnset() != null) {
+            moves = new ArrayList<>(species.getLearnset());
+        }
         return this.moves;
     }
 
-    public ArrayList<String> getTypes() {
-        return this.types;
+    /**
+     * Read-only view of this Pokemon's moves, without copying the shared learnset.
+     */
+    public List<String> getMoveNames() {
+        return moves != null ? moves : species.getLearnset();
+    }
+
+    /**
+     * The shared species learnset, or null if this Pokemon was built from a plain move list.
+     */
+    public Learnset getLearnset() {
+        return species.getLearnset();
+    }
+
+    /**
+     * Replace this Pokemon's moves with a shared learnset.
+     */
+    public void setLearnset(Learnset learnset) {
+        this.species = species.withLearnset(learnset);
+        this.moves = null;
+    }
+
+    /**
+     * The species' type names. The list is shared and cannot be modified; use {@link #setTypes}.
+     */
+    public List<String> getTypes() {
+        return species.getTypes();
+    }
+
+    /**
+     * The Pokemon's types as resolved enum values, in the same order as {@link #getTypes()}.
+     * Unrecognised type names are skipped.
+     */
+    public PokemonType[] getTypeIds() {
+        return species.getTypeIds();
     }
 
     public void setMoves(ArrayList<String> moves) {
         this.moves = moves;
     }
 
+    /**
+     * The battle stage (-6 to +6) of a stat, named as in {@link Stats#STAT_NAMES}.
+     */
+    public int getStatStage(String statName) {
+        final int index = statIndex(statName);
+        return statStages == null ? 0 : statStages[index];
+    }
+
+    /**
+     * Raise or lower a stat stage, clamped to -6..+6.
+     *
+     * @return the new stage
+     */
+    public int changeStatStage(String statName, int delta) {
+        final int index = statIndex(statName);
+        if (statStages == null) {
+            if (delta == 0) {
+                return 0;
+            }
+            statStages = new byte[Stats.STAT_NAMES.length];
+        }
+        final int stage = Math.max(MIN_STAT_STAGE, Math.min(MAX_STAT_STAGE, statStages[index] + delta));
+        statStages[index] = (byte) stage;
+        return stage;
+    }
+
+    public void resetStatStages() {
+        statStages = null;
+    }
+
+    private static int statIndex(String statName) {
+        for (int i = 0; i < Stats.STAT_NAMES.length; i++) {
+            if (Stats.STAT_NAMES[i].equals(statName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stat: " + statName);
+    }
+
     public boolean isFainted() {
-        return stats.getHp() <= 0;
+        return getStats().getHp() <= 0;
     }
 
     // cloning the pokemon so that they can be marked with the shiny attribute not changing the original data
+    // the species is shared, so this only copies the per-card state
     public Pokemon copy() {
-        ArrayList<String>copiedTypes = this.types != null ? new ArrayList<>(this.types) : new ArrayList<>();
-        ArrayList<String>copiedMoves = this.moves != null ? new ArrayList<>(this.moves) : new ArrayList<>();
-        Stats copiedStats = this.stats != null ? this.stats.copy() : null;
-        Pokemon clone = new Pokemon(
-                this.name,
-                this.id,
-                copiedTypes,
-                copiedStats,  // Copy stats so HP changes don't affect original
-                copiedMoves
-        );
+        final Pokemon clone = new Pokemon(
+                species.getTypes() != null ? species : species.withTypes(new ArrayList<>()));
+        clone.stats = this.stats != null ? this.stats.copy() : null;  // Copy stats so HP changes don't affect original
+        if (this.moves != null) {
+            clone.moves = new ArrayList<>(this.moves);
+        }
+        else if (species.getLearnset() == null) {
+            clone.moves = new ArrayList<>();
+        }
+        clone.statStages = this.statStages != null ? this.statStages.clone() : null;
         clone.setShiny(this.shiny);
         return clone;
     }
 
     @Override
     public String toString() {
-        return name + "(#" + id + ", " + String.join(", ", types) + ", " + stats.toString() + ")";
+        return getName() + "(#" + getId() + ", " + String.join(", ", getTypes()) + ", " + currentStats().toString() + ")";
+    }
+
+    // stats for display/serialisation, without materialising a copy on this Pokemon
+    private Stats currentStats() {
+        return stats != null ? stats : species.getBaseStats();
     }
 
     public String toJSONString() {
+        final List<String> types = getTypes();
         StringBuilder json = new StringBuilder();
         json.append("{");
-        json.append("\"name\":\"").append(name).append("\",");
-        json.append("\"id\":").append(id).append(",");
+        json.append("\"name\":\"").append(getName()).append("\",");
+        json.append("\"id\":").append(getId()).append(",");
         json.append("\"shiny\":").append(shiny).append(",");
         json.append("\"types\":[");
         for (int i = 0; i < types.size(); i++) {
@@ -135,8 +249,9 @@ public class Pokemon implements Serializable {
         }
         json.append("],");
 
-        json.append("\"stats\":").append(stats.toJSONString()).append(",");
+        json.append("\"stats\":").append(currentStats().toJSONString()).append(",");
 
+        final List<String> moves = getMoveNames();
         json.append("\"moves\":[");
         for (int i = 0; i < moves.size(); i++) {
             json.append("\"").append(moves.get(i)).append("\"");
@@ -151,11 +266,11 @@ public class Pokemon implements Serializable {
     private static final String ANIMATED_BACK_BASE_URL = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/versions/generation-v/black-white/animated/back/";
 
     public String getRegularSpriteURL() {
-        return SPRITE_BASE_URL + id + ".png";
+        return SPRITE_BASE_URL + getId() + ".png";
     }
 
     public String getShinySpriteURL() {
-        return SPRITE_BASE_URL + "shiny/" + id + ".png";
+        return SPRITE_BASE_URL + "shiny/" + getId() + ".png";
     }
 
     public String getSpriteUrl() {
@@ -163,11 +278,11 @@ public class Pokemon implements Serializable {
     }
 
     public String getRegularFrontGIF() {
-        return ANIMATED_FRONT_BASE_URL + id + ".gif";
+        return ANIMATED_FRONT_BASE_URL + getId() + ".gif";
     }
 
     public String getShinyFrontGIF() {
-        return ANIMATED_FRONT_BASE_URL + "shiny/" + id + ".gif";
+        return ANIMATED_FRONT_BASE_URL + "shiny/" + getId() + ".gif";
     }
 
     public String getFrontGIF() {
@@ -175,11 +290,11 @@ public class Pokemon implements Serializable {
     }
 
     public String getRegularBackGIF() {
-        return ANIMATED_BACK_BASE_URL + id + ".gif";
+        return ANIMATED_BACK_BASE_URL + getId() + ".gif";
     }
 
     public String getShinyBackGIF() {
-        return ANIMATED_BACK_BASE_URL + "shiny/" + id + ".gif";
+        return ANIMATED_BACK_BASE_URL + "shiny/" + getId() + ".gif";
     }
 
     public String getBackGIF() {
@@ -188,24 +303,24 @@ public class Pokemon implements Serializable {
 
     // Aliases for backward compatibility with existing battle views
     public String getAnimatedSpriteUrl() {
-        if (id <= 649) {
+        if (getId() <= 649) {
             return getFrontGIF();
         }
         return getSpriteUrl();
     }
 
     public String getAnimatedBackSpriteUrl() {
-        if (id <= 649) {
+        if (getId() <= 649) {
             return getBackGIF();
         }
-        return SPRITE_BASE_URL + "back/" + id + ".png";
+        return SPRITE_BASE_URL + "back/" + getId() + ".png";
     }
 
     public void setTypes(ArrayList<String> types) {
-        this.types = types;
+        this.species = species.withTypes(types);
     }
 
     public void setID(int id) {
-        this.id = id;
+        this.species = species.withId(id);
     }
 }
@@ -0,0 +1,92 @@
+package entities;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import entities.battle.Learnset;
+import entities.battle.PokemonType;
+import entities.battle.Stats;
+
+/**
+ * Immutable data shared by every Pokemon of the same kind: name, Pokedex id, types,
+ * base stats and learnset. Individual cards are {@link Pokemon} instances that point
+ * at a Species and only store what can differ between them.
+ */
+public final class Species implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final Species EMPTY = new Species(null, 0, null, null, null);
+
+    private final String name;
+    private final int id;
+    private final List<String> types;
+    // types resolved once so damage calculation can index the type chart directly
+    private final PokemonType[] typeIds;
+    // private copy, never handed out directly
+    private final Stats baseStats;
+    private final Learnset learnset;
+
+    public Species(String name, int id, List<String> types, Stats baseStats, Learnset learnset) {
+        this.name = name;
+        this.id = id;
+        this.types = types != null ? Collections.unmodifiableList(new ArrayList<>(types)) : null;
+        this.typeIds = PokemonType.fromNames(types);
+        this.baseStats = baseStats != null ? baseStats.copy() : null;
+        this.learnset = learnset;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * The species' type names, as an unmodifiable list.
+     */
+    public List<String> getTypes() {
+        return types;
+    }
+
+    /**
+     * The resolved types. The array is shared and must not be modified.
+     */
+    public PokemonType[] getTypeIds() {
+        return typeIds;
+    }
+
+    /**
+     * A fresh copy of the base stats, or null if the species has none.
+     */
+    public Stats getBaseStats() {
+        return baseStats != null ? baseStats.copy() : null;
+    }
+
+    public boolean hasBaseStats() {
+        return baseStats != null;
+    }
+
+    public Learnset getLearnset() {
+        return learnset;
+    }
+
+    public Species withName(String name) {
+        return new Species(name, id, types, baseStats, learnset);
+    }
+
+    public Species withId(int id) {
+        return new Species(name, id, types, baseStats, learnset);
+    }
+
+    public Species withTypes(List<String> types) {
+        return new Species(name, id, types, baseStats, learnset);
+    }
+
+    public Species withLearnset(Learnset learnset) {
+        return new Species(name, id, types, baseStats, learnset);
+    }
+}
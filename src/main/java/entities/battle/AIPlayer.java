@@ -6,7 +6,10 @@ import java.util.List;
 
 import ai.graph.BattleDecisionState;
 import ai.graph.Decision;
+import ai.config.DifficultyConfig;
 import ai.graph.DecisionGraph;
+import ai.graph.SpeculativeDecisions;
+import ai.prompts.ConversationSession;
 import entities.*;
 import entities.user.User;
 
@@ -22,6 +25,10 @@ public class AIPlayer implements Player, Serializable {
     private int losses;
     private List<Turn> battleHistory;
     private transient DecisionGraph decisionGraph;
+    // replies evaluated ahead of time, see speculate()
+    private transient SpeculativeDecisions speculations;
+    // this battle's LLM conversation
+    private transient ConversationSession conversation;
 
     public AIPlayer() {
         this("AI Player");
@@ -66,11 +73,16 @@ public class AIPlayer implements Player, Serializable {
 
         // Get opponent player
         final Player opponent = getOpponent(battle);
+        if (speculations != null) {
+            // the player did something that was not speculated on
+            speculations.cancelAll();
+        }
 
         // Create initial state
         final BattleDecisionState initialState = new BattleDecisionState(
             battle, this, opponent, battleHistory, difficulty
         );
+        initialState.addMetadata(ConversationSession.METADATA_KEY, conversation());
 
         try {
             // Execute decision graph using LangGraph4j
@@ -90,6 +102,122 @@ public class AIPlayer implements Player, Serializable {
         return new Move();
     }
 
+    /**
+     * Choose a reply to the player's move, using the speculative decision for that move
+     * if one was started and the battle turned out as predicted.
+     *
+     * @param playerMoveIndex index of the move the player just used
+     */
+    public Move chooseMove(Battle battle, int playerMoveIndex) {
+        if (speculations != null) {
+            final Decision decision = speculations.commit(playerMoveIndex, this, getOpponent(battle));
+            if (decision != null && decision.isMove() && decision.getSelectedMove() != null
+                    && activePokemon.getMoveNames() != null
+                    && activePokemon.getMoveNames().contains(decision.getSelectedMove().getName())) {
+                return decision.getSelectedMove();
+            }
+        }
+        return chooseMove(battle);
+    }
+
+    /**
+     * Start deciding replies to each of the player's possible moves while the player is
+     * still choosing. Each prediction applies the move's expected damage to a copy of this
+     * AI's team, including the automatic switch if the active Pokemon would faint.
+     * Only difficulties configured as speculative do this.
+     *
+     * @param playerMoves the moves of the player's active Pokemon, in move-index order
+     */
+    public void speculate(Battle battle, List<Move> playerMoves) {
+        if (!DifficultyConfig.forLevel(difficulty).isSpeculative() || activePokemon == null) {
+            return;
+        }
+        final Player opponent = getOpponent(battle);
+        if (opponent == null || opponent.getActivePokemon() == null) {
+            return;
+        }
+        if (decisionGraph == null) {
+            decisionGraph = DecisionGraph.buildGraph(difficulty);
+        }
+        if (speculations == null) {
+            speculations = new SpeculativeDecisions(decisionGraph);
+        }
+        speculations.cancelAll();
+
+        final Player opponentSnapshot = snapshotOpponent(battle);
+        for (int i = 0; i < playerMoves.size(); i++) {
+            final AIPlayer predicted = predictedCopy();
+            final Pokemon target = predicted.getActivePokemon();
+            final int damage = DamageCalculator.expectedDamage(
+                    opponentSnapshot.getActivePokemon(), target, playerMoves.get(i));
+            target.getStats().setHp(Math.max(0, target.getStats().getHp() - damage));
+            if (target.isFainted()) {
+                predicted.setActivePokemon(null);
+                for (Pokemon p : predicted.getTeam()) {
+                    if (!p.isFainted()) {
+                        predicted.setActivePokemon(p);
+                        break;
+                    }
+                }
+                if (predicted.getActivePokemon() == null) {
+                    // the battle would be over
+                    continue;
+                }
+            }
+            // no battle: speculative runs must not draw from the battle's random streams;
+            // the copied history, as recordTurn and clear mutate the live one meanwhile
+            final BattleDecisionState predictedState = new BattleDecisionState(
+                    null, predicted, opponentSnapshot, predicted.getBattleHistory(), difficulty);
+            // shares the conversation prefix, but only the decision actually used is committed
+            predictedState.addMetadata(ConversationSession.METADATA_KEY, conversation());
+            predictedState.addMetadata("speculative", true);
+            speculations.speculate(i, predictedState);
+        }
+    }
+
+    /**
+     * Drop any speculative decisions, e.g. when the battle ends.
+     */
+    public void cancelSpeculation() {
+        if (speculations != null) {
+            speculations.cancelAll();
+        }
+    }
+
+    private ConversationSession conversation() {
+        if (conversation == null) {
+            conversation = new ConversationSession(difficulty);
+        }
+        return conversation;
+    }
+
+    // a copy of this AI with its own team copies, for predicted states
+    private AIPlayer predictedCopy() {
+        final AIPlayer copy = new AIPlayer(name, deck, difficulty);
+        final List<Pokemon> teamCopy = new ArrayList<>();
+        for (Pokemon p : team) {
+            final Pokemon pokemonCopy = p.copy();
+            teamCopy.add(pokemonCopy);
+            if (p == activePokemon) {
+                copy.activePokemon = pokemonCopy;
+            }
+        }
+        copy.team = teamCopy;
+        copy.battleHistory = battleHistory != null ? new ArrayList<>(battleHistory) : new ArrayList<>();
+        return copy;
+    }
+
+    // the opponent with copied Pokemon, so speculative runs never read live battle state
+    private Player snapshotOpponent(Battle battle) {
+        final User live = battle.getPlayer2() != null && battle.getPlayer2().getName().equals(this.name)
+                ? battle.getPlayer1() : battle.getPlayer2();
+        final User snapshot = new User(live.getId(), live.getName(), live.getEmail(), live.getCurrency());
+        for (Pokemon p : live.getOwnedPokemon()) {
+            snapshot.addPokemon(p.copy());
+        }
+        return new HumanPlayerWrapper(snapshot);
+    }
+
     /**
      * Get the opponent player from the battle.
      * Since Battle stores Users (not Players), we create a temporary Player wrapper.
@@ -324,6 +452,7 @@ public class AIPlayer implements Player, Serializable {
 
         // Force switch decision type
         initialState.addMetadata("decisionType", "switch");
+        initialState.addMetadata(ConversationSession.METADATA_KEY, conversation());
 
         try {
             // Execute decision graph using LangGraph4j
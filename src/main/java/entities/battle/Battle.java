@@ -15,13 +15,36 @@ public class Battle implements Serializable {
     private User player2;
     private String status;
     private User winner;
+    // seed for this battle's random streams, kept so the battle can be replayed
+    private final long seed;
+    private transient RandomStreams randomStreams;
 
     public Battle(int id, User player1, User player2) {
+        this(id, player1, player2, RandomStreams.withRandomSeed());
+    }
+
+    public Battle(int id, User player1, User player2, RandomStreams randomStreams) {
         this.id = id;
         this.player1 = player1;
         this.player2 = player2;
         this.status = "PENDING";
         this.winner = null;
+        this.seed = randomStreams.getSeed();
+        this.randomStreams = randomStreams;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Random streams for this battle's damage rolls, AI tiebreaks and so on.
+     */
+    public RandomStreams getRandomStreams() {
+        if (randomStreams == null) {
+            randomStreams = new RandomStreams(seed);
+        }
+        return randomStreams;
     }
 
     public void startBattle() {
@@ -0,0 +1,55 @@
+package entities.battle;
+
+import java.util.SplittableRandom;
+
+/**
+ * Per-thread random generators for battle code.
+ * Each thread gets its own {@link SplittableRandom}, split from a shared root, so parallel
+ * simulations never contend on one generator. Re-seeding the root makes a single-threaded
+ * run reproducible.
+ */
+public final class BattleRandom {
+
+    private static final ThreadLocal<Holder> CURRENT = new ThreadLocal<>();
+
+    private static SplittableRandom root = new SplittableRandom();
+    // bumped on every reseed so threads drop generators split from the old root
+    private static volatile int generation;
+
+    private BattleRandom() {
+    }
+
+    /**
+     * The calling thread's generator. Not to be shared with other threads.
+     */
+    public static SplittableRandom current() {
+        Holder holder = CURRENT.get();
+        if (holder == null || holder.generation != generation) {
+            holder = split();
+            CURRENT.set(holder);
+        }
+        return holder.random;
+    }
+
+    /**
+     * Re-seed the root generator. Every thread switches to a fresh generator split from it.
+     */
+    public static synchronized void setSeed(long seed) {
+        root = new SplittableRandom(seed);
+        generation++;
+    }
+
+    private static synchronized Holder split() {
+        return new Holder(generation, root.split());
+    }
+
+    private static final class Holder {
+        private final int generation;
+        private final SplittableRandom random;
+
+        Holder(int generation, SplittableRandom random) {
+            this.generation = generation;
+            this.random = random;
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package entities.battle;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
 
 import entities.Pokemon;
 
@@ -13,10 +12,11 @@ import entities.Pokemon;
 public class DamageCalculator {
 
     private static final int DEFAULT_LEVEL = 50;
-    private static final Random random = new Random();
+    public static final double MIN_RANDOM_FACTOR = 0.85;
+    public static final double RANDOM_FACTOR_RANGE = 0.15;
 
-    // Type effectiveness chart: typeChart.get(attackType).get(defenderType) = multiplier
-    private static final Map<String, Map<String, Double>> TYPE_CHART = buildTypeChart();
+    // Type effectiveness chart: TYPE_CHART[attackType.ordinal()][defenderType.ordinal()] = multiplier
+    private static final double[][] TYPE_CHART = buildTypeChart();
 
     /**
      * Calculate damage for a move.
@@ -27,6 +27,43 @@ public class DamageCalculator {
      * @return The calculated damage (minimum 1 if move has power)
      */
     public static int calculateDamage(Pokemon attacker, Pokemon defender, Move move) {
+        return calculateDamage(attacker, defender, move, BattleRandom.current());
+    }
+
+    /**
+     * Calculate damage for a move, drawing the damage roll from the given generator.
+     *
+     * @param attacker The attacking Pokemon
+     * @param defender The defending Pokemon
+     * @param move The move being used
+     * @param random source of the damage roll, e.g. a battle's DAMAGE stream
+     * @return The calculated damage (minimum 1 if move has power)
+     */
+    public static int calculateDamage(Pokemon attacker, Pokemon defender, Move move, RandomGenerator random) {
+        if (move == null || move.getPower() == null || move.getPower() <= 0
+                || "status".equalsIgnoreCase(move.getDamageClass())) {
+            return 0;
+        }
+        // Apply random factor (0.85 to 1.0); only damaging moves draw a roll
+        return calculateDamage(attacker, defender, move, MIN_RANDOM_FACTOR + (random.nextDouble() * RANDOM_FACTOR_RANGE));
+    }
+
+    /**
+     * Damage of a move with the mean damage roll, e.g. to predict the next battle state.
+     *
+     * @return The expected damage (minimum 1 if move has power)
+     */
+    public static int expectedDamage(Pokemon attacker, Pokemon defender, Move move) {
+        return calculateDamage(attacker, defender, move, MIN_RANDOM_FACTOR + RANDOM_FACTOR_RANGE / 2.0);
+    }
+
+    /**
+     * Calculate damage for a move with a given damage roll.
+     *
+     * @param randomFactor roll in [0.85, 1.0]
+     * @return The calculated damage (minimum 1 if move has power)
+     */
+    public static int calculateDamage(Pokemon attacker, Pokemon defender, Move move, double randomFactor) {
         if (move == null || move.getPower() == null || move.getPower() <= 0) {
             return 0;
             // Status moves or null power deal no damage
@@ -38,9 +75,6 @@ public class DamageCalculator {
         }
 
         final int power = move.getPower();
-        final int level = DEFAULT_LEVEL;
-        final int critical = 1;
-        // No critical hits for simplicity
 
         // Get attack and defense stats based on damage class
         int attackStat;
@@ -56,11 +90,38 @@ public class DamageCalculator {
             defenseStat = defender.getStats().getDefense();
         }
 
+        // Apply STAB (Same Type Attack Bonus)
+        final double stab = calculateSTAB(attacker, move);
+
+        // Apply type effectiveness
+        final double typeEffectiveness = calculateTypeEffectiveness(move, defender);
+
+        return calculateDamage(power, attackStat, defenseStat, stab, typeEffectiveness, randomFactor);
+    }
+
+    /**
+     * Primitive form of the damage formula, for callers that already hold raw stats
+     * (e.g. the headless battle engine). Uses the same level and rounding as
+     * {@link #calculateDamage(Pokemon, Pokemon, Move)}.
+     *
+     * @param power move power (must be positive)
+     * @param attackStat attacker's Attack or Sp. Attack
+     * @param defenseStat defender's Defense or Sp. Defense
+     * @param stab 1.5 for a same-type move, else 1.0
+     * @param typeEffectiveness combined type multiplier
+     * @param randomFactor roll in [0.85, 1.0]
+     * @return the damage, at least 1
+     */
+    public static int calculateDamage(int power, int attackStat, int defenseStat,
+                                      double stab, double typeEffectiveness, double randomFactor) {
+        final int level = DEFAULT_LEVEL;
+        final int critical = 1;
+        // No critical hits for simplicity
+
         // Prevent division by zero
         if (defenseStat <= 0) {
             defenseStat = 1;
         }
-
         if (attackStat <= 0) {
             attackStat = 1;
         }
@@ -68,15 +129,6 @@ public class DamageCalculator {
         // Calculate base damage using Gen I formula
         final double baseDamage = (((2.0 * level * critical / 5.0) + 2.0) * power * attackStat / defenseStat) / 50.0 + 2.0;
 
-        // Apply STAB (Same Type Attack Bonus)
-        final double stab = calculateSTAB(attacker, move);
-
-        // Apply type effectiveness
-        final double typeEffectiveness = calculateTypeEffectiveness(move, defender);
-
-        // Apply random factor (0.85 to 1.0)
-        final double randomFactor = 0.85 + (random.nextDouble() * 0.15);
-
         // Calculate final damage
         final double finalDamage = baseDamage * stab * typeEffectiveness * randomFactor;
 
@@ -88,14 +140,14 @@ public class DamageCalculator {
      * Calculate STAB (Same Type Attack Bonus).
      * Returns 1.5 if move type matches one of attacker's types, 1.0 otherwise.
      */
-    private static double calculateSTAB(Pokemon attacker, Move move) {
-        if (move.getType() == null || attacker.getTypes() == null) {
+    public static double calculateSTAB(Pokemon attacker, Move move) {
+        final PokemonType moveType = move.getTypeId();
+        if (moveType == null || attacker.getTypes() == null) {
             return 1.0;
         }
 
-        final String moveType = move.getType().toLowerCase();
-        for (String pokemonType : attacker.getTypes()) {
-            if (pokemonType != null && pokemonType.toLowerCase().equals(moveType)) {
+        for (PokemonType pokemonType : attacker.getTypeIds()) {
+            if (pokemonType == moveType) {
                 return 1.5;
             }
         }
@@ -106,32 +158,37 @@ public class DamageCalculator {
      * Calculate type effectiveness multiplier.
      * Returns combined multiplier for defender's types.
      */
-    private static double calculateTypeEffectiveness(Move move, Pokemon defender) {
-        if (move.getType() == null || defender.getTypes() == null) {
+    public static double calculateTypeEffectiveness(Move move, Pokemon defender) {
+        if (move.getTypeId() == null || defender.getTypes() == null) {
             return 1.0;
         }
+        return getTypeEffectiveness(move.getTypeId(), defender.getTypeIds());
+    }
 
-        final String moveType = move.getType().toLowerCase();
-        double multiplier = 1.0;
-
-        for (String defenderType : defender.getTypes()) {
-            if (defenderType != null) {
-                multiplier *= getTypeMultiplier(moveType, defenderType.toLowerCase());
-            }
+    /**
+     * Get the combined effectiveness multiplier for an attack type against all of a defender's types.
+     */
+    public static double getTypeEffectiveness(PokemonType attackType, PokemonType[] defenderTypes) {
+        if (attackType == null) {
+            return 1.0;
         }
 
+        final double[] row = TYPE_CHART[attackType.ordinal()];
+        double multiplier = 1.0;
+        for (PokemonType defenderType : defenderTypes) {
+            multiplier *= row[defenderType.ordinal()];
+        }
         return multiplier;
     }
 
     /**
      * Get the effectiveness multiplier for an attack type vs a defender type.
      */
-    private static double getTypeMultiplier(String attackType, String defenderType) {
-        final Map<String, Double> attackEffectiveness = TYPE_CHART.get(attackType);
-        if (attackEffectiveness != null && attackEffectiveness.containsKey(defenderType)) {
-            return attackEffectiveness.get(defenderType);
+    public static double getTypeMultiplier(PokemonType attackType, PokemonType defenderType) {
+        if (attackType == null || defenderType == null) {
+            return 1.0; // Neutral by default
         }
-        return 1.0; // Neutral by default
+        return TYPE_CHART[attackType.ordinal()][defenderType.ordinal()];
     }
 
     /**
@@ -158,200 +215,167 @@ public class DamageCalculator {
      * Build the type effectiveness chart.
      * 2.0 = super effective, 0.5 = not very effective, 0 = no effect
      */
-    private static Map<String, Map<String, Double>> buildTypeChart() {
-        final Map<String, Map<String, Double>> chart = new HashMap<>();
+    private static double[][] buildTypeChart() {
+        final double[][] chart = new double[PokemonType.COUNT][PokemonType.COUNT];
+        for (double[] row : chart) {
+            Arrays.fill(row, 1.0);
+        }
 
         // Normal type
-        final Map<String, Double> normal = new HashMap<>();
-        normal.put("rock", 0.5);
-        normal.put("ghost", 0.0);
-        normal.put("steel", 0.5);
-        chart.put("normal", normal);
+        chart[PokemonType.NORMAL.ordinal()][PokemonType.ROCK.ordinal()] = 0.5;
+        chart[PokemonType.NORMAL.ordinal()][PokemonType.GHOST.ordinal()] = 0.0;
+        chart[PokemonType.NORMAL.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
 
         // Fire type
-        final Map<String, Double> fire = new HashMap<>();
-        fire.put("fire", 0.5);
-        fire.put("water", 0.5);
-        fire.put("grass", 2.0);
-        fire.put("ice", 2.0);
-        fire.put("bug", 2.0);
-        fire.put("rock", 0.5);
-        fire.put("dragon", 0.5);
-        fire.put("steel", 2.0);
-        chart.put("fire", fire);
+        chart[PokemonType.FIRE.ordinal()][PokemonType.FIRE.ordinal()] = 0.5;
+        chart[PokemonType.FIRE.ordinal()][PokemonType.WATER.ordinal()] = 0.5;
+        chart[PokemonType.FIRE.ordinal()][PokemonType.GRASS.ordinal()] = 2.0;
+        chart[PokemonType.FIRE.ordinal()][PokemonType.ICE.ordinal()] = 2.0;
+        chart[PokemonType.FIRE.ordinal()][PokemonType.BUG.ordinal()] = 2.0;
+        chart[PokemonType.FIRE.ordinal()][PokemonType.ROCK.ordinal()] = 0.5;
+        chart[PokemonType.FIRE.ordinal()][PokemonType.DRAGON.ordinal()] = 0.5;
+        chart[PokemonType.FIRE.ordinal()][PokemonType.STEEL.ordinal()] = 2.0;
 
         // Water type
-        final Map<String, Double> water = new HashMap<>();
-        water.put("fire", 2.0);
-        water.put("water", 0.5);
-        water.put("grass", 0.5);
-        water.put("ground", 2.0);
-        water.put("rock", 2.0);
-        water.put("dragon", 0.5);
-        chart.put("water", water);
+        chart[PokemonType.WATER.ordinal()][PokemonType.FIRE.ordinal()] = 2.0;
+        chart[PokemonType.WATER.ordinal()][PokemonType.WATER.ordinal()] = 0.5;
+        chart[PokemonType.WATER.ordinal()][PokemonType.GRASS.ordinal()] = 0.5;
+        chart[PokemonType.WATER.ordinal()][PokemonType.GROUND.ordinal()] = 2.0;
+        chart[PokemonType.WATER.ordinal()][PokemonType.ROCK.ordinal()] = 2.0;
+        chart[PokemonType.WATER.ordinal()][PokemonType.DRAGON.ordinal()] = 0.5;
 
         // Electric type
-        final Map<String, Double> electric = new HashMap<>();
-        electric.put("water", 2.0);
-        electric.put("electric", 0.5);
-        electric.put("grass", 0.5);
-        electric.put("ground", 0.0);
-        electric.put("flying", 2.0);
-        electric.put("dragon", 0.5);
-        chart.put("electric", electric);
+        chart[PokemonType.ELECTRIC.ordinal()][PokemonType.WATER.ordinal()] = 2.0;
+        chart[PokemonType.ELECTRIC.ordinal()][PokemonType.ELECTRIC.ordinal()] = 0.5;
+        chart[PokemonType.ELECTRIC.ordinal()][PokemonType.GRASS.ordinal()] = 0.5;
+        chart[PokemonType.ELECTRIC.ordinal()][PokemonType.GROUND.ordinal()] = 0.0;
+        chart[PokemonType.ELECTRIC.ordinal()][PokemonType.FLYING.ordinal()] = 2.0;
+        chart[PokemonType.ELECTRIC.ordinal()][PokemonType.DRAGON.ordinal()] = 0.5;
 
         // Grass type
-        final Map<String, Double> grass = new HashMap<>();
-        grass.put("fire", 0.5);
-        grass.put("water", 2.0);
-        grass.put("grass", 0.5);
-        grass.put("poison", 0.5);
-        grass.put("ground", 2.0);
-        grass.put("flying", 0.5);
-        grass.put("bug", 0.5);
-        grass.put("rock", 2.0);
-        grass.put("dragon", 0.5);
-        grass.put("steel", 0.5);
-        chart.put("grass", grass);
+        chart[PokemonType.GRASS.ordinal()][PokemonType.FIRE.ordinal()] = 0.5;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.WATER.ordinal()] = 2.0;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.GRASS.ordinal()] = 0.5;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.POISON.ordinal()] = 0.5;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.GROUND.ordinal()] = 2.0;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.FLYING.ordinal()] = 0.5;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.BUG.ordinal()] = 0.5;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.ROCK.ordinal()] = 2.0;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.DRAGON.ordinal()] = 0.5;
+        chart[PokemonType.GRASS.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
 
         // Ice type
-        final Map<String, Double> ice = new HashMap<>();
-        ice.put("fire", 0.5);
-        ice.put("water", 0.5);
-        ice.put("grass", 2.0);
-        ice.put("ice", 0.5);
-        ice.put("ground", 2.0);
-        ice.put("flying", 2.0);
-        ice.put("dragon", 2.0);
-        ice.put("steel", 0.5);
-        chart.put("ice", ice);
+        chart[PokemonType.ICE.ordinal()][PokemonType.FIRE.ordinal()] = 0.5;
+        chart[PokemonType.ICE.ordinal()][PokemonType.WATER.ordinal()] = 0.5;
+        chart[PokemonType.ICE.ordinal()][PokemonType.GRASS.ordinal()] = 2.0;
+        chart[PokemonType.ICE.ordinal()][PokemonType.ICE.ordinal()] = 0.5;
+        chart[PokemonType.ICE.ordinal()][PokemonType.GROUND.ordinal()] = 2.0;
+        chart[PokemonType.ICE.ordinal()][PokemonType.FLYING.ordinal()] = 2.0;
+        chart[PokemonType.ICE.ordinal()][PokemonType.DRAGON.ordinal()] = 2.0;
+        chart[PokemonType.ICE.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
 
         // Fighting type
-        final Map<String, Double> fighting = new HashMap<>();
-        fighting.put("normal", 2.0);
-        fighting.put("ice", 2.0);
-        fighting.put("poison", 0.5);
-        fighting.put("flying", 0.5);
-        fighting.put("psychic", 0.5);
-        fighting.put("bug", 0.5);
-        fighting.put("rock", 2.0);
-        fighting.put("ghost", 0.0);
-        fighting.put("dark", 2.0);
-        fighting.put("steel", 2.0);
-        fighting.put("fairy", 0.5);
-        chart.put("fighting", fighting);
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.NORMAL.ordinal()] = 2.0;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.ICE.ordinal()] = 2.0;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.POISON.ordinal()] = 0.5;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.FLYING.ordinal()] = 0.5;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.PSYCHIC.ordinal()] = 0.5;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.BUG.ordinal()] = 0.5;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.ROCK.ordinal()] = 2.0;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.GHOST.ordinal()] = 0.0;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.DARK.ordinal()] = 2.0;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.STEEL.ordinal()] = 2.0;
+        chart[PokemonType.FIGHTING.ordinal()][PokemonType.FAIRY.ordinal()] = 0.5;
 
         // Poison type
-        final Map<String, Double> poison = new HashMap<>();
-        poison.put("grass", 2.0);
-        poison.put("poison", 0.5);
-        poison.put("ground", 0.5);
-        poison.put("rock", 0.5);
-        poison.put("ghost", 0.5);
-        poison.put("steel", 0.0);
-        poison.put("fairy", 2.0);
-        chart.put("poison", poison);
+        chart[PokemonType.POISON.ordinal()][PokemonType.GRASS.ordinal()] = 2.0;
+        chart[PokemonType.POISON.ordinal()][PokemonType.POISON.ordinal()] = 0.5;
+        chart[PokemonType.POISON.ordinal()][PokemonType.GROUND.ordinal()] = 0.5;
+        chart[PokemonType.POISON.ordinal()][PokemonType.ROCK.ordinal()] = 0.5;
+        chart[PokemonType.POISON.ordinal()][PokemonType.GHOST.ordinal()] = 0.5;
+        chart[PokemonType.POISON.ordinal()][PokemonType.STEEL.ordinal()] = 0.0;
+        chart[PokemonType.POISON.ordinal()][PokemonType.FAIRY.ordinal()] = 2.0;
 
         // Ground type
-        final Map<String, Double> ground = new HashMap<>();
-        ground.put("fire", 2.0);
-        ground.put("electric", 2.0);
-        ground.put("grass", 0.5);
-        ground.put("poison", 2.0);
-        ground.put("flying", 0.0);
-        ground.put("bug", 0.5);
-        ground.put("rock", 2.0);
-        ground.put("steel", 2.0);
-        chart.put("ground", ground);
+        chart[PokemonType.GROUND.ordinal()][PokemonType.FIRE.ordinal()] = 2.0;
+        chart[PokemonType.GROUND.ordinal()][PokemonType.ELECTRIC.ordinal()] = 2.0;
+        chart[PokemonType.GROUND.ordinal()][PokemonType.GRASS.ordinal()] = 0.5;
+        chart[PokemonType.GROUND.ordinal()][PokemonType.POISON.ordinal()] = 2.0;
+        chart[PokemonType.GROUND.ordinal()][PokemonType.FLYING.ordinal()] = 0.0;
+        chart[PokemonType.GROUND.ordinal()][PokemonType.BUG.ordinal()] = 0.5;
+        chart[PokemonType.GROUND.ordinal()][PokemonType.ROCK.ordinal()] = 2.0;
+        chart[PokemonType.GROUND.ordinal()][PokemonType.STEEL.ordinal()] = 2.0;
 
         // Flying type
-        final Map<String, Double> flying = new HashMap<>();
-        flying.put("electric", 0.5);
-        flying.put("grass", 2.0);
-        flying.put("fighting", 2.0);
-        flying.put("bug", 2.0);
-        flying.put("rock", 0.5);
-        flying.put("steel", 0.5);
-        chart.put("flying", flying);
+        chart[PokemonType.FLYING.ordinal()][PokemonType.ELECTRIC.ordinal()] = 0.5;
+        chart[PokemonType.FLYING.ordinal()][PokemonType.GRASS.ordinal()] = 2.0;
+        chart[PokemonType.FLYING.ordinal()][PokemonType.FIGHTING.ordinal()] = 2.0;
+        chart[PokemonType.FLYING.ordinal()][PokemonType.BUG.ordinal()] = 2.0;
+        chart[PokemonType.FLYING.ordinal()][PokemonType.ROCK.ordinal()] = 0.5;
+        chart[PokemonType.FLYING.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
 
         // Psychic type
-        final Map<String, Double> psychic = new HashMap<>();
-        psychic.put("fighting", 2.0);
-        psychic.put("poison", 2.0);
-        psychic.put("psychic", 0.5);
-        psychic.put("dark", 0.0);
-        psychic.put("steel", 0.5);
-        chart.put("psychic", psychic);
+        chart[PokemonType.PSYCHIC.ordinal()][PokemonType.FIGHTING.ordinal()] = 2.0;
+        chart[PokemonType.PSYCHIC.ordinal()][PokemonType.POISON.ordinal()] = 2.0;
+        chart[PokemonType.PSYCHIC.ordinal()][PokemonType.PSYCHIC.ordinal()] = 0.5;
+        chart[PokemonType.PSYCHIC.ordinal()][PokemonType.DARK.ordinal()] = 0.0;
+        chart[PokemonType.PSYCHIC.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
 
         // Bug type
-        final Map<String, Double> bug = new HashMap<>();
-        bug.put("fire", 0.5);
-        bug.put("grass", 2.0);
-        bug.put("fighting", 0.5);
-        bug.put("poison", 0.5);
-        bug.put("flying", 0.5);
-        bug.put("psychic", 2.0);
-        bug.put("ghost", 0.5);
-        bug.put("dark", 2.0);
-        bug.put("steel", 0.5);
-        bug.put("fairy", 0.5);
-        chart.put("bug", bug);
+        chart[PokemonType.BUG.ordinal()][PokemonType.FIRE.ordinal()] = 0.5;
+        chart[PokemonType.BUG.ordinal()][PokemonType.GRASS.ordinal()] = 2.0;
+        chart[PokemonType.BUG.ordinal()][PokemonType.FIGHTING.ordinal()] = 0.5;
+        chart[PokemonType.BUG.ordinal()][PokemonType.POISON.ordinal()] = 0.5;
+        chart[PokemonType.BUG.ordinal()][PokemonType.FLYING.ordinal()] = 0.5;
+        chart[PokemonType.BUG.ordinal()][PokemonType.PSYCHIC.ordinal()] = 2.0;
+        chart[PokemonType.BUG.ordinal()][PokemonType.GHOST.ordinal()] = 0.5;
+        chart[PokemonType.BUG.ordinal()][PokemonType.DARK.ordinal()] = 2.0;
+        chart[PokemonType.BUG.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
+        chart[PokemonType.BUG.ordinal()][PokemonType.FAIRY.ordinal()] = 0.5;
 
         // Rock type
-        final Map<String, Double> rock = new HashMap<>();
-        rock.put("fire", 2.0);
-        rock.put("ice", 2.0);
-        rock.put("fighting", 0.5);
-        rock.put("ground", 0.5);
-        rock.put("flying", 2.0);
-        rock.put("bug", 2.0);
-        rock.put("steel", 0.5);
-        chart.put("rock", rock);
+        chart[PokemonType.ROCK.ordinal()][PokemonType.FIRE.ordinal()] = 2.0;
+        chart[PokemonType.ROCK.ordinal()][PokemonType.ICE.ordinal()] = 2.0;
+        chart[PokemonType.ROCK.ordinal()][PokemonType.FIGHTING.ordinal()] = 0.5;
+        chart[PokemonType.ROCK.ordinal()][PokemonType.GROUND.ordinal()] = 0.5;
+        chart[PokemonType.ROCK.ordinal()][PokemonType.FLYING.ordinal()] = 2.0;
+        chart[PokemonType.ROCK.ordinal()][PokemonType.BUG.ordinal()] = 2.0;
+        chart[PokemonType.ROCK.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
 
         // Ghost type
-        final Map<String, Double> ghost = new HashMap<>();
-        ghost.put("normal", 0.0);
-        ghost.put("psychic", 2.0);
-        ghost.put("ghost", 2.0);
-        ghost.put("dark", 0.5);
-        chart.put("ghost", ghost);
+        chart[PokemonType.GHOST.ordinal()][PokemonType.NORMAL.ordinal()] = 0.0;
+        chart[PokemonType.GHOST.ordinal()][PokemonType.PSYCHIC.ordinal()] = 2.0;
+        chart[PokemonType.GHOST.ordinal()][PokemonType.GHOST.ordinal()] = 2.0;
+        chart[PokemonType.GHOST.ordinal()][PokemonType.DARK.ordinal()] = 0.5;
 
         // Dragon type
-        final Map<String, Double> dragon = new HashMap<>();
-        dragon.put("dragon", 2.0);
-        dragon.put("steel", 0.5);
-        dragon.put("fairy", 0.0);
-        chart.put("dragon", dragon);
+        chart[PokemonType.DRAGON.ordinal()][PokemonType.DRAGON.ordinal()] = 2.0;
+        chart[PokemonType.DRAGON.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
+        chart[PokemonType.DRAGON.ordinal()][PokemonType.FAIRY.ordinal()] = 0.0;
 
         // Dark type
-        final Map<String, Double> dark = new HashMap<>();
-        dark.put("fighting", 0.5);
-        dark.put("psychic", 2.0);
-        dark.put("ghost", 2.0);
-        dark.put("dark", 0.5);
-        dark.put("fairy", 0.5);
-        chart.put("dark", dark);
+        chart[PokemonType.DARK.ordinal()][PokemonType.FIGHTING.ordinal()] = 0.5;
+        chart[PokemonType.DARK.ordinal()][PokemonType.PSYCHIC.ordinal()] = 2.0;
+        chart[PokemonType.DARK.ordinal()][PokemonType.GHOST.ordinal()] = 2.0;
+        chart[PokemonType.DARK.ordinal()][PokemonType.DARK.ordinal()] = 0.5;
+        chart[PokemonType.DARK.ordinal()][PokemonType.FAIRY.ordinal()] = 0.5;
 
         // Steel type
-        final Map<String, Double> steel = new HashMap<>();
-        steel.put("fire", 0.5);
-        steel.put("water", 0.5);
-        steel.put("electric", 0.5);
-        steel.put("ice", 2.0);
-        steel.put("rock", 2.0);
-        steel.put("steel", 0.5);
-        steel.put("fairy", 2.0);
-        chart.put("steel", steel);
+        chart[PokemonType.STEEL.ordinal()][PokemonType.FIRE.ordinal()] = 0.5;
+        chart[PokemonType.STEEL.ordinal()][PokemonType.WATER.ordinal()] = 0.5;
+        chart[PokemonType.STEEL.ordinal()][PokemonType.ELECTRIC.ordinal()] = 0.5;
+        chart[PokemonType.STEEL.ordinal()][PokemonType.ICE.ordinal()] = 2.0;
+        chart[PokemonType.STEEL.ordinal()][PokemonType.ROCK.ordinal()] = 2.0;
+        chart[PokemonType.STEEL.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
+        chart[PokemonType.STEEL.ordinal()][PokemonType.FAIRY.ordinal()] = 2.0;
 
         // Fairy type
-        final Map<String, Double> fairy = new HashMap<>();
-        fairy.put("fire", 0.5);
-        fairy.put("fighting", 2.0);
-        fairy.put("poison", 0.5);
-        fairy.put("dragon", 2.0);
-        fairy.put("dark", 2.0);
-        fairy.put("steel", 0.5);
-        chart.put("fairy", fairy);
+        chart[PokemonType.FAIRY.ordinal()][PokemonType.FIRE.ordinal()] = 0.5;
+        chart[PokemonType.FAIRY.ordinal()][PokemonType.FIGHTING.ordinal()] = 2.0;
+        chart[PokemonType.FAIRY.ordinal()][PokemonType.POISON.ordinal()] = 0.5;
+        chart[PokemonType.FAIRY.ordinal()][PokemonType.DRAGON.ordinal()] = 2.0;
+        chart[PokemonType.FAIRY.ordinal()][PokemonType.DARK.ordinal()] = 2.0;
+        chart[PokemonType.FAIRY.ordinal()][PokemonType.STEEL.ordinal()] = 0.5;
 
         return chart;
     }
@@ -0,0 +1,44 @@
+package entities.battle;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of the moves a species can learn, stored as move IDs.
+ * Every learnset loaded from the same data shares one move-name table, so a
+ * learnset costs two bytes per move and copying a Pokemon never copies it.
+ */
+public final class Learnset extends AbstractList<String> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // move ID -> move name, shared by all learnsets built from the same move list
+    private final String[] moveNames;
+    private final short[] moveIds;
+
+    /**
+     * @param moveNames shared move-name table indexed by move ID; must not be modified afterwards
+     * @param moveIds the IDs of the moves in this learnset
+     */
+    public Learnset(String[] moveNames, short[] moveIds) {
+        this.moveNames = moveNames;
+        this.moveIds = moveIds;
+    }
+
+    @Override
+    public String get(int index) {
+        return moveNames[moveIds[index]];
+    }
+
+    @Override
+    public int size() {
+        return moveIds.length;
+    }
+
+    /**
+     * The move ID at the given position.
+     */
+    public int getMoveId(int index) {
+        return moveIds[index];
+    }
+}
@@ -11,6 +11,8 @@ public class Move implements Serializable {
     private static final long serialVersionUID = 1L;
     private String name;
     private String type;
+    private PokemonType typeId;
+    // resolved from type once so damage calculation doesn't compare strings
     private String damageClass;
     // physical, special, or status
     private Integer power;
@@ -66,9 +68,17 @@ public class Move implements Serializable {
 
     public Move setType(String type) {
         this.type = type;
+        this.typeId = PokemonType.fromName(type);
         return this;
     }
 
+    /**
+     * The move's type as an enum value, or null if the type is unknown (e.g. "shadow").
+     */
+    public PokemonType getTypeId() {
+        return typeId;
+    }
+
     public String getDamageClass() {
         return damageClass;
     }
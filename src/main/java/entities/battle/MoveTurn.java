@@ -3,12 +3,16 @@ package entities.battle;
 import entities.Player;
 import entities.Pokemon;
 
+import java.util.random.RandomGenerator;
+
 public class MoveTurn extends Turn {
     private Move move;
     private int damage;
     private String effectiveness;
     private String statusEffect;
     private Player targetPlayer;
+    // source of the damage roll; null uses the thread's generator
+    private RandomGenerator damageRandom;
 
     public MoveTurn() {
         super();
@@ -23,6 +27,12 @@ public class MoveTurn extends Turn {
         this.statusEffect = "";
     }
 
+    public MoveTurn(int id, Player player, int turnNumber, Move move, Player targetPlayer,
+                    RandomGenerator damageRandom) {
+        this(id, player, turnNumber, move, targetPlayer);
+        this.damageRandom = damageRandom;
+    }
+
     // Calculate damage using Gen I formula and apply to target
     @Override
     public void executeTurn() {
@@ -40,7 +50,9 @@ public class MoveTurn extends Turn {
         }
 
         // Calculate damage using the Gen I formula
-        final int calculatedDamage = DamageCalculator.calculateDamage(attackerPokemon, targetPokemon, move);
+        final int calculatedDamage = damageRandom != null
+                ? DamageCalculator.calculateDamage(attackerPokemon, targetPokemon, move, damageRandom)
+                : DamageCalculator.calculateDamage(attackerPokemon, targetPokemon, move);
 
         final Stats targetStats = targetPokemon.getStats();
         final int startingHp = targetStats.getHp();
@@ -0,0 +1,100 @@
+package entities.battle;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The 18 elemental types a Pokemon or Move can have.
+ * Types are resolved from their JSON names once at load time so battle code can
+ * index the type chart by ordinal instead of hashing strings on every attack.
+ */
+public enum PokemonType {
+    NORMAL("normal"),
+    FIRE("fire"),
+    WATER("water"),
+    ELECTRIC("electric"),
+    GRASS("grass"),
+    ICE("ice"),
+    FIGHTING("fighting"),
+    POISON("poison"),
+    GROUND("ground"),
+    FLYING("flying"),
+    PSYCHIC("psychic"),
+    BUG("bug"),
+    ROCK("rock"),
+    GHOST("ghost"),
+    DRAGON("dragon"),
+    DARK("dark"),
+    STEEL("steel"),
+    FAIRY("fairy");
+
+    public static final int COUNT = values().length;
+
+    private static final PokemonType[] VALUES = values();
+    private static final Map<String, PokemonType> BY_NAME = new HashMap<>();
+
+    static {
+        for (PokemonType type : VALUES) {
+            BY_NAME.put(type.typeName, type);
+        }
+    }
+
+    private final String typeName;
+
+    PokemonType(String typeName) {
+        this.typeName = typeName;
+    }
+
+    /**
+     * Name of the type as it appears in the PokeAPI data (lowercase).
+     */
+    public String getName() {
+        return typeName;
+    }
+
+    /**
+     * Resolve a type from its name, ignoring case.
+     *
+     * @param name the type name, e.g. "fire" or "Fire"
+     * @return the matching type, or null if the name is null or not one of the 18 types
+     */
+    public static PokemonType fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        final PokemonType type = BY_NAME.get(name);
+        if (type != null) {
+            return type;
+        }
+        return BY_NAME.get(name.toLowerCase());
+    }
+
+    /**
+     * Resolve a type from its ordinal.
+     */
+    public static PokemonType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Resolve a list of type names, skipping any that are not recognised.
+     */
+    public static PokemonType[] fromNames(Iterable<String> names) {
+        if (names == null) {
+            return new PokemonType[0];
+        }
+        PokemonType[] resolved = new PokemonType[2];
+        int count = 0;
+        for (String name : names) {
+            final PokemonType type = fromName(name);
+            if (type != null) {
+                if (count == resolved.length) {
+                    resolved = Arrays.copyOf(resolved, count * 2);
+                }
+                resolved[count++] = type;
+            }
+        }
+        return count == resolved.length ? resolved : Arrays.copyOf(resolved, count);
+    }
+}
@@ -0,0 +1,90 @@
+package entities.battle;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Independent random streams derived from one seed, one per subsystem.
+ * Damage rolls never shift AI tiebreaks (and so on), so a battle replays exactly from
+ * its seed. Each stream is a {@link SplittableRandom} split from a root seeded with the
+ * seed, in {@link Stream} order, and belongs to one thread at a time.
+ */
+public final class RandomStreams {
+
+    /**
+     * The subsystems that draw random numbers.
+     */
+    public enum Stream {
+        // new streams go last, so existing seeds keep replaying the same way
+        DAMAGE,
+        // reserved: moves always hit for now
+        ACCURACY,
+        AI_TIEBREAK,
+        PACK,
+        TEAM_SELECTION
+    }
+
+    private final long seed;
+    private final SplittableRandom[] streams = new SplittableRandom[Stream.values().length];
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+        // split children are statistically independent; offsetting the seed only shifts one sequence
+        final SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < streams.length; i++) {
+            streams[i] = root.split();
+        }
+    }
+
+    /**
+     * Streams for a fresh, unpredictable seed. Use {@link #getSeed()} to replay them.
+     */
+    public static RandomStreams withRandomSeed() {
+        return new RandomStreams(newSeed());
+    }
+
+    public static long newSeed() {
+        return BattleRandom.current().nextLong();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The generator for a subsystem. Repeated calls return the same generator.
+     */
+    public RandomGenerator get(Stream stream) {
+        return streams[stream.ordinal()];
+    }
+
+    /**
+     * Seed of the index-th of many runs derived from one seed, e.g. the battles of a
+     * tournament. Nearby seeds and indexes give unrelated results.
+     */
+    public static long deriveSeed(long seed, long index) {
+        return mix64(mix64(seed) + index);
+    }
+
+    /**
+     * Scramble a 64-bit value so every input bit affects every output bit; the finalizer
+     * of SplittableRandom's mix64. Also used to hash battle positions and cache keys.
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Fisher-Yates shuffle driven by the given generator
+     * (Collections.shuffle only accepts java.util.Random on this JDK).
+     */
+    public static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+}
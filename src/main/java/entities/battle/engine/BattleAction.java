@@ -0,0 +1,38 @@
+package entities.battle.engine;
+
+/**
+ * Encodes a policy's choice as an int so the engine never allocates per turn.
+ * Values 0..3 use that move of the active Pokemon; {@link #switchTo(int)} values
+ * switch to a team slot; {@link #PASS} does nothing.
+ */
+public final class BattleAction {
+    public static final int PASS = -1;
+    private static final int SWITCH_OFFSET = 16;
+
+    private BattleAction() {
+    }
+
+    public static int move(int moveIndex) {
+        return moveIndex;
+    }
+
+    public static int switchTo(int slot) {
+        return SWITCH_OFFSET + slot;
+    }
+
+    public static boolean isMove(int action) {
+        return action >= 0 && action < SWITCH_OFFSET;
+    }
+
+    public static boolean isSwitch(int action) {
+        return action >= SWITCH_OFFSET;
+    }
+
+    public static int moveIndex(int action) {
+        return action;
+    }
+
+    public static int switchSlot(int action) {
+        return action - SWITCH_OFFSET;
+    }
+}
@@ -0,0 +1,20 @@
+package entities.battle.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses an action for one side of a simulated battle.
+ * Implementations used by a tournament may be shared across threads, so they should
+ * keep no per-battle state and draw randomness only from the generator passed in.
+ */
+@FunctionalInterface
+public interface BattlePolicy {
+
+    /**
+     * @param state the current battle, read-only
+     * @param side the side to act for (0 or 1)
+     * @param random the battle's random generator
+     * @return an action encoded with {@link BattleAction}
+     */
+    int chooseAction(SimState state, int side, RandomGenerator random);
+}
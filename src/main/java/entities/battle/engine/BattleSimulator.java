@@ -0,0 +1,164 @@
+package entities.battle.engine;
+
+import java.util.random.RandomGenerator;
+
+import entities.battle.DamageCalculator;
+import entities.battle.RandomStreams;
+
+/**
+ * Plays complete battles between two compiled teams with no presenter, no entity
+ * objects and no output, so balance runs can simulate battles in bulk.
+ *
+ * <p>The rules mirror the interactive battle: side 0 acts first each turn, then side 1;
+ * moves always hit; damage uses {@link DamageCalculator}; a fainted Pokemon is replaced
+ * by the first standing member of its team; the battle ends when one side has no
+ * Pokemon left, or as a draw after {@link #getMaxTurns()} turns.
+ *
+ * <p>A simulator reuses its state between battles and is not thread-safe. Use one per thread.
+ */
+public final class BattleSimulator {
+    public static final int DEFAULT_MAX_TURNS = 500;
+
+    // seeds battles run without an explicit seed
+    private final RandomGenerator defaultRandom;
+    private final int maxTurns;
+    // streams of the battle in progress: damage rolls and policy choices never share draws
+    private RandomGenerator damageRandom;
+    private RandomGenerator tiebreakRandom;
+    private long seed;
+    private final SimState state = new SimState();
+    private final BattlePolicy[] policies = new BattlePolicy[SimState.SIDES];
+
+    public BattleSimulator(RandomGenerator random) {
+        this(random, DEFAULT_MAX_TURNS);
+    }
+
+    public BattleSimulator(RandomGenerator random, int maxTurns) {
+        this.defaultRandom = random;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Play one battle to completion.
+     *
+     * @param first team for side 0, which acts first each turn
+     * @param second team for side 1
+     * @param firstPolicy chooses side 0's actions
+     * @param secondPolicy chooses side 1's actions
+     * @return the outcome
+     */
+    public SimResult run(SimTeam first, SimTeam second, BattlePolicy firstPolicy, BattlePolicy secondPolicy) {
+        return run(first, second, firstPolicy, secondPolicy, defaultRandom.nextLong());
+    }
+
+    /**
+     * Play one battle from a seed, e.g. one seeded per match so that results do not depend
+     * on which thread or in which order battles run. The seed is kept in the result for replay.
+     */
+    public SimResult run(SimTeam first, SimTeam second, BattlePolicy firstPolicy, BattlePolicy secondPolicy,
+                         long battleSeed) {
+        return run(first, second, firstPolicy, secondPolicy, new RandomStreams(battleSeed));
+    }
+
+    /**
+     * Play one battle with the given streams: damage rolls come from the DAMAGE stream
+     * and policies draw from the AI_TIEBREAK stream.
+     */
+    public SimResult run(SimTeam first, SimTeam second, BattlePolicy firstPolicy, BattlePolicy secondPolicy,
+                         RandomStreams streams) {
+        this.seed = streams.getSeed();
+        this.damageRandom = streams.get(RandomStreams.Stream.DAMAGE);
+        this.tiebreakRandom = streams.get(RandomStreams.Stream.AI_TIEBREAK);
+        state.reset(first, second);
+        policies[0] = firstPolicy;
+        policies[1] = secondPolicy;
+
+        if (state.getAliveCount(0) == 0 || state.getAliveCount(1) == 0) {
+            return new SimResult(winnerIfOver(), state, seed);
+        }
+
+        while (state.getTurn() < maxTurns) {
+            state.nextTurn();
+            for (int side = 0; side < SimState.SIDES; side++) {
+                act(side);
+                if (state.getAliveCount(SimState.opponent(side)) == 0) {
+                    return new SimResult(side, state, seed);
+                }
+            }
+        }
+        return new SimResult(SimResult.DRAW, state, seed);
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    /**
+     * Expected damage of a move against a defender, using the mean damage roll.
+     * Useful for greedy and search policies.
+     */
+    public static double expectedDamage(SimPokemon attacker, int moveIndex, SimPokemon defender) {
+        final SimMove move = attacker.getMove(moveIndex);
+        if (!move.isDamaging()) {
+            return 0.0;
+        }
+        return damage(attacker, moveIndex, defender,
+                DamageCalculator.MIN_RANDOM_FACTOR + DamageCalculator.RANDOM_FACTOR_RANGE / 2.0);
+    }
+
+    /**
+     * Type multiplier of a move against a defender.
+     */
+    public static double effectiveness(SimPokemon attacker, int moveIndex, SimPokemon defender) {
+        return DamageCalculator.getTypeEffectiveness(attacker.getMove(moveIndex).getType(), defender.getTypes());
+    }
+
+    /**
+     * Damage of a damaging move for a given roll in [0.85, 1.0].
+     */
+    public static int damage(SimPokemon attacker, int moveIndex, SimPokemon defender, double randomFactor) {
+        final SimMove move = attacker.getMove(moveIndex);
+        final int attackStat = move.isSpecial() ? attacker.getSpAttack() : attacker.getAttack();
+        final int defenseStat = move.isSpecial() ? defender.getSpDefense() : defender.getDefense();
+        return DamageCalculator.calculateDamage(move.getPower(), attackStat, defenseStat,
+                attacker.getStab(moveIndex), effectiveness(attacker, moveIndex, defender), randomFactor);
+    }
+
+    private void act(int side) {
+        final int action = policies[side].chooseAction(state, side, tiebreakRandom);
+        if (BattleAction.isSwitch(action)) {
+            final int slot = BattleAction.switchSlot(action);
+            if (slot < state.getTeam(side).size() && !state.isFainted(side, slot)) {
+                state.setActive(side, slot);
+            }
+            return;
+        }
+        if (!BattleAction.isMove(action)) {
+            return;
+        }
+
+        final SimPokemon attacker = state.getActivePokemon(side);
+        final int moveIndex = BattleAction.moveIndex(action);
+        if (attacker == null || moveIndex >= attacker.getMoveCount() || !attacker.getMove(moveIndex).isDamaging()) {
+            return;
+        }
+
+        final int target = SimState.opponent(side);
+        final double roll = DamageCalculator.MIN_RANDOM_FACTOR
+                + damageRandom.nextDouble() * DamageCalculator.RANDOM_FACTOR_RANGE;
+        state.damageActive(target, damage(attacker, moveIndex, state.getActivePokemon(target), roll));
+        if (state.getActiveHp(target) == 0) {
+            state.setActive(target, state.firstAlive(target));
+        }
+    }
+
+    private int winnerIfOver() {
+        if (state.getAliveCount(1) == 0 && state.getAliveCount(0) > 0) {
+            return 0;
+        }
+        if (state.getAliveCount(0) == 0 && state.getAliveCount(1) > 0) {
+            return 1;
+        }
+        return SimResult.DRAW;
+    }
+}
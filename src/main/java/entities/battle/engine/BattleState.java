@@ -0,0 +1,346 @@
+package entities.battle.engine;
+
+import java.util.Arrays;
+
+import entities.Pokemon;
+import entities.battle.DamageCalculator;
+import entities.battle.Stats;
+
+/**
+ * Immutable position of a battle: both teams' HP, active slots, stat stages and the side
+ * to act, held in primitive arrays. {@link #apply(int)} returns the position after one
+ * action and shares every array the action leaves untouched with its parent, so a move
+ * copies one side's HP and a switch copies nothing. Positions can be branched, kept and
+ * returned to freely, and are safe to share between threads. Each position carries its
+ * {@link Zobrist} key, updated with the transition rather than recomputed.
+ *
+ * <p>The rules are the {@link BattleSimulator}'s: the sides alternate, moves always hit,
+ * and a fainted Pokemon is replaced by the first standing member of its team. Attack and
+ * defense stages scale damage by {@link Stats#STAT_LEVEL}.
+ */
+public final class BattleState {
+
+    private static final int ATTACK = indexOf("Attack");
+    private static final int SP_ATTACK = indexOf("Sp. Attack");
+    private static final int DEFENSE = indexOf("Defense");
+    private static final int SP_DEFENSE = indexOf("Sp. Defense");
+    private static final int STAGES_PER_SLOT = Stats.STAT_NAMES.length;
+    private static final double MEAN_ROLL = DamageCalculator.MIN_RANDOM_FACTOR
+            + DamageCalculator.RANDOM_FACTOR_RANGE / 2.0;
+    // multipliers for stages -6..+6
+    private static final double[] STAGE_MULTIPLIER = new double[13];
+
+    static {
+        for (int stage = -6; stage <= 6; stage++) {
+            STAGE_MULTIPLIER[stage + 6] = Stats.STAT_LEVEL.get(stage);
+        }
+    }
+
+    // shared by every position of the battle
+    private final SimTeam[] teams;
+    // per side, by slot; never written once the position is built
+    private final int[][] hp;
+    // per side, STAGES_PER_SLOT entries per slot indexed like Stats.STAT_NAMES
+    private final byte[][] stages;
+    private final int[] active;
+    private final int[] alive;
+    private final int sideToMove;
+    private final int turn;
+    private final long key;
+
+    private BattleState(SimTeam[] teams, int[][] hp, byte[][] stages, int[] active, int[] alive,
+                        int sideToMove, int turn, long key) {
+        this.teams = teams;
+        this.hp = hp;
+        this.stages = stages;
+        this.active = active;
+        this.alive = alive;
+        this.sideToMove = sideToMove;
+        this.turn = turn;
+        this.key = key;
+    }
+
+    /**
+     * The start of a battle: full HP, no stages, each side led by its first standing member
+     * and side 0 to act.
+     */
+    public static BattleState initial(SimTeam first, SimTeam second) {
+        final SimTeam[] teams = {first, second};
+        final int[][] hp = new int[SimState.SIDES][];
+        for (int side = 0; side < SimState.SIDES; side++) {
+            hp[side] = new int[teams[side].size()];
+            for (int slot = 0; slot < hp[side].length; slot++) {
+                hp[side][slot] = teams[side].get(slot).getMaxHp();
+            }
+        }
+        return build(teams, hp, noStages(teams), new int[]{0, 0}, 0, 0);
+    }
+
+    /**
+     * A battle in progress.
+     *
+     * @param hp current HP of each side's team, by slot; copied
+     * @param active each side's active slot, or -1 if it has none left
+     * @param stages each side's stat stages, {@link Stats#STAT_NAMES} entries per slot,
+     *               or null for none; copied
+     * @param sideToMove the side whose action comes next
+     */
+    public static BattleState of(SimTeam first, SimTeam second, int[][] hp, int[] active, byte[][] stages,
+                                 int sideToMove) {
+        final SimTeam[] teams = {first, second};
+        final int[][] hpCopy = new int[SimState.SIDES][];
+        final byte[][] stageCopy = stages == null ? noStages(teams) : new byte[SimState.SIDES][];
+        for (int side = 0; side < SimState.SIDES; side++) {
+            hpCopy[side] = new int[teams[side].size()];
+            for (int slot = 0; slot < hpCopy[side].length; slot++) {
+                hpCopy[side][slot] = Math.max(0, hp[side][slot]);
+            }
+            if (stages != null) {
+                stageCopy[side] = Arrays.copyOf(stages[side], teams[side].size() * STAGES_PER_SLOT);
+                for (int i = 0; i < stageCopy[side].length; i++) {
+                    stageCopy[side][i] = (byte) Math.max(Pokemon.MIN_STAT_STAGE,
+                            Math.min(Pokemon.MAX_STAT_STAGE, stageCopy[side][i]));
+                }
+            }
+        }
+        return build(teams, hpCopy, stageCopy, active.clone(), sideToMove, 0);
+    }
+
+    /**
+     * The position a simulator or search holds, with no stages.
+     */
+    public static BattleState of(SimState state, int sideToMove) {
+        final int[][] hp = new int[SimState.SIDES][];
+        final int[] active = new int[SimState.SIDES];
+        for (int side = 0; side < SimState.SIDES; side++) {
+            hp[side] = new int[state.getTeam(side).size()];
+            for (int slot = 0; slot < hp[side].length; slot++) {
+                hp[side][slot] = state.getHp(side, slot);
+            }
+            active[side] = state.getActiveSlot(side);
+        }
+        return of(state.getTeam(0), state.getTeam(1), hp, active, null, sideToMove);
+    }
+
+    // takes ownership of the arrays; fixes up active slots and counts the standing
+    private static BattleState build(SimTeam[] teams, int[][] hp, byte[][] stages, int[] active,
+                                     int sideToMove, int turn) {
+        final int[] alive = new int[SimState.SIDES];
+        for (int side = 0; side < SimState.SIDES; side++) {
+            for (int slotHp : hp[side]) {
+                if (slotHp > 0) {
+                    alive[side]++;
+                }
+            }
+            if (active[side] < 0 || active[side] >= hp[side].length || hp[side][active[side]] <= 0) {
+                active[side] = firstAlive(hp[side]);
+            }
+        }
+        final BattleState state = new BattleState(teams, hp, stages, active, alive, sideToMove, turn, 0L);
+        return new BattleState(teams, hp, stages, active, alive, sideToMove, turn, Zobrist.hash(state));
+    }
+
+    private static byte[][] noStages(SimTeam[] teams) {
+        return new byte[][]{
+                new byte[teams[0].size() * STAGES_PER_SLOT],
+                new byte[teams[1].size() * STAGES_PER_SLOT],
+        };
+    }
+
+    /**
+     * The position after the side to move takes the action, with the mean damage roll.
+     */
+    public BattleState apply(int action) {
+        return apply(action, MEAN_ROLL);
+    }
+
+    /**
+     * The position after the side to move takes the action. Moves the Pokemon cannot use,
+     * switches to fainted or missing slots and {@link BattleAction#PASS} only pass the turn.
+     *
+     * @param randomFactor damage roll in [0.85, 1.0]
+     */
+    public BattleState apply(int action, double randomFactor) {
+        if (isOver()) {
+            return this;
+        }
+        final int mover = sideToMove;
+        final int next = SimState.opponent(mover);
+        final int nextTurn = mover == SimState.SIDES - 1 ? turn + 1 : turn;
+        final long passed = key ^ Zobrist.sideToMove(1);
+
+        if (BattleAction.isSwitch(action)) {
+            final int slot = BattleAction.switchSlot(action);
+            if (slot >= hp[mover].length || hp[mover][slot] <= 0 || slot == active[mover]) {
+                return pass(next, nextTurn);
+            }
+            final int[] newActive = active.clone();
+            newActive[mover] = slot;
+            return new BattleState(teams, hp, stages, newActive, alive, next, nextTurn,
+                    passed ^ Zobrist.active(mover, active[mover]) ^ Zobrist.active(mover, slot));
+        }
+
+        final int dealt = BattleAction.isMove(action) ? damage(mover, BattleAction.moveIndex(action), randomFactor) : 0;
+        if (dealt <= 0) {
+            return pass(next, nextTurn);
+        }
+        final int defender = next;
+        final int slot = active[defender];
+        final int[] defenderHp = hp[defender].clone();
+        defenderHp[slot] = Math.max(0, defenderHp[slot] - dealt);
+        final int[][] newHp = mover == 0 ? new int[][]{hp[0], defenderHp} : new int[][]{defenderHp, hp[1]};
+        final long struck = passed ^ Zobrist.hp(defender, slot, hp[defender][slot])
+                ^ Zobrist.hp(defender, slot, defenderHp[slot]);
+        if (defenderHp[slot] > 0) {
+            return new BattleState(teams, newHp, stages, active, alive, next, nextTurn, struck);
+        }
+        final int[] newActive = active.clone();
+        newActive[defender] = firstAlive(defenderHp);
+        final int[] newAlive = alive.clone();
+        newAlive[defender]--;
+        return new BattleState(teams, newHp, stages, newActive, newAlive, next, nextTurn,
+                struck ^ Zobrist.active(defender, slot) ^ Zobrist.active(defender, newActive[defender]));
+    }
+
+    private BattleState pass(int next, int nextTurn) {
+        return new BattleState(teams, hp, stages, active, alive, next, nextTurn, key ^ Zobrist.sideToMove(1));
+    }
+
+    // damage of the mover's move against the other side's active Pokemon, or 0 if it has none
+    private int damage(int mover, int moveIndex, double randomFactor) {
+        final SimPokemon attacker = getActivePokemon(mover);
+        final int defenderSide = SimState.opponent(mover);
+        final SimPokemon defender = getActivePokemon(defenderSide);
+        if (attacker == null || defender == null || moveIndex >= attacker.getMoveCount()) {
+            return 0;
+        }
+        final SimMove move = attacker.getMove(moveIndex);
+        if (!move.isDamaging()) {
+            return 0;
+        }
+        final boolean special = move.isSpecial();
+        final double attackStat = (special ? attacker.getSpAttack() : attacker.getAttack())
+                * stageMultiplier(mover, active[mover], special ? SP_ATTACK : ATTACK);
+        final double defenseStat = (special ? defender.getSpDefense() : defender.getDefense())
+                * stageMultiplier(defenderSide, active[defenderSide], special ? SP_DEFENSE : DEFENSE);
+        return DamageCalculator.calculateDamage(move.getPower(), (int) attackStat, (int) defenseStat,
+                attacker.getStab(moveIndex), BattleSimulator.effectiveness(attacker, moveIndex, defender),
+                randomFactor);
+    }
+
+    private double stageMultiplier(int side, int slot, int stat) {
+        return STAGE_MULTIPLIER[stages[side][slot * STAGES_PER_SLOT + stat] + 6];
+    }
+
+    /**
+     * A mutable copy for the simulator's and searches' in-place play.
+     */
+    public SimState toSimState() {
+        return SimState.of(teams[0], teams[1], hp, active);
+    }
+
+    public SimTeam getTeam(int side) {
+        return teams[side];
+    }
+
+    /**
+     * The position's {@link Zobrist} key.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Turns completed so far; a turn is one action by each side.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Team slot of the side's active Pokemon, or -1 if the side has none left.
+     */
+    public int getActiveSlot(int side) {
+        return active[side];
+    }
+
+    public SimPokemon getActivePokemon(int side) {
+        return active[side] < 0 ? null : teams[side].get(active[side]);
+    }
+
+    public int getHp(int side, int slot) {
+        return hp[side][slot];
+    }
+
+    public int getAliveCount(int side) {
+        return alive[side];
+    }
+
+    /**
+     * The stage (-6 to +6) of a stat of a team member, the stat indexed like {@link Stats#STAT_NAMES}.
+     */
+    public int getStatStage(int side, int slot, int stat) {
+        return stages[side][slot * STAGES_PER_SLOT + stat];
+    }
+
+    public boolean isOver() {
+        return alive[0] == 0 || alive[1] == 0;
+    }
+
+    /**
+     * The side that won, or {@link SimResult#DRAW} while both sides stand or if neither does.
+     */
+    public int getWinner() {
+        if (alive[1] == 0 && alive[0] > 0) {
+            return 0;
+        }
+        if (alive[0] == 0 && alive[1] > 0) {
+            return 1;
+        }
+        return SimResult.DRAW;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BattleState)) {
+            return false;
+        }
+        final BattleState that = (BattleState) other;
+        return key == that.key
+                && sideToMove == that.sideToMove
+                && teams[0] == that.teams[0] && teams[1] == that.teams[1]
+                && Arrays.equals(active, that.active)
+                && Arrays.deepEquals(hp, that.hp)
+                && Arrays.deepEquals(stages, that.stages);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    private static int firstAlive(int[] teamHp) {
+        for (int slot = 0; slot < teamHp.length; slot++) {
+            if (teamHp[slot] > 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(String statName) {
+        for (int i = 0; i < Stats.STAT_NAMES.length; i++) {
+            if (Stats.STAT_NAMES[i].equals(statName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stat: " + statName);
+    }
+}
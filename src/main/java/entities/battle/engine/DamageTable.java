@@ -0,0 +1,82 @@
+package entities.battle.engine;
+
+import entities.battle.DamageCalculator;
+
+/**
+ * Every damage number a search can need, computed once per search: for each side, attacker,
+ * move and defender, the damage at each of {@link #ROLLS}, plus the attacker's strongest move
+ * against each defender. Read-only once loaded, so search threads may share one.
+ */
+final class DamageTable {
+
+    // midpoints of three equal slices of the damage roll range
+    static final double[] ROLLS = {
+            DamageCalculator.MIN_RANDOM_FACTOR + DamageCalculator.RANDOM_FACTOR_RANGE / 6.0,
+            DamageCalculator.MIN_RANDOM_FACTOR + DamageCalculator.RANDOM_FACTOR_RANGE / 2.0,
+            DamageCalculator.MIN_RANDOM_FACTOR + DamageCalculator.RANDOM_FACTOR_RANGE * 5.0 / 6.0,
+    };
+    static final int R = ROLLS.length;
+    static final int MEAN_ROLL = R / 2;
+    private static final int M = SimPokemon.MAX_MOVES;
+
+    // [side][attacker slot][move][defender slot][roll]
+    private int[] damage = new int[0];
+    // [side][attacker slot][defender slot]: highest-damage move at the mean roll, or -1
+    private int[] strongest = new int[0];
+    private int slots;
+
+    void load(SimTeam first, SimTeam second) {
+        slots = Math.max(first.size(), second.size());
+        final int entries = SimState.SIDES * slots * M * slots * R;
+        if (damage.length < entries) {
+            damage = new int[entries];
+            strongest = new int[SimState.SIDES * slots * slots];
+        }
+        for (int side = 0; side < SimState.SIDES; side++) {
+            final SimTeam attackers = side == 0 ? first : second;
+            final SimTeam defenders = side == 0 ? second : first;
+            for (int a = 0; a < attackers.size(); a++) {
+                final SimPokemon attacker = attackers.get(a);
+                for (int m = 0; m < attacker.getMoveCount(); m++) {
+                    final boolean damaging = attacker.getMove(m).isDamaging();
+                    for (int d = 0; d < defenders.size(); d++) {
+                        final int base = index(side, a, m, d);
+                        for (int r = 0; r < R; r++) {
+                            damage[base + r] = damaging
+                                    ? BattleSimulator.damage(attacker, m, defenders.get(d), ROLLS[r]) : 0;
+                        }
+                    }
+                }
+                for (int d = 0; d < defenders.size(); d++) {
+                    int best = -1;
+                    for (int m = 0; m < attacker.getMoveCount(); m++) {
+                        final int mean = damage[index(side, a, m, d) + MEAN_ROLL];
+                        if (mean > 0 && (best < 0 || mean > damage[index(side, a, best, d) + MEAN_ROLL])) {
+                            best = m;
+                        }
+                    }
+                    strongest[(side * slots + a) * slots + d] = best;
+                }
+            }
+        }
+    }
+
+    /**
+     * Damage of the attacker's move against the defender at one of {@link #ROLLS}.
+     */
+    int damage(int side, int attacker, int move, int defender, int roll) {
+        return damage[index(side, attacker, move, defender) + roll];
+    }
+
+    /**
+     * The attacker's highest-damage move against the defender at the mean roll, or -1 if
+     * none of its moves deal damage.
+     */
+    int strongest(int side, int attacker, int defender) {
+        return strongest[(side * slots + attacker) * slots + defender];
+    }
+
+    private int index(int side, int attacker, int move, int defender) {
+        return (((side * slots + attacker) * M + move) * slots + defender) * R;
+    }
+}
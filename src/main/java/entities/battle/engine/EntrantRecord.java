@@ -0,0 +1,116 @@
+package entities.battle.engine;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated results for one tournament entrant.
+ * Filled in by worker threads on private copies that are then merged, so no locking is needed.
+ */
+public final class EntrantRecord {
+    // damage dealt per battle is bucketed in steps of this many HP
+    public static final int DAMAGE_BUCKET_SIZE = 25;
+    public static final int DAMAGE_BUCKETS = 64;
+
+    private final String name;
+    private int wins;
+    private int losses;
+    private int draws;
+    private long totalTurns;
+    private long totalDamage;
+    // the last bucket also holds everything above its lower bound
+    private final long[] damageHistogram = new long[DAMAGE_BUCKETS];
+
+    EntrantRecord(String name) {
+        this.name = name;
+    }
+
+    void record(int outcome, int turns, long damageDealt) {
+        if (outcome > 0) {
+            wins++;
+        }
+        else if (outcome < 0) {
+            losses++;
+        }
+        else {
+            draws++;
+        }
+        totalTurns += turns;
+        totalDamage += damageDealt;
+        damageHistogram[(int) Math.min(DAMAGE_BUCKETS - 1, damageDealt / DAMAGE_BUCKET_SIZE)]++;
+    }
+
+    void merge(EntrantRecord other) {
+        wins += other.wins;
+        losses += other.losses;
+        draws += other.draws;
+        totalTurns += other.totalTurns;
+        totalDamage += other.totalDamage;
+        for (int i = 0; i < DAMAGE_BUCKETS; i++) {
+            damageHistogram[i] += other.damageHistogram[i];
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getGames() {
+        return wins + losses + draws;
+    }
+
+    /**
+     * Wins plus half of draws, the score used for Swiss pairings.
+     */
+    public double getScore() {
+        return wins + draws / 2.0;
+    }
+
+    public double getWinRate() {
+        return getGames() == 0 ? 0.0 : (double) wins / getGames();
+    }
+
+    public double getAverageTurns() {
+        return getGames() == 0 ? 0.0 : (double) totalTurns / getGames();
+    }
+
+    public double getAverageDamage() {
+        return getGames() == 0 ? 0.0 : (double) totalDamage / getGames();
+    }
+
+    /**
+     * Battles per damage bucket: index i counts battles where this entrant dealt
+     * between i * {@link #DAMAGE_BUCKET_SIZE} and (i + 1) * {@link #DAMAGE_BUCKET_SIZE} - 1 damage.
+     */
+    public long[] getDamageHistogram() {
+        return Arrays.copyOf(damageHistogram, DAMAGE_BUCKETS);
+    }
+
+    /**
+     * Approximate damage percentile (lower bound of the bucket containing it).
+     *
+     * @param percentile between 0 and 100
+     */
+    public int getDamagePercentile(double percentile) {
+        final long target = (long) Math.ceil(getGames() * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < DAMAGE_BUCKETS; i++) {
+            seen += damageHistogram[i];
+            if (seen >= target && seen > 0) {
+                return i * DAMAGE_BUCKET_SIZE;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,35 @@
+package entities.battle.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks moves with an {@link ExpectimaxSearch} under a per-turn time budget, and never
+ * switches. Safe to share across tournament threads: each thread searches with its own
+ * instance. For reproducible tournaments give it a depth limit small enough to finish
+ * within the budget, so results do not depend on machine speed.
+ */
+public final class ExpectimaxPolicy implements BattlePolicy {
+
+    private static final ThreadLocal<ExpectimaxSearch> SEARCHES = ThreadLocal.withInitial(ExpectimaxSearch::new);
+
+    private final long budgetNanos;
+    private final int maxDepth;
+
+    public ExpectimaxPolicy(long budgetMillis) {
+        this(budgetMillis, ExpectimaxSearch.MAX_DEPTH);
+    }
+
+    public ExpectimaxPolicy(long budgetMillis, int maxDepth) {
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public int chooseAction(SimState state, int side, RandomGenerator random) {
+        if (state.getActivePokemon(side) == null || state.getActivePokemon(SimState.opponent(side)) == null) {
+            return BattleAction.PASS;
+        }
+        return SEARCHES.get().searchMove(state, side, budgetNanos, maxDepth);
+    }
+}
@@ -0,0 +1,345 @@
+package entities.battle.engine;
+
+/**
+ * Expectimax search over a battle in progress. The two sides alternate actions, as they do
+ * in the engine and in the app; each attack is a chance node over three damage rolls, and fainted Pokemon are replaced by the first standing member of their team.
+ * The opponent is assumed to mostly pick its best reply, blended with its average reply so
+ * the search does not play as if every mistake will be punished. Leaves are scored by playing
+ * the battle out with both sides using their strongest move at the mean roll, which keeps the
+ * search from stalling to put off a knockout it cannot avoid.
+ *
+ * <p>Searches deepen one ply at a time until the time budget or depth limit is reached and
+ * answer with the best action of the deepest completed iteration. Damage is precomputed
+ * per search, and the search works in place on its own arrays, so it does not allocate
+ * once warmed up. An instance is not thread-safe; use one per thread.
+ *
+ * <p>Positions reached again through a different order of moves and rolls are looked up
+ * in a {@link TranspositionTable} by their {@link Zobrist} key, which the search keeps up
+ * to date as it makes and unmakes moves. Searches on several threads may share one table.
+ */
+public final class ExpectimaxSearch {
+    public static final int MAX_DEPTH = 16;
+
+    private static final int R = DamageTable.R;
+
+    // a line must beat the current best by this much, so ties and rounding keep the strongest move
+    private static final double MIN_IMPROVEMENT = 1e-3;
+    // weight of the opponent's average reply against its best reply
+    private static final double OPPONENT_MEAN_WEIGHT = 0.25;
+    // nodes between clock reads
+    private static final int CLOCK_MASK = 255;
+    // longest playout used to evaluate a leaf
+    private static final int PLAYOUT_PLIES = 200;
+    private static final int DEFAULT_TABLE_ENTRIES = 1 << 16;
+    // values are for the root side, so the same position searched for the other side is another entry
+    private static final long ROOT_SIDE_1 = 0x2545F4914F6CDD1DL;
+
+    private final SimTeam[] teams = new SimTeam[SimState.SIDES];
+    private final int[][] hp = new int[SimState.SIDES][];
+    private final double[][] hpWeight = new double[SimState.SIDES][];
+    private final int[] active = new int[SimState.SIDES];
+    private final int[] alive = new int[SimState.SIDES];
+    private final DamageTable damage = new DamageTable();
+    private final int[][] playoutHp = new int[SimState.SIDES][];
+    private final int[] playoutActive = new int[SimState.SIDES];
+    private final int[] playoutAlive = new int[SimState.SIDES];
+    private final TranspositionTable table;
+
+    private int root;
+    // Zobrist key of the current position with side 0 to move
+    private long key;
+    private long started;
+    private long budget;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private long tableHits;
+
+    private double value;
+    private int depth;
+
+    public ExpectimaxSearch() {
+        this(new TranspositionTable(DEFAULT_TABLE_ENTRIES));
+    }
+
+    /**
+     * @param table remembers searched positions; may be shared with searches on other threads
+     */
+    public ExpectimaxSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Best move for the side's active Pokemon.
+     *
+     * @param budgetNanos time allowed; the first iteration always completes
+     * @param maxDepth deepest search in plies, counting the root action
+     * @return a {@link BattleAction} move, or {@link BattleAction#PASS} if it has none
+     */
+    public int searchMove(SimState state, int side, long budgetNanos, int maxDepth) {
+        load(state, side, budgetNanos);
+        final int slot = active[side];
+        if (slot < 0 || teams[side].get(slot).getMoveCount() == 0) {
+            return BattleAction.PASS;
+        }
+        final int count = teams[side].get(slot).getMoveCount();
+        // start from the highest-damage move, so equal lines resolve to it
+        int best = Math.max(0, damage.strongest(side, slot, active[SimState.opponent(side)]));
+        for (int d = 1; d <= maxDepth; d++) {
+            int iterationBest = best;
+            double iterationValue = outcome(side, best, d);
+            for (int move = 0; move < count && !aborted; move++) {
+                if (move == best) {
+                    continue;
+                }
+                final double v = outcome(side, move, d);
+                if (v > iterationValue + MIN_IMPROVEMENT) {
+                    iterationValue = v;
+                    iterationBest = move;
+                }
+            }
+            if (aborted) {
+                break;
+            }
+            best = iterationBest;
+            record(iterationValue, d);
+        }
+        return BattleAction.move(best);
+    }
+
+    /**
+     * Best Pokemon to have in battle for the side, which then acts first. Every standing
+     * Pokemon is a candidate, the active one included.
+     *
+     * @return a {@link BattleAction} switch, or {@link BattleAction#PASS} if no Pokemon can battle
+     */
+    public int searchSwitch(SimState state, int side, long budgetNanos, int maxDepth) {
+        load(state, side, budgetNanos);
+        final int current = active[side];
+        int best = -1;
+        for (int d = 1; d <= maxDepth; d++) {
+            int iterationBest = -1;
+            double iterationValue = Double.NEGATIVE_INFINITY;
+            for (int i = -1; i < hp[side].length && !aborted; i++) {
+                // the previous iteration's best first, then the rest in team order
+                final int slot = i < 0 ? best : i;
+                if (slot < 0 || (i >= 0 && slot == best) || hp[side][slot] == 0) {
+                    continue;
+                }
+                key ^= Zobrist.active(side, current) ^ Zobrist.active(side, slot);
+                active[side] = slot;
+                final double v = value(side, d - 1);
+                active[side] = current;
+                key ^= Zobrist.active(side, current) ^ Zobrist.active(side, slot);
+                if (v > iterationValue) {
+                    iterationValue = v;
+                    iterationBest = slot;
+                }
+            }
+            if (aborted || iterationBest < 0) {
+                break;
+            }
+            best = iterationBest;
+            record(iterationValue, d);
+        }
+        return best < 0 ? BattleAction.PASS : BattleAction.switchTo(best);
+    }
+
+    /**
+     * Value of the last search's answer for the searching side: the expected difference in
+     * the two teams' remaining HP share once the battle is played out, in [-1, 1].
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Depth in plies of the last search's deepest completed iteration.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Nodes visited by the last search.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Positions the last search found in the transposition table instead of searching them.
+     */
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    private void load(SimState state, int side, long budgetNanos) {
+        root = side;
+        nodes = 0;
+        tableHits = 0;
+        aborted = false;
+        value = 0.0;
+        depth = 0;
+        started = System.nanoTime();
+        budget = budgetNanos;
+        // the first iteration is cheap and always finishes, so there is an answer
+        deadline = Long.MAX_VALUE;
+
+        for (int s = 0; s < SimState.SIDES; s++) {
+            teams[s] = state.getTeam(s);
+            final int size = teams[s].size();
+            if (hp[s] == null || hp[s].length != size) {
+                hp[s] = new int[size];
+                hpWeight[s] = new double[size];
+                playoutHp[s] = new int[size];
+            }
+            alive[s] = 0;
+            for (int slot = 0; slot < size; slot++) {
+                hp[s][slot] = state.getHp(s, slot);
+                if (hp[s][slot] > 0) {
+                    alive[s]++;
+                }
+                hpWeight[s][slot] = 1.0 / (Math.max(1, teams[s].get(slot).getMaxHp()) * (double) size);
+            }
+            active[s] = state.getActiveSlot(s);
+        }
+        damage.load(teams[0], teams[1]);
+        key = Zobrist.hash(state, 0) ^ (side == 1 ? ROOT_SIDE_1 : 0L);
+    }
+
+    private void record(double iterationValue, int iterationDepth) {
+        value = iterationValue;
+        depth = iterationDepth;
+        deadline = started + budget;
+    }
+
+    // value for the root side with the mover to act and the given plies left
+    private double value(int mover, int plies) {
+        final int other = SimState.opponent(mover);
+        if (alive[0] == 0 || alive[1] == 0) {
+            return evaluate(mover);
+        }
+        if ((++nodes & CLOCK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0.0;
+        }
+        final long nodeKey = key ^ Zobrist.sideToMove(mover);
+        final double known = table.probe(nodeKey, plies);
+        if (!Double.isNaN(known)) {
+            tableHits++;
+            return known;
+        }
+        final double v = plies == 0 ? evaluate(mover) : search(mover, other, plies);
+        if (!aborted) {
+            table.store(nodeKey, plies, v);
+        }
+        return v;
+    }
+
+    private double search(int mover, int other, int plies) {
+        final int count = teams[mover].get(active[mover]).getMoveCount();
+        if (count == 0) {
+            return value(other, plies - 1);
+        }
+        final boolean maximizing = mover == root;
+        double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double sum = 0.0;
+        for (int move = 0; move < count; move++) {
+            final double v = outcome(mover, move, plies);
+            best = maximizing ? Math.max(best, v) : Math.min(best, v);
+            sum += v;
+        }
+        return maximizing ? best : (1.0 - OPPONENT_MEAN_WEIGHT) * best + OPPONENT_MEAN_WEIGHT * sum / count;
+    }
+
+    // chance node: the mover uses a move, averaged over the damage rolls
+    private double outcome(int mover, int move, int plies) {
+        final int defender = SimState.opponent(mover);
+        final int slot = active[defender];
+        final int attacker = active[mover];
+        final int low = damage.damage(mover, attacker, move, slot, 0);
+        final int high = damage.damage(mover, attacker, move, slot, R - 1);
+        // rolls that cannot change the result are searched once
+        if (low == high || low >= hp[defender][slot]) {
+            return strike(defender, slot, low, plies);
+        }
+        double total = 0.0;
+        for (int r = 0; r < R; r++) {
+            total += strike(defender, slot, damage.damage(mover, attacker, move, slot, r), plies);
+        }
+        return total / R;
+    }
+
+    private double strike(int defender, int slot, int amount, int plies) {
+        if (amount <= 0) {
+            return value(defender, plies - 1);
+        }
+        final int before = hp[defender][slot];
+        final int after = Math.max(0, before - amount);
+        final long keyBefore = key;
+        hp[defender][slot] = after;
+        key ^= Zobrist.hp(defender, slot, before) ^ Zobrist.hp(defender, slot, after);
+        if (after == 0) {
+            alive[defender]--;
+            active[defender] = firstAlive(hp[defender]);
+            key ^= Zobrist.active(defender, slot) ^ Zobrist.active(defender, active[defender]);
+        }
+        final double v = value(defender, plies - 1);
+        if (after == 0) {
+            alive[defender]++;
+            active[defender] = slot;
+        }
+        hp[defender][slot] = before;
+        key = keyBefore;
+        return v;
+    }
+
+    private static int firstAlive(int[] teamHp) {
+        for (int slot = 0; slot < teamHp.length; slot++) {
+            if (teamHp[slot] > 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // plays the battle out with both sides using their highest-damage move at the mean roll
+    private double evaluate(int mover) {
+        for (int s = 0; s < SimState.SIDES; s++) {
+            System.arraycopy(hp[s], 0, playoutHp[s], 0, hp[s].length);
+        }
+        for (int s = 0; s < SimState.SIDES; s++) {
+            playoutActive[s] = active[s];
+            playoutAlive[s] = alive[s];
+        }
+        int side = mover;
+        for (int ply = 0; ply < PLAYOUT_PLIES && playoutAlive[0] > 0 && playoutAlive[1] > 0; ply++) {
+            final int defender = SimState.opponent(side);
+            final int attackerSlot = playoutActive[side];
+            final int defenderSlot = playoutActive[defender];
+            final int move = damage.strongest(side, attackerSlot, defenderSlot);
+            if (move >= 0) {
+                final int[] defenderHp = playoutHp[defender];
+                defenderHp[defenderSlot] = Math.max(0, defenderHp[defenderSlot]
+                        - damage.damage(side, attackerSlot, move, defenderSlot, DamageTable.MEAN_ROLL));
+                if (defenderHp[defenderSlot] == 0) {
+                    playoutAlive[defender]--;
+                    playoutActive[defender] = firstAlive(defenderHp);
+                }
+            }
+            side = defender;
+        }
+        return share(root) - share(SimState.opponent(root));
+    }
+
+    private double share(int side) {
+        double total = 0.0;
+        for (int slot = 0; slot < playoutHp[side].length; slot++) {
+            total += playoutHp[side][slot] * hpWeight[side][slot];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,29 @@
+package entities.battle.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Uses the move with the highest expected damage against the opposing active Pokemon,
+ * like the rule-based AI fallback, and never switches.
+ */
+public final class GreedyPolicy implements BattlePolicy {
+
+    @Override
+    public int chooseAction(SimState state, int side, RandomGenerator random) {
+        final SimPokemon active = state.getActivePokemon(side);
+        final SimPokemon target = state.getActivePokemon(SimState.opponent(side));
+        if (active == null || target == null || active.getMoveCount() == 0) {
+            return BattleAction.PASS;
+        }
+        int best = 0;
+        double bestDamage = -1.0;
+        for (int i = 0; i < active.getMoveCount(); i++) {
+            final double damage = BattleSimulator.expectedDamage(active, i, target);
+            if (damage > bestDamage) {
+                bestDamage = damage;
+                best = i;
+            }
+        }
+        return BattleAction.move(best);
+    }
+}
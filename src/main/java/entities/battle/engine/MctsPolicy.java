@@ -0,0 +1,40 @@
+package entities.battle.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks moves with a fixed number of Monte Carlo iterations on the calling thread, drawing
+ * from the battle's own random stream, so tournament results are reproducible. Never
+ * switches. Safe to share across tournament threads; for one search spread over every
+ * core use {@link MctsSearch}.
+ */
+public final class MctsPolicy implements BattlePolicy {
+
+    private static final ThreadLocal<MctsTree> TREES = ThreadLocal.withInitial(MctsTree::new);
+    private static final ThreadLocal<DamageTable> TABLES = ThreadLocal.withInitial(DamageTable::new);
+
+    private final int iterations;
+
+    public MctsPolicy(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("MCTS needs at least one iteration");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public int chooseAction(SimState state, int side, RandomGenerator random) {
+        final SimPokemon active = state.getActivePokemon(side);
+        if (active == null || active.getMoveCount() == 0 || state.getActivePokemon(SimState.opponent(side)) == null) {
+            return BattleAction.PASS;
+        }
+        final DamageTable table = TABLES.get();
+        table.load(state.getTeam(0), state.getTeam(1));
+        final MctsTree tree = TREES.get();
+        tree.reset(state, side, table);
+        for (int i = 0; i < iterations; i++) {
+            tree.iterate(random);
+        }
+        return BattleAction.move(Math.max(0, tree.mostVisitedMove()));
+    }
+}
@@ -0,0 +1,193 @@
+package entities.battle.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monte Carlo tree search over a battle in progress, spread over several threads by root
+ * parallelism: each worker grows its own tree from the same position with its own random
+ * stream, split in worker order from one generator seeded per search, and the workers'
+ * root statistics are summed to choose the most-visited move. The trees share nothing but
+ * the read-only damage table, so no locks are taken and no virtual loss is needed to keep
+ * threads apart. Strength scales with the time or iteration budget and with the number of
+ * workers.
+ *
+ * <p>Safe to use from several threads; each search builds its own damage table and the
+ * workers reuse one tree per pool thread.
+ */
+public final class MctsSearch {
+
+    // iterations between clock reads
+    private static final int CLOCK_INTERVAL = 16;
+
+    private static final ThreadLocal<MctsTree> TREES = ThreadLocal.withInitial(MctsTree::new);
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final long budgetNanos;
+    private final int iterations;
+
+    /**
+     * @param pool runs the workers
+     * @param parallelism number of trees grown at once; 1 searches on the calling thread
+     * @param budgetMillis time allowed per search, or 0 for no time limit
+     * @param iterations iterations per search over all workers, or 0 for no limit
+     */
+    public MctsSearch(ForkJoinPool pool, int parallelism, long budgetMillis, int iterations) {
+        if (budgetMillis <= 0 && iterations <= 0) {
+            throw new IllegalArgumentException("MCTS needs a time or iteration budget");
+        }
+        this.pool = pool;
+        this.parallelism = Math.max(1, parallelism);
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.iterations = iterations;
+    }
+
+    /**
+     * A time-limited search on every core of the common pool.
+     */
+    public static MctsSearch timed(long budgetMillis) {
+        return new MctsSearch(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), budgetMillis, 0);
+    }
+
+    /**
+     * Outcome of one search.
+     */
+    public static final class Result {
+        private final int action;
+        private final long playouts;
+        private final long elapsedNanos;
+        private final double winRate;
+
+        Result(int action, long playouts, long elapsedNanos, double winRate) {
+            this.action = action;
+            this.playouts = playouts;
+            this.elapsedNanos = elapsedNanos;
+            this.winRate = winRate;
+        }
+
+        /**
+         * The chosen {@link BattleAction}, or {@link BattleAction#PASS} if there was no move.
+         */
+        public int getAction() {
+            return action;
+        }
+
+        public long getPlayouts() {
+            return playouts;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getPlayoutsPerSecond() {
+            return elapsedNanos > 0 ? playouts * 1e9 / elapsedNanos : 0.0;
+        }
+
+        /**
+         * Average playout reward of the chosen move for the searching side, in [0, 1].
+         */
+        public double getWinRate() {
+            return winRate;
+        }
+    }
+
+    /**
+     * Best move for the side's active Pokemon.
+     *
+     * @param seed seeds the workers' random streams
+     */
+    public Result searchMove(SimState state, int side, long seed) {
+        final long started = System.nanoTime();
+        final SimPokemon active = state.getActivePokemon(side);
+        if (active == null || active.getMoveCount() == 0 || state.getActivePokemon(SimState.opponent(side)) == null) {
+            return new Result(BattleAction.PASS, 0, 0, 0.5);
+        }
+        final DamageTable table = new DamageTable();
+        table.load(state.getTeam(0), state.getTeam(1));
+        final long deadline = budgetNanos > 0 ? started + budgetNanos : Long.MAX_VALUE;
+
+        // a share of 0 means no limit, so never start more workers than there are iterations
+        final int count = iterations > 0 ? Math.min(parallelism, iterations) : parallelism;
+        final SplittableRandom root = new SplittableRandom(seed);
+        final List<Callable<Worker>> workers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int share = iterations > 0 ? iterations / count + (i < iterations % count ? 1 : 0) : 0;
+            final SplittableRandom random = root.split();
+            workers.add(() -> new Worker().run(state, side, table, share, deadline, random));
+        }
+
+        final int[] visits = new int[SimPokemon.MAX_MOVES];
+        final double[] rewards = new double[SimPokemon.MAX_MOVES];
+        long playouts = 0;
+        for (Worker worker : count == 1 ? List.of(call(workers.get(0))) : invokeAll(workers)) {
+            for (int move = 0; move < worker.moves; move++) {
+                visits[move] += worker.visits[move];
+                rewards[move] += worker.rewards[move];
+            }
+            playouts += worker.playouts;
+        }
+
+        int best = 0;
+        for (int move = 1; move < active.getMoveCount(); move++) {
+            if (visits[move] > visits[best]) {
+                best = move;
+            }
+        }
+        final double winRate = visits[best] > 0 ? rewards[best] / visits[best] : 0.5;
+        return new Result(BattleAction.move(best), playouts, System.nanoTime() - started, winRate);
+    }
+
+    private List<Worker> invokeAll(List<Callable<Worker>> workers) {
+        final List<Worker> results = new ArrayList<>(workers.size());
+        for (Future<Worker> future : pool.invokeAll(workers)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("MCTS interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("MCTS worker failed", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static Worker call(Callable<Worker> worker) {
+        try {
+            return worker.call();
+        } catch (Exception e) {
+            throw new IllegalStateException("MCTS worker failed", e);
+        }
+    }
+
+    // one tree's share of the search, run on a pool thread
+    private static final class Worker {
+        final int[] visits = new int[SimPokemon.MAX_MOVES];
+        final double[] rewards = new double[SimPokemon.MAX_MOVES];
+        int moves;
+        long playouts;
+
+        Worker run(SimState state, int side, DamageTable table, int iterations, long deadline,
+                   SplittableRandom random) {
+            final MctsTree tree = TREES.get();
+            tree.reset(state, side, table);
+            while (iterations <= 0 || playouts < iterations) {
+                tree.iterate(random);
+                playouts++;
+                if (playouts % CLOCK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+            moves = tree.rootMoves(visits, rewards);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package entities.battle.engine;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * One Monte Carlo search tree, grown by a single thread. The tree is open-loop: nodes stand
+ * for sequences of actions, and each iteration replays them from the root with freshly
+ * sampled damage rolls, so chance needs no nodes of its own. A node's statistics only hold
+ * for the Pokemon they were gathered with, so an iteration whose rolls brought a different
+ * one into battle stops descending there and plays out. Selection uses UCT with a
+ * progressive bias towards moves that deal more damage, expansion
+ * adds one node per iteration, and playouts use the strongest move with some random moves
+ * mixed in. Nodes live in parallel arrays that are reused between searches.
+ */
+final class MctsTree {
+
+    // UCT exploration constant; rewards are in [0, 1]
+    private static final double EXPLORATION = 1.0;
+    // share of playout moves chosen at random instead of the strongest
+    private static final double PLAYOUT_RANDOMNESS = 0.1;
+    // weight of the progressive bias towards moves that take a large share of the target's HP
+    private static final double PRIOR_WEIGHT = 2.0;
+    // plies after which a playout is scored as it stands
+    private static final int PLAYOUT_PLIES = 200;
+    private static final int INITIAL_NODES = 1 << 12;
+    // past this many nodes the tree stops growing and iterations only refine its statistics
+    private static final int MAX_NODES = 1 << 20;
+
+    private final SimTeam[] teams = new SimTeam[SimState.SIDES];
+    private DamageTable damage;
+    private int root;
+
+    // the searched position
+    private final int[][] rootHp = new int[SimState.SIDES][];
+    private final int[] rootActive = new int[SimState.SIDES];
+    private final int[] rootAlive = new int[SimState.SIDES];
+    private final double[][] hpWeight = new double[SimState.SIDES][];
+
+    // the position of the iteration in progress
+    private final int[][] hp = new int[SimState.SIDES][];
+    private final int[] active = new int[SimState.SIDES];
+    private final int[] alive = new int[SimState.SIDES];
+
+    // nodes; children of a node are contiguous and child i is move i
+    private int[] firstChild = new int[INITIAL_NODES];
+    private byte[] childCount = new byte[INITIAL_NODES];
+    // team slot of the Pokemon whose moves the children are
+    private byte[] moverSlot = new byte[INITIAL_NODES];
+    private int[] visits = new int[INITIAL_NODES];
+    // reward of each node for the side whose action leads to it
+    private double[] reward = new double[INITIAL_NODES];
+    private int size;
+    private int[] path = new int[64];
+
+    void reset(SimState state, int side, DamageTable table) {
+        teams[0] = state.getTeam(0);
+        teams[1] = state.getTeam(1);
+        damage = table;
+        root = side;
+        for (int s = 0; s < SimState.SIDES; s++) {
+            final int teamSize = teams[s].size();
+            if (rootHp[s] == null || rootHp[s].length != teamSize) {
+                rootHp[s] = new int[teamSize];
+                hp[s] = new int[teamSize];
+                hpWeight[s] = new double[teamSize];
+            }
+            rootAlive[s] = 0;
+            for (int slot = 0; slot < teamSize; slot++) {
+                rootHp[s][slot] = state.getHp(s, slot);
+                if (rootHp[s][slot] > 0) {
+                    rootAlive[s]++;
+                }
+                hpWeight[s][slot] = 1.0 / (Math.max(1, teams[s].get(slot).getMaxHp()) * (double) teamSize);
+            }
+            rootActive[s] = state.getActiveSlot(s);
+        }
+        size = 1;
+        clear(0);
+    }
+
+    /**
+     * Run one select-expand-playout-backpropagate iteration.
+     */
+    void iterate(RandomGenerator random) {
+        for (int s = 0; s < SimState.SIDES; s++) {
+            System.arraycopy(rootHp[s], 0, hp[s], 0, hp[s].length);
+            active[s] = rootActive[s];
+            alive[s] = rootAlive[s];
+        }
+
+        int node = 0;
+        int mover = root;
+        int depth = 0;
+        path[depth++] = node;
+        while (!over()) {
+            if (firstChild[node] < 0) {
+                if (!expand(node, mover)) {
+                    break;
+                }
+            } else if (moverSlot[node] != active[mover]) {
+                // rolls brought in a different Pokemon than the one these moves belong to
+                break;
+            }
+            final int child = select(node, mover);
+            apply(mover, child - firstChild[node], random);
+            mover = SimState.opponent(mover);
+            node = child;
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+            }
+            path[depth++] = node;
+            if (visits[node] == 0) {
+                break;
+            }
+        }
+
+        final double rootReward = playout(mover, random);
+        // the root node belongs to no one; each other node scores for the side that moved into it
+        for (int i = depth - 1; i >= 0; i--) {
+            final int n = path[i];
+            visits[n]++;
+            // the side moving into path[i] is the root side for odd i
+            reward[n] += (i % 2 == 1) ? rootReward : 1.0 - rootReward;
+        }
+    }
+
+    /**
+     * Visits and summed root-side reward of each of the root's moves.
+     *
+     * @return the number of root moves, or 0 if the tree has not been expanded
+     */
+    int rootMoves(int[] moveVisits, double[] moveRewards) {
+        if (firstChild[0] < 0) {
+            return 0;
+        }
+        final int count = childCount[0];
+        for (int i = 0; i < count; i++) {
+            moveVisits[i] = visits[firstChild[0] + i];
+            moveRewards[i] = reward[firstChild[0] + i];
+        }
+        return count;
+    }
+
+    /**
+     * The root move with the most visits, or -1 if the tree has not been expanded.
+     */
+    int mostVisitedMove() {
+        if (firstChild[0] < 0) {
+            return -1;
+        }
+        int best = 0;
+        for (int i = 1; i < childCount[0]; i++) {
+            if (visits[firstChild[0] + i] > visits[firstChild[0] + best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private boolean over() {
+        return alive[0] == 0 || alive[1] == 0;
+    }
+
+    private boolean expand(int node, int mover) {
+        final int count = Math.max(1, teams[mover].get(active[mover]).getMoveCount());
+        if (size + count > MAX_NODES) {
+            return false;
+        }
+        ensureCapacity(size + count);
+        firstChild[node] = size;
+        childCount[node] = (byte) count;
+        moverSlot[node] = (byte) active[mover];
+        for (int i = 0; i < count; i++) {
+            clear(size + i);
+        }
+        size += count;
+        return true;
+    }
+
+    private int select(int node, int mover) {
+        final int first = firstChild[node];
+        final int count = childCount[node];
+        final double logParent = Math.log(Math.max(1, visits[node]));
+        final int attacker = active[mover];
+        final int defender = SimState.opponent(mover);
+        final int defenderSlot = active[defender];
+        final double defenderHp = Math.max(1, hp[defender][defenderSlot]);
+        final boolean hasMoves = teams[mover].get(attacker).getMoveCount() > 0;
+        int best = first;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < first + count; child++) {
+            if (visits[child] == 0) {
+                return child;
+            }
+            // without it, visits among near-equal children are spread by noise alone
+            final double bias = hasMoves ? Math.min(1.0, damage.damage(mover, attacker, child - first, defenderSlot,
+                    DamageTable.MEAN_ROLL) / defenderHp) : 0.0;
+            final double score = reward[child] / visits[child]
+                    + EXPLORATION * Math.sqrt(logParent / visits[child])
+                    + PRIOR_WEIGHT * bias / (visits[child] + 1);
+            if (score > bestScore) {
+                bestScore = score;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private void apply(int mover, int move, RandomGenerator random) {
+        final int attacker = active[mover];
+        // the single child of a Pokemon with no moves passes
+        if (move >= teams[mover].get(attacker).getMoveCount()) {
+            return;
+        }
+        strike(mover, damage.damage(mover, attacker, move, active[SimState.opponent(mover)],
+                random.nextInt(DamageTable.R)));
+    }
+
+    private void strike(int mover, int amount) {
+        if (amount <= 0) {
+            return;
+        }
+        final int defender = SimState.opponent(mover);
+        final int slot = active[defender];
+        hp[defender][slot] = Math.max(0, hp[defender][slot] - amount);
+        if (hp[defender][slot] == 0) {
+            alive[defender]--;
+            active[defender] = firstAlive(hp[defender]);
+        }
+    }
+
+    // plays on from the current position; the reward for the root side
+    private double playout(int mover, RandomGenerator random) {
+        for (int ply = 0; ply < PLAYOUT_PLIES && !over(); ply++) {
+            final int attacker = active[mover];
+            final int moveCount = teams[mover].get(attacker).getMoveCount();
+            if (moveCount > 0) {
+                final int move = random.nextDouble() < PLAYOUT_RANDOMNESS
+                        ? random.nextInt(moveCount)
+                        : damage.strongest(mover, attacker, active[SimState.opponent(mover)]);
+                if (move >= 0) {
+                    strike(mover, damage.damage(mover, attacker, move, active[SimState.opponent(mover)],
+                            random.nextInt(DamageTable.R)));
+                }
+            }
+            mover = SimState.opponent(mover);
+        }
+        // 1 for ending with everything, 0 for nothing against a full team
+        return 0.5 + 0.5 * (share(root) - share(SimState.opponent(root)));
+    }
+
+    private double share(int side) {
+        double total = 0.0;
+        for (int slot = 0; slot < hp[side].length; slot++) {
+            total += hp[side][slot] * hpWeight[side][slot];
+        }
+        return total;
+    }
+
+    private static int firstAlive(int[] teamHp) {
+        for (int slot = 0; slot < teamHp.length; slot++) {
+            if (teamHp[slot] > 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void clear(int node) {
+        firstChild[node] = -1;
+        childCount[node] = 0;
+        visits[node] = 0;
+        reward[node] = 0.0;
+    }
+
+    private void ensureCapacity(int nodes) {
+        if (nodes <= visits.length) {
+            return;
+        }
+        final int capacity = Math.max(nodes, visits.length * 2);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        childCount = Arrays.copyOf(childCount, capacity);
+        moverSlot = Arrays.copyOf(moverSlot, capacity);
+        visits = Arrays.copyOf(visits, capacity);
+        reward = Arrays.copyOf(reward, capacity);
+    }
+}
@@ -0,0 +1,18 @@
+package entities.battle.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks one of the active Pokemon's moves uniformly at random and never switches.
+ */
+public final class RandomPolicy implements BattlePolicy {
+
+    @Override
+    public int chooseAction(SimState state, int side, RandomGenerator random) {
+        final SimPokemon active = state.getActivePokemon(side);
+        if (active == null || active.getMoveCount() == 0) {
+            return BattleAction.PASS;
+        }
+        return BattleAction.move(random.nextInt(active.getMoveCount()));
+    }
+}
@@ -0,0 +1,69 @@
+package entities.battle.engine;
+
+import entities.battle.Move;
+import entities.battle.PokemonType;
+
+/**
+ * A move reduced to the fields the battle engine needs.
+ */
+public final class SimMove {
+    // power the battle interactor gives moves missing from moves.json
+    public static final int FALLBACK_POWER = 40;
+
+    private final String name;
+    private final int power;
+    private final PokemonType type;
+    private final boolean special;
+
+    SimMove(String name, int power, PokemonType type, boolean special) {
+        this.name = name;
+        this.power = power;
+        this.type = type;
+        this.special = special;
+    }
+
+    /**
+     * Compile a move. Status moves and moves without power get power 0.
+     */
+    public static SimMove of(Move move) {
+        final boolean status = "status".equalsIgnoreCase(move.getDamageClass());
+        final Integer power = move.getPower();
+        return new SimMove(move.getName(),
+                status || power == null || power <= 0 ? 0 : power,
+                move.getTypeId(),
+                "special".equalsIgnoreCase(move.getDamageClass()));
+    }
+
+    /**
+     * The typeless physical move used when a move name is not in the move data.
+     */
+    public static SimMove fallback(String name) {
+        return new SimMove(name, FALLBACK_POWER, null, false);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Move power, or 0 if the move deals no damage.
+     */
+    public int getPower() {
+        return power;
+    }
+
+    /**
+     * The move's type, or null if unknown.
+     */
+    public PokemonType getType() {
+        return type;
+    }
+
+    public boolean isSpecial() {
+        return special;
+    }
+
+    public boolean isDamaging() {
+        return power > 0;
+    }
+}
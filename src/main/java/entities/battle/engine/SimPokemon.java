@@ -0,0 +1,116 @@
+package entities.battle.engine;
+
+import java.util.List;
+import java.util.function.Function;
+
+import entities.Pokemon;
+import entities.battle.Move;
+import entities.battle.PokemonType;
+import entities.battle.Stats;
+
+/**
+ * Immutable battle-ready snapshot of a Pokemon: raw stats, resolved types and up to
+ * {@link #MAX_MOVES} compiled moves. Built once per team so simulated battles never
+ * touch the entity objects.
+ */
+public final class SimPokemon {
+    public static final int MAX_MOVES = 4;
+
+    private final String name;
+    private final int maxHp;
+    private final int attack;
+    private final int defense;
+    private final int spAttack;
+    private final int spDefense;
+    private final int speed;
+    private final PokemonType[] types;
+    private final SimMove[] moves;
+    // 1.5 for moves sharing one of this Pokemon's types, else 1.0
+    private final double[] stab;
+
+    SimPokemon(String name, Stats stats, PokemonType[] types, SimMove[] moves) {
+        this.name = name;
+        this.maxHp = stats.getMaxHp();
+        this.attack = stats.getAttack();
+        this.defense = stats.getDefense();
+        this.spAttack = stats.getSpAttack();
+        this.spDefense = stats.getSpDefense();
+        this.speed = stats.getSpeed();
+        this.types = types;
+        this.moves = moves;
+        this.stab = new double[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            stab[i] = 1.0;
+            for (PokemonType type : types) {
+                if (type == moves[i].getType()) {
+                    stab[i] = 1.5;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile a Pokemon using the first {@link #MAX_MOVES} of its current moves.
+     *
+     * @param pokemon the Pokemon
+     * @param moveLookup resolves a move name, returning null for unknown moves
+     */
+    public static SimPokemon of(Pokemon pokemon, Function<String, Move> moveLookup) {
+        final List<String> names = pokemon.getMoveNames();
+        final int count = names == null ? 0 : Math.min(MAX_MOVES, names.size());
+        final SimMove[] moves = new SimMove[count];
+        for (int i = 0; i < count; i++) {
+            final Move move = moveLookup.apply(names.get(i));
+            moves[i] = move != null ? SimMove.of(move) : SimMove.fallback(names.get(i));
+        }
+        final Stats stats = pokemon.getStats() != null ? pokemon.getStats() : new Stats();
+        return new SimPokemon(pokemon.getName(), stats, pokemon.getTypeIds(), moves);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxHp() {
+        return maxHp;
+    }
+
+    public int getAttack() {
+        return attack;
+    }
+
+    public int getDefense() {
+        return defense;
+    }
+
+    public int getSpAttack() {
+        return spAttack;
+    }
+
+    public int getSpDefense() {
+        return spDefense;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Resolved types. The array is shared and must not be modified.
+     */
+    public PokemonType[] getTypes() {
+        return types;
+    }
+
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    public SimMove getMove(int index) {
+        return moves[index];
+    }
+
+    public double getStab(int moveIndex) {
+        return stab[moveIndex];
+    }
+}
@@ -0,0 +1,63 @@
+package entities.battle.engine;
+
+/**
+ * Outcome of one simulated battle.
+ */
+public final class SimResult {
+    public static final int DRAW = -1;
+
+    private final int winner;
+    private final int turns;
+    private final long damageBySide0;
+    private final long damageBySide1;
+    private final int survivorsSide0;
+    private final int survivorsSide1;
+    private final long seed;
+
+    SimResult(int winner, SimState state, long seed) {
+        this.winner = winner;
+        this.seed = seed;
+        this.turns = state.getTurn();
+        this.damageBySide0 = state.getDamageDealt(0);
+        this.damageBySide1 = state.getDamageDealt(1);
+        this.survivorsSide0 = state.getAliveCount(0);
+        this.survivorsSide1 = state.getAliveCount(1);
+    }
+
+    /**
+     * The seed the battle ran with. Running the same teams and policies with this seed
+     * replays the battle exactly.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The winning side (0 or 1), or {@link #DRAW} if the turn limit was reached.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public boolean isDraw() {
+        return winner == DRAW;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Total HP removed from the opposing team by the given side.
+     */
+    public long getDamageDealt(int side) {
+        return side == 0 ? damageBySide0 : damageBySide1;
+    }
+
+    /**
+     * Pokemon the given side still had standing at the end.
+     */
+    public int getSurvivors(int side) {
+        return side == 0 ? survivorsSide0 : survivorsSide1;
+    }
+}
@@ -0,0 +1,143 @@
+package entities.battle.engine;
+
+/**
+ * Mutable state of one simulated battle, held in primitive arrays.
+ * A {@link BattleSimulator} reuses a single instance for every battle it runs;
+ * policies only read from it.
+ */
+public final class SimState {
+    public static final int SIDES = 2;
+
+    private final SimTeam[] teams = new SimTeam[SIDES];
+    private final int[][] hp = new int[SIDES][];
+    private final int[] active = new int[SIDES];
+    private final int[] alive = new int[SIDES];
+    private final long[] damageDealt = new long[SIDES];
+    private int turn;
+
+    /**
+     * A battle already in progress, e.g. the app's current battle handed to a search.
+     *
+     * @param hp current HP of each side's team, by slot
+     * @param active each side's active slot, or -1 if it has none left
+     */
+    public static SimState of(SimTeam first, SimTeam second, int[][] hp, int[] active) {
+        final SimState state = new SimState();
+        state.reset(first, second);
+        for (int side = 0; side < SIDES; side++) {
+            state.alive[side] = 0;
+            for (int slot = 0; slot < state.hp[side].length; slot++) {
+                state.hp[side][slot] = Math.max(0, hp[side][slot]);
+                if (state.hp[side][slot] > 0) {
+                    state.alive[side]++;
+                }
+            }
+            state.active[side] = active[side] >= 0 && state.hp[side][active[side]] > 0
+                    ? active[side] : state.firstAlive(side);
+        }
+        return state;
+    }
+
+    void reset(SimTeam first, SimTeam second) {
+        teams[0] = first;
+        teams[1] = second;
+        for (int side = 0; side < SIDES; side++) {
+            final SimTeam team = teams[side];
+            if (hp[side] == null || hp[side].length != team.size()) {
+                hp[side] = new int[team.size()];
+            }
+            for (int slot = 0; slot < team.size(); slot++) {
+                hp[side][slot] = team.get(slot).getMaxHp();
+            }
+            alive[side] = 0;
+            for (int slot = 0; slot < team.size(); slot++) {
+                if (hp[side][slot] > 0) {
+                    alive[side]++;
+                }
+            }
+            active[side] = firstAlive(side);
+            damageDealt[side] = 0;
+        }
+        turn = 0;
+    }
+
+    public static int opponent(int side) {
+        return 1 - side;
+    }
+
+    public SimTeam getTeam(int side) {
+        return teams[side];
+    }
+
+    /**
+     * Team slot of the side's active Pokemon, or -1 if the side has none left.
+     */
+    public int getActiveSlot(int side) {
+        return active[side];
+    }
+
+    public SimPokemon getActivePokemon(int side) {
+        return active[side] < 0 ? null : teams[side].get(active[side]);
+    }
+
+    public int getHp(int side, int slot) {
+        return hp[side][slot];
+    }
+
+    public int getActiveHp(int side) {
+        return active[side] < 0 ? 0 : hp[side][active[side]];
+    }
+
+    public boolean isFainted(int side, int slot) {
+        return hp[side][slot] <= 0;
+    }
+
+    public int getAliveCount(int side) {
+        return alive[side];
+    }
+
+    public long getDamageDealt(int side) {
+        return damageDealt[side];
+    }
+
+    /**
+     * Turns started so far, starting at 1 on the first turn.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    void nextTurn() {
+        turn++;
+    }
+
+    void setActive(int side, int slot) {
+        active[side] = slot;
+    }
+
+    /**
+     * Apply damage to the side's active Pokemon.
+     *
+     * @return the HP actually removed
+     */
+    int damageActive(int side, int amount) {
+        final int slot = active[side];
+        final int dealt = Math.min(hp[side][slot], amount);
+        hp[side][slot] -= dealt;
+        damageDealt[opponent(side)] += dealt;
+        if (hp[side][slot] == 0) {
+            alive[side]--;
+        }
+        return dealt;
+    }
+
+    // first non-fainted slot in team order, matching the app's auto-switch
+    int firstAlive(int side) {
+        for (int slot = 0; slot < hp[side].length; slot++) {
+            if (hp[side][slot] > 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,43 @@
+package entities.battle.engine;
+
+import java.util.List;
+import java.util.function.Function;
+
+import entities.Pokemon;
+import entities.battle.Move;
+
+/**
+ * An immutable, compiled team. Safe to share between threads and battles.
+ */
+public final class SimTeam {
+    private final String name;
+    private final SimPokemon[] members;
+
+    public SimTeam(String name, SimPokemon... members) {
+        this.name = name;
+        this.members = members.clone();
+    }
+
+    /**
+     * Compile a team of Pokemon, in order. The first member leads.
+     */
+    public static SimTeam of(String name, List<Pokemon> pokemon, Function<String, Move> moveLookup) {
+        final SimPokemon[] members = new SimPokemon[pokemon.size()];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = SimPokemon.of(pokemon.get(i), moveLookup);
+        }
+        return new SimTeam(name, members);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    public SimPokemon get(int slot) {
+        return members[slot];
+    }
+}
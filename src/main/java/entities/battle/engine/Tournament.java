@@ -0,0 +1,238 @@
+package entities.battle.engine;
+
+import entities.battle.RandomStreams;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs round-robin or Swiss tournaments between entrants (a deck played by a policy)
+ * on a {@link ForkJoinPool}.
+ *
+ * <p>Every battle gets its own generator derived from the tournament seed and the
+ * battle's index by {@link RandomStreams#deriveSeed}, so battles are independent and a
+ * given seed produces the same results whatever the pool size.
+ * Sides alternate between games of a pairing to cancel out the first-mover advantage.
+ */
+public final class Tournament {
+
+    /**
+     * A deck and the policy that plays it.
+     */
+    public static final class Entrant {
+        private final String name;
+        private final SimTeam team;
+        private final BattlePolicy policy;
+
+        public Entrant(String name, SimTeam team, BattlePolicy policy) {
+            this.name = name;
+            this.team = team;
+            this.policy = policy;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public SimTeam getTeam() {
+            return team;
+        }
+
+        public BattlePolicy getPolicy() {
+            return policy;
+        }
+    }
+
+    // pairings per fork/join leaf
+    private static final int LEAF_PAIRINGS = 4;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final ThreadLocal<BattleSimulator> simulators;
+
+    public Tournament(ForkJoinPool pool, long seed) {
+        this(pool, seed, BattleSimulator.DEFAULT_MAX_TURNS);
+    }
+
+    public Tournament(ForkJoinPool pool, long seed, int maxTurns) {
+        this.pool = pool;
+        this.seed = seed;
+        this.simulators = ThreadLocal.withInitial(
+                () -> new BattleSimulator(new SplittableRandom(seed), maxTurns));
+    }
+
+    /**
+     * Every deck paired with every policy, e.g. to compare policies across the same decks.
+     */
+    public static List<Entrant> entrants(List<SimTeam> decks, Map<String, BattlePolicy> policies) {
+        final List<Entrant> entrants = new ArrayList<>();
+        for (SimTeam deck : decks) {
+            for (Map.Entry<String, BattlePolicy> policy : policies.entrySet()) {
+                entrants.add(new Entrant(deck.getName() + "/" + policy.getKey(), deck, policy.getValue()));
+            }
+        }
+        return entrants;
+    }
+
+    /**
+     * Every entrant plays every other entrant.
+     *
+     * @param gamesPerPairing battles per pairing, alternating who moves first
+     */
+    public TournamentResult runRoundRobin(List<Entrant> entrants, int gamesPerPairing) {
+        final List<int[]> pairings = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i + 1; j < entrants.size(); j++) {
+                pairings.add(new int[] {i, j});
+            }
+        }
+        final Tally tally = pool.invoke(new PairingTask(entrants, pairings, 0, pairings.size(), gamesPerPairing, 0L));
+        return tally.toResult();
+    }
+
+    /**
+     * Swiss system: each round pairs entrants with similar scores who have not met yet.
+     * Rounds run one after another; the battles within a round run in parallel.
+     * With an odd number of entrants the lowest-ranked unpaired entrant sits the round out.
+     */
+    public TournamentResult runSwiss(List<Entrant> entrants, int rounds, int gamesPerPairing) {
+        final Tally total = new Tally(entrants);
+        final Set<Long> played = new HashSet<>();
+        long battleOffset = 0;
+        for (int round = 0; round < rounds; round++) {
+            final List<int[]> pairings = swissPairings(entrants.size(), total, played);
+            if (pairings.isEmpty()) {
+                break;
+            }
+            final Tally roundTally = pool.invoke(
+                    new PairingTask(entrants, pairings, 0, pairings.size(), gamesPerPairing, battleOffset));
+            total.merge(roundTally);
+            battleOffset += (long) pairings.size() * gamesPerPairing;
+        }
+        return total.toResult();
+    }
+
+    private static List<int[]> swissPairings(int count, Tally tally, Set<Long> played) {
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> -tally.records[i].getScore()).thenComparingInt(i -> i));
+
+        final boolean[] paired = new boolean[count];
+        final List<int[]> pairings = new ArrayList<>();
+        for (int a = 0; a < order.size(); a++) {
+            final int first = order.get(a);
+            if (paired[first]) {
+                continue;
+            }
+            for (int b = a + 1; b < order.size(); b++) {
+                final int second = order.get(b);
+                if (!paired[second] && played.add(pairKey(first, second))) {
+                    paired[first] = true;
+                    paired[second] = true;
+                    pairings.add(new int[] {first, second});
+                    break;
+                }
+            }
+        }
+        return pairings;
+    }
+
+    private static long pairKey(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+
+    /**
+     * Per-entrant records for part of a tournament. Each task fills its own and the
+     * results are merged on join.
+     */
+    private static final class Tally {
+        private final EntrantRecord[] records;
+        private long battles;
+        private long totalTurns;
+
+        Tally(List<Entrant> entrants) {
+            records = new EntrantRecord[entrants.size()];
+            for (int i = 0; i < records.length; i++) {
+                records[i] = new EntrantRecord(entrants.get(i).getName());
+            }
+        }
+
+        void merge(Tally other) {
+            for (int i = 0; i < records.length; i++) {
+                records[i].merge(other.records[i]);
+            }
+            battles += other.battles;
+            totalTurns += other.totalTurns;
+        }
+
+        TournamentResult toResult() {
+            return new TournamentResult(List.of(records), battles, totalTurns);
+        }
+    }
+
+    private final class PairingTask extends RecursiveTask<Tally> {
+        private final List<Entrant> entrants;
+        private final List<int[]> pairings;
+        private final int from;
+        private final int to;
+        private final int gamesPerPairing;
+        private final long battleOffset;
+
+        PairingTask(List<Entrant> entrants, List<int[]> pairings, int from, int to,
+                    int gamesPerPairing, long battleOffset) {
+            this.entrants = entrants;
+            this.pairings = pairings;
+            this.from = from;
+            this.to = to;
+            this.gamesPerPairing = gamesPerPairing;
+            this.battleOffset = battleOffset;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > LEAF_PAIRINGS) {
+                final int mid = (from + to) >>> 1;
+                final PairingTask left = new PairingTask(entrants, pairings, from, mid, gamesPerPairing, battleOffset);
+                left.fork();
+                final Tally right = new PairingTask(entrants, pairings, mid, to, gamesPerPairing, battleOffset).compute();
+                final Tally merged = left.join();
+                merged.merge(right);
+                return merged;
+            }
+
+            final Tally tally = new Tally(entrants);
+            final BattleSimulator simulator = simulators.get();
+            for (int p = from; p < to; p++) {
+                final int a = pairings.get(p)[0];
+                final int b = pairings.get(p)[1];
+                for (int game = 0; game < gamesPerPairing; game++) {
+                    final long battleIndex = battleOffset + (long) p * gamesPerPairing + game;
+                    final long battleSeed = RandomStreams.deriveSeed(seed, battleIndex);
+                    // alternate who moves first
+                    final int first = game % 2 == 0 ? a : b;
+                    final int second = first == a ? b : a;
+                    final Entrant firstEntrant = entrants.get(first);
+                    final Entrant secondEntrant = entrants.get(second);
+                    final SimResult result = simulator.run(firstEntrant.getTeam(), secondEntrant.getTeam(),
+                            firstEntrant.getPolicy(), secondEntrant.getPolicy(), battleSeed);
+
+                    final int firstOutcome = result.isDraw() ? 0 : (result.getWinner() == 0 ? 1 : -1);
+                    tally.records[first].record(firstOutcome, result.getTurns(), result.getDamageDealt(0));
+                    tally.records[second].record(-firstOutcome, result.getTurns(), result.getDamageDealt(1));
+                    tally.battles++;
+                    tally.totalTurns += result.getTurns();
+                }
+            }
+            return tally;
+        }
+    }
+}
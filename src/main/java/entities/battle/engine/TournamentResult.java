@@ -0,0 +1,46 @@
+package entities.battle.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Standings and totals of a finished tournament.
+ */
+public final class TournamentResult {
+    private final List<EntrantRecord> records;
+    private final long battles;
+    private final long totalTurns;
+
+    TournamentResult(List<EntrantRecord> records, long battles, long totalTurns) {
+        this.records = Collections.unmodifiableList(new ArrayList<>(records));
+        this.battles = battles;
+        this.totalTurns = totalTurns;
+    }
+
+    /**
+     * Records in entrant order.
+     */
+    public List<EntrantRecord> getRecords() {
+        return records;
+    }
+
+    /**
+     * Records sorted by win rate, best first.
+     */
+    public List<EntrantRecord> getStandings() {
+        final List<EntrantRecord> standings = new ArrayList<>(records);
+        standings.sort(Comparator.comparingDouble(EntrantRecord::getWinRate).reversed()
+                .thenComparing(Comparator.comparingDouble(EntrantRecord::getScore).reversed()));
+        return standings;
+    }
+
+    public long getBattles() {
+        return battles;
+    }
+
+    public double getAverageTurns() {
+        return battles == 0 ? 0.0 : (double) totalTurns / battles;
+    }
+}
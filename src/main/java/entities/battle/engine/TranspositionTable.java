@@ -0,0 +1,77 @@
+package entities.battle.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size table of searched position values keyed by {@link Zobrist} key, shared by
+ * searches on any number of threads without locks. Each entry is two longs, the key XOR-ed
+ * with the data and the data itself, written with plain volatile stores. A reader that
+ * races a writer sees a key that no longer matches and treats the entry as a miss, so a
+ * torn entry is never used.
+ *
+ * <p>A value is only returned for the depth it was searched to, so apart from float
+ * rounding a search's result does not depend on what other searches have stored, and
+ * tournaments stay reproducible with a shared table. An entry is replaced by any other
+ * position, and by the same position only when the new value was searched at least as
+ * deep. Values are stored as floats, which is ample for HP shares.
+ */
+public final class TranspositionTable {
+
+    private static final long DEPTH_MASK = 0xFFL;
+    private static final int VALUE_SHIFT = 32;
+
+    private final AtomicLongArray entries;
+    private final int mask;
+
+    /**
+     * @param capacity number of entries, rounded up to a power of two; each takes 16 bytes
+     */
+    public TranspositionTable(int capacity) {
+        final int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.entries = new AtomicLongArray(2 * size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * The stored value of a position searched to the given depth, or NaN if there is none.
+     */
+    public double probe(long key, int depth) {
+        final int index = index(key);
+        final long data = entries.get(index + 1);
+        if ((entries.get(index) ^ data) != key || (data & DEPTH_MASK) != depth) {
+            return Double.NaN;
+        }
+        return Float.intBitsToFloat((int) (data >>> VALUE_SHIFT));
+    }
+
+    /**
+     * Remember a position's value searched to the given depth, 0 to 255 plies.
+     */
+    public void store(long key, int depth, double value) {
+        final int index = index(key);
+        final long old = entries.get(index + 1);
+        if ((entries.get(index) ^ old) == key && (old & DEPTH_MASK) > depth) {
+            return;
+        }
+        final long data = (long) Float.floatToRawIntBits((float) value) << VALUE_SHIFT | depth & DEPTH_MASK;
+        entries.set(index, key ^ data);
+        entries.set(index + 1, data);
+    }
+
+    /**
+     * Forget every entry. Not atomic with respect to concurrent searches.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, 0L);
+        }
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    private int index(long key) {
+        return ((int) (key ^ key >>> 32) & mask) << 1;
+    }
+}
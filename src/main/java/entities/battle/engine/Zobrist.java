@@ -0,0 +1,110 @@
+package entities.battle.engine;
+
+import entities.battle.Stats;
+
+import static entities.battle.RandomStreams.mix64;
+
+/**
+ * 64-bit Zobrist keys for battle positions. A position's key is the XOR of one key per
+ * feature: each team member (species, stats and moves), its HP, each side's active slot,
+ * every non-zero stat stage, and the side to move. A transition changes only a few
+ * features, so a key is updated by XOR-ing the old feature keys out and the new ones in.
+ *
+ * <p>Feature keys are derived by hashing the feature rather than drawn into tables, so HP
+ * is keyed exactly at no memory cost and the keys are the same in every process. A zero
+ * stage contributes nothing, so a position without stages has the same key whether it is
+ * a {@link SimState} or a {@link BattleState}.
+ */
+public final class Zobrist {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final long SIDE_TO_MOVE = mix64(0x5DEECE66DL);
+    private static final long MEMBER = 0x1L;
+    private static final long HP = 0x2L;
+    private static final long ACTIVE = 0x3L;
+    private static final long STAGE = 0x4L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Key of a simulator or search position without stages.
+     */
+    public static long hash(SimState state, int sideToMove) {
+        long key = sideToMove(sideToMove);
+        for (int side = 0; side < SimState.SIDES; side++) {
+            final SimTeam team = state.getTeam(side);
+            for (int slot = 0; slot < team.size(); slot++) {
+                key ^= member(side, slot, team.get(slot)) ^ hp(side, slot, state.getHp(side, slot));
+            }
+            key ^= active(side, state.getActiveSlot(side));
+        }
+        return key;
+    }
+
+    /**
+     * Key of a position from scratch; {@link BattleState#getKey()} keeps the same key up to date.
+     */
+    public static long hash(BattleState state) {
+        long key = sideToMove(state.getSideToMove());
+        for (int side = 0; side < SimState.SIDES; side++) {
+            final SimTeam team = state.getTeam(side);
+            for (int slot = 0; slot < team.size(); slot++) {
+                key ^= member(side, slot, team.get(slot)) ^ hp(side, slot, state.getHp(side, slot));
+                for (int stat = 0; stat < Stats.STAT_NAMES.length; stat++) {
+                    key ^= stage(side, slot, stat, state.getStatStage(side, slot, stat));
+                }
+            }
+            key ^= active(side, state.getActiveSlot(side));
+        }
+        return key;
+    }
+
+    /**
+     * The team member in a slot: its species, stats and moves.
+     */
+    public static long member(int side, int slot, SimPokemon pokemon) {
+        long h = feature(MEMBER, side, slot, 0);
+        h = mix64(h ^ pokemon.getName().hashCode());
+        h = mix64(h ^ ((long) pokemon.getMaxHp() << 32 | pokemon.getAttack()));
+        h = mix64(h ^ ((long) pokemon.getDefense() << 32 | pokemon.getSpAttack()));
+        h = mix64(h ^ ((long) pokemon.getSpDefense() << 32 | pokemon.getSpeed()));
+        for (int move = 0; move < pokemon.getMoveCount(); move++) {
+            h = mix64(h ^ pokemon.getMove(move).getName().hashCode());
+        }
+        return h;
+    }
+
+    /**
+     * A slot's current HP.
+     */
+    public static long hp(int side, int slot, int hp) {
+        return feature(HP, side, slot, hp);
+    }
+
+    /**
+     * The side's active slot, -1 when it has none left.
+     */
+    public static long active(int side, int slot) {
+        return feature(ACTIVE, side, slot, 0);
+    }
+
+    /**
+     * A stat stage of a slot, the stat indexed like {@link Stats#STAT_NAMES}; 0 for stage 0.
+     */
+    public static long stage(int side, int slot, int stat, int stage) {
+        return stage == 0 ? 0L : feature(STAGE, side, slot, stat << 8 | (stage & 0xFF));
+    }
+
+    /**
+     * The side to move; side 0 contributes nothing.
+     */
+    public static long sideToMove(int side) {
+        return side == 1 ? SIDE_TO_MOVE : 0L;
+    }
+
+    private static long feature(long kind, int side, int slot, int value) {
+        final long packed = (long) side << 40 | (long) (slot & 0xFF) << 32 | value & 0xFFFFFFFFL;
+        return mix64(kind * GOLDEN ^ mix64(packed + GOLDEN));
+    }
+}
@@ -2,9 +2,10 @@ package entities.open_pack;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 import entities.Pokemon;
+import entities.battle.RandomStreams;
 
 public class Pack {
     private static final int CARDS_PER_PACK = 5;
@@ -15,9 +16,17 @@ public class Pack {
     private final String type;
     private final List<Pokemon> cardPool;
 
-    private final Random random = new Random();
+    private final RandomGenerator random;
 
     public Pack(int id, String type, List<Pokemon> cardPool) {
+        this(id, type, cardPool, RandomStreams.withRandomSeed().get(RandomStreams.Stream.PACK));
+    }
+
+    /**
+     * @param random source for card and shiny rolls, e.g. a seeded PACK stream for replays
+     */
+    public Pack(int id, String type, List<Pokemon> cardPool, RandomGenerator random) {
+        this.random = random;
         this.id = id;
         this.type = type;
         this.cardPool = List.copyOf(cardPool);
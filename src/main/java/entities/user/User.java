@@ -1,7 +1,6 @@
 package entities.user;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +10,7 @@ import org.json.JSONObject;
 
 import entities.Pokemon;
 import entities.battle.Deck;
+import pokeapi.VersionedList;
 
 /**
  * Entity representing one user of the pokemon app.
@@ -24,17 +24,21 @@ public class User implements Serializable {
     private String email; //do we need a password?
     private final Map<Integer, Deck> decks = new HashMap<>();
 
-    private final List<Pokemon> ownedPokemon;
+    // callers still add, remove and clear through getOwnedPokemon(), so count those changes
+    private final VersionedList<Pokemon> ownedPokemon;
+
+    // id -> owned Pokemon, rebuilt lazily after any change to the collection
+    private transient Map<Integer, Pokemon> ownedById;
+    private transient int ownedByIdVersion = -1;
 
     public User(int id, String name, String email, int currency) {
         this.id = id;
         this.name = name;
         this.currency = currency;
         this.email = email;
-        this.ownedPokemon = new ArrayList<>();
+        this.ownedPokemon = new VersionedList<>();
     }
 
-
     public int getId() {
         return id;
     }
@@ -95,12 +99,16 @@ public class User implements Serializable {
     }
 
     public Pokemon getPokemonById(int id) {
-        for (Pokemon p : ownedPokemon) {
-            if (p.getID() == id) {
-                return p;
+        if (ownedById == null || ownedByIdVersion != ownedPokemon.version()) {
+            final Map<Integer, Pokemon> index = new HashMap<>(ownedPokemon.size() * 2);
+            for (Pokemon p : ownedPokemon) {
+                // keep the first occurrence, matching the old linear scan
+                index.putIfAbsent(p.getID(), p);
             }
+            ownedById = index;
+            ownedByIdVersion = ownedPokemon.version();
         }
-        return null;
+        return ownedById.get(id);
     }
 
     public Deck getDeckById(int id) {
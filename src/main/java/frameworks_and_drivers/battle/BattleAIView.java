@@ -43,6 +43,8 @@ public class BattleAIView extends JFrame implements BattleAIViewModel.ViewModelL
     private int currentPlayerPokemonId = -1;
     private int currentAIPokemonId = -1;
     private Map<String, ImageIcon> imageCache = new HashMap<>();
+    // set while a turn is in flight, so its result is shown once the AI has replied
+    private boolean awaitingTurnResult = false;
 
     public BattleAIView(BattleAIController controller, BattleAIViewModel viewModel, Runnable returnCallback) {
         this.controller = controller;
@@ -559,6 +561,8 @@ public class BattleAIView extends JFrame implements BattleAIViewModel.ViewModelL
             updateTeamDisplay(playerTeam, playerPokemon);
         }
 
+        updateTurnMessage();
+
         // Check if battle ended
         if ("COMPLETED".equals(battleStatus)) {
             displayBattleEnded();
@@ -679,27 +683,45 @@ public class BattleAIView extends JFrame implements BattleAIViewModel.ViewModelL
     }
 
     private void executeMove(int moveIndex) {
-        // Execute move via controller - all logic is in Interactor
+        // Execute move via controller - all logic is in Interactor.
+        // The turn runs off the EDT; the result arrives through the ViewModel listener.
+        awaitingTurnResult = true;
         controller.executePlayerMove(moveIndex);
-
-        // Get result from ViewModel
-        String result = viewModel.getCurrentTurnDescription();
-        if (result == null) result = "";
-
-        messageArea.setText(result);
         updateDisplay();
     }
 
     private void executeSwitch(int pokemonId) {
         // Execute switch via controller - all logic is in Interactor
+        awaitingTurnResult = true;
         controller.executePlayerSwitch(pokemonId);
+        updateDisplay();
+    }
 
-        // Get result from ViewModel
-        String result = viewModel.getCurrentTurnDescription();
-        if (result == null) result = "";
+    // while the AI is thinking, lock the controls; once it is done, show the turn's result
+    private void updateTurnMessage() {
+        if (viewModel.isThinking()) {
+            messageArea.setText("AI is thinking...");
+            for (JButton button : moveButtons) {
+                button.setEnabled(false);
+            }
+            for (Component component : teamPanel.getComponents()) {
+                component.setEnabled(false);
+            }
+            return;
+        }
+        if (!awaitingTurnResult) {
+            return;
+        }
+        awaitingTurnResult = false;
 
-        messageArea.setText(result);
-        updateDisplay();
+        String result = viewModel.getErrorMessage();
+        if (result != null) {
+            viewModel.setErrorMessage(null);
+        }
+        else {
+            result = viewModel.getCurrentTurnDescription();
+        }
+        messageArea.setText(result != null ? result : "");
     }
 
     private void displayBattleEnded() {
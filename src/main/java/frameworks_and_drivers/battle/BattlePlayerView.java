@@ -3,7 +3,9 @@ package frameworks_and_drivers.battle;
 import entities.battle.Battle;
 import entities.battle.Move;
 import entities.battle.MoveTurn;
+import entities.battle.RandomStreams;
 import entities.battle.SwitchTurn;
+import entities.battle.Turn;
 import entities.user.User;
 import entities.user.UserPlayerAdapter;
 import interface_adapters.battle_player.BattlePlayerController;
@@ -457,23 +459,13 @@ public class BattlePlayerView extends JFrame implements PropertyChangeListener {
         List<String> moves = activePokemon.getMoves();
         if (moves == null || moveIndex >= moves.size()) return;
 
-        processingTurn = true;
-
-        try {
-            String moveName = moves.get(moveIndex);
-            Move move = loadMove(moveName);
-
-            int turnNumber = nextTurnNumber();
-            MoveTurn turn = new MoveTurn(turnNumber, actingPlayer, turnNumber, move, targetPlayer);
-            battlePlayerController.battle(turn);
-
-            BattlePlayerState latestState = battlePlayerViewModel.getState();
-            if (latestState.isBattleEnded() || !"IN_PROGRESS".equals(latestState.getBattleStatus())) return;
+        String moveName = moves.get(moveIndex);
+        Move move = loadMove(moveName);
 
-            setPlayerTurn(!player1Turn);
-        } finally {
-            processingTurn = false;
-        }
+        int turnNumber = nextTurnNumber();
+        MoveTurn turn = new MoveTurn(turnNumber, actingPlayer, turnNumber, move, targetPlayer,
+                currentBattle.getRandomStreams().get(RandomStreams.Stream.DAMAGE));
+        submitTurn(turn);
     }
 
     private void executeSwitchForPlayer(boolean isPlayer1, Pokemon newPokemon) {
@@ -486,7 +478,26 @@ public class BattlePlayerView extends JFrame implements PropertyChangeListener {
         int turnNumber = nextTurnNumber();
         SwitchTurn turn = new SwitchTurn(turnNumber, actingPlayer, turnNumber, previousPokemon, newPokemon);
         actingPlayer.switchPokemon(newPokemon);
-        battlePlayerController.battle(turn);
+        submitTurn(turn);
+    }
+
+    // the turn runs off the EDT; controls stay locked until finishTurn
+    private void submitTurn(Turn turn) {
+        processingTurn = true;
+        disableAllControls();
+        if (!battlePlayerController.battle(turn, this::finishTurn)) {
+            processingTurn = false;
+            updateControlsEnabled();
+        }
+    }
+
+    private void finishTurn(Throwable failure) {
+        processingTurn = false;
+        if (failure != null) {
+            messageArea.setText("Error: " + failure.getMessage());
+            updateControlsEnabled();
+            return;
+        }
 
         BattlePlayerState latestState = battlePlayerViewModel.getState();
         if (latestState.isBattleEnded() || !"IN_PROGRESS".equals(latestState.getBattleStatus())) return;
@@ -495,10 +506,9 @@ public class BattlePlayerView extends JFrame implements PropertyChangeListener {
     }
 
     private Move loadMove(String moveName) {
-        for (Move move : JSONLoader.getInstance().getAllMoves()) {
-            if (move.getName().equalsIgnoreCase(moveName)) {
-                return move;
-            }
+        final Move move = JSONLoader.getInstance().getMoveRepository().getByName(moveName);
+        if (move != null) {
+            return move;
         }
         try {
             return PokeAPIFetcher.getMove(moveName);
@@ -689,7 +699,7 @@ public class BattlePlayerView extends JFrame implements PropertyChangeListener {
     }
 
     private void updateControlsEnabled() {
-        if (currentBattle == null || !"IN_PROGRESS".equals(currentBattle.getBattleStatus())) {
+        if (processingTurn || currentBattle == null || !"IN_PROGRESS".equals(currentBattle.getBattleStatus())) {
             disableAllControls();
             return;
         }
@@ -3,6 +3,7 @@ package frameworks_and_drivers.collection;
 import static frameworks_and_drivers.collection.CollectionViewHelpers.*;
 
 import entities.Pokemon;
+import entities.battle.PokemonType;
 import interface_adapters.collection.ViewCollectionController;
 import interface_adapters.collection.ViewCollectionState;
 import interface_adapters.collection.ViewCollectionViewModel;
@@ -112,9 +113,27 @@ public class CollectionView extends JPanel implements PropertyChangeListener {
     }
 
     public class PokemonFilterPanel extends JPanel {
+        private static final String ANY_TYPE = "Any type";
+
+        private final ButtonGroup group = new ButtonGroup();
+        private final JComboBox<String> typeBox = new JComboBox<>();
 
         private void onFilterChanged(ActionEvent e) {
-            filter = e.getActionCommand().toLowerCase();
+            typeBox.setSelectedItem(ANY_TYPE);
+            applyFilter(e.getActionCommand().toLowerCase());
+        }
+
+        private void onTypeChanged(ActionEvent e) {
+            final String type = (String) typeBox.getSelectedItem();
+            if (type == null || ANY_TYPE.equals(type)) {
+                return;
+            }
+            group.clearSelection();
+            applyFilter(type);
+        }
+
+        private void applyFilter(String newFilter) {
+            filter = newFilter;
             currentPage = 0;
             controller.execute(pokemonOnPage, currentPage, filter);
         }
@@ -126,7 +145,6 @@ public class CollectionView extends JPanel implements PropertyChangeListener {
             JToggleButton ownedButton = new JToggleButton("Owned");
             JToggleButton shinyButton = new JToggleButton("Shiny");
 
-            ButtonGroup group = new ButtonGroup();
             group.add(allButton);
             group.add(ownedButton);
             group.add(shinyButton);
@@ -140,6 +158,13 @@ public class CollectionView extends JPanel implements PropertyChangeListener {
                 button.addActionListener(this::onFilterChanged);
                 add(button);
             }
+
+            typeBox.addItem(ANY_TYPE);
+            for (PokemonType type : PokemonType.values()) {
+                typeBox.addItem(type.getName());
+            }
+            typeBox.addActionListener(this::onTypeChanged);
+            add(typeBox);
         }
     }
 
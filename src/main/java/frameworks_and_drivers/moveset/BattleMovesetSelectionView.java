@@ -363,13 +363,7 @@ public class BattleMovesetSelectionView extends JFrame {
     }
 
     private Move findMoveDetail(String moveName) {
-        if (JSONLoader.getInstance().getAllMoves() == null) return null;
-        for (Move m : JSONLoader.getInstance().getAllMoves()) {
-            if (m.getName().equalsIgnoreCase(moveName)) {
-                return m;
-            }
-        }
-        return null;
+        return JSONLoader.getInstance().getMoveRepository().getByName(moveName);
     }
 
     private String capitalize(String str) {
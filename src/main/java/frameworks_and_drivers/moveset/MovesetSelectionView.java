@@ -311,8 +311,8 @@ public class MovesetSelectionView extends JFrame implements PropertyChangeListen
 
     // test ui
     public static void main(String[] args) {
-        JSONLoader.getInstance().loadPokemon();
-        JSONLoader.getInstance().loadMoves();
+        // getInstance() already loads pokemon.json and moves.json
+        JSONLoader.getInstance();
         ArrayList<Pokemon> team = new ArrayList<>();
         try {
             team.add(pokeapi.PokeAPIFetcher.getPokemon("pikachu"));
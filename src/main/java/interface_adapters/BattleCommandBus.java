@@ -0,0 +1,111 @@
+package interface_adapters;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Runs battle commands (controller -> interactor calls) off the Swing event thread.
+ * A command can take as long as an LLM round-trip, so it runs on a small bounded worker
+ * pool, and its completion callback is handed back to the event thread.
+ *
+ * <p>Commands are keyed, usually by the controller that sent them. While a command is in
+ * flight, further commands with the same key are dropped, so a double click cannot queue
+ * a second turn.
+ */
+public class BattleCommandBus {
+
+    private static final int WORKER_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static volatile BattleCommandBus shared;
+
+    private final Executor worker;
+    private final Executor callbacks;
+    private final Set<Object> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param worker runs the commands
+     * @param callbacks runs completion callbacks, e.g. on the Swing event thread
+     */
+    public BattleCommandBus(Executor worker, Executor callbacks) {
+        this.worker = worker;
+        this.callbacks = callbacks;
+    }
+
+    /**
+     * The application-wide bus: two daemon workers, callbacks on the Swing event thread.
+     */
+    public static BattleCommandBus shared() {
+        if (shared == null) {
+            synchronized (BattleCommandBus.class) {
+                if (shared == null) {
+                    final AtomicInteger count = new AtomicInteger();
+                    final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                            WORKER_THREADS, WORKER_THREADS, 30, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                                final Thread thread = new Thread(runnable, "battle-command-" + count.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    pool.allowCoreThreadTimeOut(true);
+                    shared = new BattleCommandBus(pool, SwingUtilities::invokeLater);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * A bus that runs commands and callbacks on the calling thread, for tests and headless use.
+     */
+    public static BattleCommandBus direct() {
+        return new BattleCommandBus(Runnable::run, Runnable::run);
+    }
+
+    /**
+     * Submit a command unless one with the same key is still in flight.
+     *
+     * @param key identifies who sent the command
+     * @param command the work to run off the event thread
+     * @param onComplete called through the callback executor with the failure, or null on success
+     * @return false if the command was dropped, because the key is busy or the pool is full
+     */
+    public boolean submit(Object key, Runnable command, Consumer<Throwable> onComplete) {
+        if (!inFlight.add(key)) {
+            return false;
+        }
+        try {
+            worker.execute(() -> {
+                Throwable failure = null;
+                try {
+                    command.run();
+                } catch (RuntimeException | Error e) {
+                    failure = e;
+                }
+                final Throwable result = failure;
+                callbacks.execute(() -> {
+                    // released on the callback thread so the view never sees a gap before its callback
+                    inFlight.remove(key);
+                    onComplete.accept(result);
+                });
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            return false;
+        }
+    }
+
+    public boolean isInFlight(Object key) {
+        return inFlight.contains(key);
+    }
+}
@@ -4,19 +4,35 @@ import java.util.List;
 
 import entities.Pokemon;
 import entities.user.User;
+import interface_adapters.BattleCommandBus;
 import use_case.battle_ai.BattleAIInputBoundary;
 import use_case.battle_ai.BattleAIInputData;
 
 /**
  * Controller for Battle AI use case.
  * Handles battle setup, player moves, and player switches.
+ * Moves and switches run through a {@link BattleCommandBus}, because the AI's reply
+ * may wait on the LLM; the view model is marked as thinking until the turn completes.
  */
 public class BattleAIController {
 
     private final BattleAIInputBoundary interactor;
+    private final BattleAIViewModel viewModel;
+    private final BattleCommandBus commandBus;
 
     public BattleAIController(BattleAIInputBoundary interactor) {
+        this(interactor, null, BattleCommandBus.direct());
+    }
+
+    /**
+     * @param viewModel receives the thinking state; may be null
+     * @param commandBus runs the turn commands
+     */
+    public BattleAIController(BattleAIInputBoundary interactor, BattleAIViewModel viewModel,
+                              BattleCommandBus commandBus) {
         this.interactor = interactor;
+        this.viewModel = viewModel;
+        this.commandBus = commandBus;
     }
 
     /**
@@ -35,8 +51,7 @@ public class BattleAIController {
      * @param pokemonId the ID of the Pokemon to switch to.
      */
     public void executePlayerSwitch(int pokemonId) {
-        final BattleAIInputData inputData = BattleAIInputData.forSwitchById(pokemonId);
-        interactor.execute(inputData);
+        dispatch(BattleAIInputData.forSwitchById(pokemonId));
     }
 
     /**
@@ -44,7 +59,36 @@ public class BattleAIController {
      * @param moveIndex the index of the move in the active Pokemon's move list.
      */
     public void executePlayerMove(int moveIndex) {
-        final BattleAIInputData inputData = new BattleAIInputData(moveIndex);
-        interactor.execute(inputData);
+        dispatch(new BattleAIInputData(moveIndex));
+    }
+
+    /**
+     * Whether a move or switch is still being processed.
+     */
+    public boolean isBusy() {
+        return commandBus.isInFlight(this);
+    }
+
+    // one turn at a time: clicks while a turn is in flight are ignored
+    private void dispatch(BattleAIInputData inputData) {
+        if (commandBus.isInFlight(this)) {
+            return;
+        }
+        setThinking(true);
+        final boolean accepted = commandBus.submit(this, () -> interactor.execute(inputData), failure -> {
+            setThinking(false);
+            if (failure != null && viewModel != null) {
+                viewModel.setErrorMessage("Turn failed: " + failure.getMessage());
+            }
+        });
+        if (!accepted) {
+            setThinking(false);
+        }
+    }
+
+    private void setThinking(boolean thinking) {
+        if (viewModel != null) {
+            viewModel.setThinking(thinking);
+        }
     }
 }
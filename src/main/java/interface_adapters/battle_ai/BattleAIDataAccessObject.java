@@ -8,6 +8,7 @@ import entities.battle.Battle;
 import entities.battle.Move;
 import entities.Pokemon;
 import entities.user.User;
+import pokeapi.MoveRepository;
 import use_case.battle_ai.BattleAIUserDataAccessInterface;
 
 
@@ -20,7 +21,7 @@ import use_case.battle_ai.BattleAIUserDataAccessInterface;
 public class BattleAIDataAccessObject implements BattleAIUserDataAccessInterface {
 
     private final List<Pokemon> allPokemon;
-    private final List<Move> allMoves;
+    private final MoveRepository moveRepository;
 
     private User currentUser;
     private Battle currentBattle;
@@ -28,9 +29,9 @@ public class BattleAIDataAccessObject implements BattleAIUserDataAccessInterface
     private AIPlayer aiPlayer;
     private Pokemon playerActivePokemon;
 
-    public BattleAIDataAccessObject(List<Pokemon> allPokemon, List<Move> allMoves) {
+    public BattleAIDataAccessObject(List<Pokemon> allPokemon, MoveRepository moveRepository) {
         this.allPokemon = allPokemon;
-        this.allMoves = allMoves;
+        this.moveRepository = moveRepository;
         this.currentUser = null;
         this.currentBattle = null;
         this.playerTeam = new ArrayList<>();
@@ -95,11 +96,6 @@ public class BattleAIDataAccessObject implements BattleAIUserDataAccessInterface
 
     @Override
     public Move getMoveByName(String moveName) {
-        for (Move move : allMoves) {
-            if (move.getName().equalsIgnoreCase(moveName)) {
-                return move;
-            }
-        }
-        return null;
+        return moveRepository.getByName(moveName);
     }
 }
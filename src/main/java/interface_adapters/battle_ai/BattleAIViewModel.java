@@ -34,6 +34,8 @@ public class BattleAIViewModel {
     private boolean battleEnded;
     private String playerSwitchedToName;
     private String aiSwitchedToName;
+    // true while a player turn and the AI's reply are being processed
+    private boolean thinking;
 
     // Listeners for observer pattern
     private final List<ViewModelListener> listeners;
@@ -132,6 +134,10 @@ public class BattleAIViewModel {
         return aiSwitchedToName;
     }
 
+    public boolean isThinking() {
+        return thinking;
+    }
+
     /**
      * Sets battle status.
      * @param battleStatus new status
@@ -267,6 +273,15 @@ public class BattleAIViewModel {
         notifyListeners();
     }
 
+    /**
+     * Sets the thinking flag while a turn is in flight.
+     * @param thinking flag
+     */
+    public void setThinking(boolean thinking) {
+        this.thinking = thinking;
+        notifyListeners();
+    }
+
     /**
      * Nested class representing a simplified Pokemon view model.
      */
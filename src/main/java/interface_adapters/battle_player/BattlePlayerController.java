@@ -1,6 +1,9 @@
 package interface_adapters.battle_player;
 
+import java.util.function.Consumer;
+
 import entities.battle.Turn;
+import interface_adapters.BattleCommandBus;
 import use_case.battle_player.BattlePlayerInputData;
 import use_case.battle_player.BattlePlayerInputBoundary;
 
@@ -11,9 +14,16 @@ import use_case.battle_player.BattlePlayerInputBoundary;
 public class BattlePlayerController {
 
     private final BattlePlayerInputBoundary battlePlayerUseCaseInteractor;
+    private final BattleCommandBus commandBus;
 
     public BattlePlayerController(BattlePlayerInputBoundary battlePlayerUseCaseInteractor) {
+        this(battlePlayerUseCaseInteractor, BattleCommandBus.direct());
+    }
+
+    public BattlePlayerController(BattlePlayerInputBoundary battlePlayerUseCaseInteractor,
+                                  BattleCommandBus commandBus) {
         this.battlePlayerUseCaseInteractor = battlePlayerUseCaseInteractor;
+        this.commandBus = commandBus;
     }
 
     /**
@@ -21,7 +31,18 @@ public class BattlePlayerController {
      * @param turn turn data
      */
     public void battle(Turn turn) {
+        battle(turn, failure -> { });
+    }
+
+    /**
+     * Runs a battle turn through the command bus.
+     * @param turn turn data
+     * @param onComplete called once the turn is done, with the failure or null
+     * @return false if another turn is still in flight and this one was dropped
+     */
+    public boolean battle(Turn turn, Consumer<Throwable> onComplete) {
         final BattlePlayerInputData battlePlayerInputData = new BattlePlayerInputData(turn);
-        battlePlayerUseCaseInteractor.execute(battlePlayerInputData);
+        return commandBus.submit(this, () -> battlePlayerUseCaseInteractor.execute(battlePlayerInputData),
+                onComplete);
     }
 }
@@ -49,11 +49,6 @@ public class PickMovesetController {
      * @return the move or null
      */
     public Move fetchMoveDetail(String name) {
-        for (Move m : JSONLoader.getInstance().getAllMoves()) {
-            if (m.getName().equalsIgnoreCase(name)) {
-                return m;
-            }
-        }
-        return null;
+        return JSONLoader.getInstance().getMoveRepository().getByName(name);
     }
 }
@@ -1,75 +1,315 @@
 package pokeapi;
 
+import entities.battle.Learnset;
 import entities.battle.Move;
+import entities.battle.Stats;
 import entities.Pokemon;
-import org.json.JSONArray;
+import entities.Species;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class JSONLoader {
 
+    static final String POKEMON_PATH = "src/assets/data/pokemon.json";
+    static final String MOVES_PATH = "src/assets/data/moves.json";
+
+    // two daemon workers: one builds the loader (and parses Pokemon), the other parses moves
+    private static final ExecutorService LOADER_POOL = Executors.newFixedThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "json-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     // singleton instance
     private static volatile JSONLoader instance;
+    private static volatile CompletableFuture<JSONLoader> loading;
 
     // canonical storage lists
-    private final ArrayList<Pokemon> allPokemon = new ArrayList<>();
-    private final ArrayList<Move> allMoves = new ArrayList<>();
+    private final VersionedList<Pokemon> allPokemon = new VersionedList<>();
+    private final VersionedList<Move> allMoves = new VersionedList<>();
+
+    // name/ID index over allMoves
+    private final MoveRepository moveRepository = new MoveRepository(allMoves);
+
+    // id/name indexes over allPokemon
+    private final PokemonRepository pokemonRepository = new PokemonRepository(allPokemon);
 
-    // private constructor
+    // private constructor: use the binary snapshot when it is up to date,
+    // otherwise parse pokemon.json and moves.json concurrently and write a fresh snapshot
     private JSONLoader() {
-        loadPokemon();
-        loadMoves();
+        final PokedexSnapshot.Contents snapshot =
+                PokedexSnapshot.readIfFresh(PokedexSnapshot.DEFAULT_PATH, POKEMON_PATH, MOVES_PATH);
+        if (snapshot != null) {
+            allPokemon.addAll(snapshot.getPokemon());
+            allMoves.addAll(snapshot.getMoves());
+            return;
+        }
+
+        final CompletableFuture<List<Move>> moves =
+                CompletableFuture.supplyAsync(() -> readMoves(MOVES_PATH), LOADER_POOL);
+        allPokemon.addAll(readPokemon(POKEMON_PATH));
+        allMoves.addAll(join(moves));
+        shareLearnsets(allPokemon);
+
+        try {
+            PokedexSnapshot.write(PokedexSnapshot.DEFAULT_PATH, POKEMON_PATH, MOVES_PATH, allPokemon, allMoves);
+        } catch (IOException e) {
+            // the snapshot is only a cache, so carry on with the JSON data
+            System.err.println("Could not write Pokedex snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Start loading the data files in the background, if that has not happened yet.
+     * The UI can render while this runs and pick the data up once the future completes.
+     */
+    public static CompletableFuture<JSONLoader> loadAsync() {
+        if (loading == null) {
+            synchronized (JSONLoader.class) {
+                if (loading == null) {
+                    loading = CompletableFuture.supplyAsync(JSONLoader::new, LOADER_POOL);
+                }
+            }
+        }
+        return loading;
     }
 
-    // singleton getter
+    /**
+     * The Pokemon repository, available once loading finishes.
+     */
+    public static CompletableFuture<PokemonRepository> pokemonRepositoryAsync() {
+        return loadAsync().thenApply(JSONLoader::getPokemonRepository);
+    }
+
+    /**
+     * The move repository, available once loading finishes.
+     */
+    public static CompletableFuture<MoveRepository> moveRepositoryAsync() {
+        return loadAsync().thenApply(JSONLoader::getMoveRepository);
+    }
+
+    // singleton getter, blocks until loading finishes
     public static JSONLoader getInstance() {
         if (instance == null) {
             synchronized (JSONLoader.class) {
                 if (instance == null) {
-                    instance = new JSONLoader();
+                    instance = join(loadAsync());
                 }
             }
         }
         return instance;
     }
 
+    // unwrap so callers see the same RuntimeException the loader threw
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     // file reading utility
-    private static String readFile(String path) throws IOException {
-        return new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+    private static JSONStreamReader open(String path) throws IOException {
+        return new JSONStreamReader(Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8));
     }
 
     // load Pokémon
     public void loadPokemon() {
-        try {
-            String jsonContent = readFile("src/assets/data/pokemon.json");
-            JSONArray pokemonJSONArray = new JSONArray(jsonContent);
+        final List<Pokemon> loaded = readPokemon(POKEMON_PATH);
+        shareLearnsets(loaded);
+        allPokemon.addAll(loaded);
+    }
 
-            for (int i = 0; i < pokemonJSONArray.length(); i++) {
-                allPokemon.add(Pokemon.fromJSON(pokemonJSONArray.getJSONObject(i)));
+    // swap each parsed move list for a shared move-ID learnset
+    private void shareLearnsets(List<Pokemon> pokemon) {
+        for (Pokemon p : pokemon) {
+            final Learnset learnset = moveRepository.toLearnset(p.getMoveNames());
+            if (learnset != null) {
+                p.setLearnset(learnset);
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load Pokémon", e);
         }
     }
 
     // load Moves
     public void loadMoves() {
-        try {
-            String jsonContent = readFile("src/assets/data/moves.json");
-            JSONArray moveJSONArray = new JSONArray(jsonContent);
+        allMoves.addAll(readMoves(MOVES_PATH));
+    }
 
-            for (int i = 0; i < moveJSONArray.length(); i++) {
-                allMoves.add(Move.fromJSON(moveJSONArray.getJSONObject(i)));
+    private static List<Pokemon> readPokemon(String path) {
+        try (JSONStreamReader reader = open(path)) {
+            final List<Pokemon> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(readPokemon(reader));
             }
+            reader.endArray();
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load Pokémon", e);
+        }
+    }
+
+    private static List<Move> readMoves(String path) {
+        try (JSONStreamReader reader = open(path)) {
+            final List<Move> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(readMove(reader));
+            }
+            reader.endArray();
+            return result;
         } catch (IOException e) {
             throw new RuntimeException("Failed to load moves", e);
         }
     }
 
+    // mirrors Pokemon.fromJSON
+    private static Pokemon readPokemon(JSONStreamReader reader) throws IOException {
+        String name = null;
+        Integer id = null;
+        ArrayList<String> types = new ArrayList<>();
+        ArrayList<String> moves = new ArrayList<>();
+        Stats stats = null;
+        Boolean shiny = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    name = reader.nextString();
+                    break;
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "types":
+                    types = readStrings(reader);
+                    break;
+                case "moves":
+                    moves = readStrings(reader);
+                    break;
+                case "stats":
+                    stats = readStats(reader);
+                    break;
+                case "shiny":
+                    shiny = reader.nextBoolean();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (name == null || id == null || stats == null) {
+            throw new IOException("Pokemon entry is missing name, id or stats");
+        }
+        final Pokemon p = new Pokemon(new Species(name, id, types, stats, null));
+        p.setMoves(moves);
+        if (shiny != null) {
+            p.setShiny(shiny);
+        }
+        return p;
+    }
+
+    // mirrors Stats.fromJSON
+    private static Stats readStats(JSONStreamReader reader) throws IOException {
+        int hp = 0;
+        int attack = 0;
+        int defense = 0;
+        int spAttack = 0;
+        int spDefense = 0;
+        int speed = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "hp":
+                    hp = reader.nextInt();
+                    break;
+                case "attack":
+                    attack = reader.nextInt();
+                    break;
+                case "defense":
+                    defense = reader.nextInt();
+                    break;
+                case "sp_attack":
+                    spAttack = reader.nextInt();
+                    break;
+                case "sp_defense":
+                    spDefense = reader.nextInt();
+                    break;
+                case "speed":
+                    speed = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Stats(hp, attack, defense, spAttack, spDefense, speed);
+    }
+
+    // mirrors Move.fromJSON
+    private static Move readMove(JSONStreamReader reader) throws IOException {
+        final Move move = new Move();
+        Integer priority = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    move.setName(reader.nextString());
+                    break;
+                case "type":
+                    move.setType(reader.nextString());
+                    break;
+                case "damageClass":
+                    move.setDamageClass(reader.nextString());
+                    break;
+                case "power":
+                    move.setPower(reader.nextInteger());
+                    break;
+                case "accuracy":
+                    move.setAccuracy(reader.nextInteger());
+                    break;
+                case "priority":
+                    priority = reader.nextInteger();
+                    break;
+                case "effect":
+                    move.setEffect(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        move.setPriority(priority == null ? 0 : priority);
+        return move;
+    }
+
+    private static ArrayList<String> readStrings(JSONStreamReader reader) throws IOException {
+        final ArrayList<String> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            list.add(reader.nextString());
+        }
+        reader.endArray();
+        return list;
+    }
+
     // getters
     public ArrayList<Pokemon> getAllPokemon() {
         return allPokemon;
@@ -78,4 +318,12 @@ public class JSONLoader {
     public ArrayList<Move> getAllMoves() {
         return allMoves;
     }
+
+    public MoveRepository getMoveRepository() {
+        return moveRepository;
+    }
+
+    public PokemonRepository getPokemonRepository() {
+        return pokemonRepository;
+    }
 }
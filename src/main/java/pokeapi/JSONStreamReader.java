@@ -0,0 +1,484 @@
+package pokeapi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Minimal pull parser for JSON.
+ * Tokens are read straight from the underlying {@link Reader} through a small buffer,
+ * so callers can build entities as they go without first materialising the whole
+ * document as a String and an org.json tree. A stack of open arrays and objects tracks
+ * which separator must come next, so missing, doubled or trailing ',' and ':' are
+ * rejected like any other malformed input.
+ */
+public class JSONStreamReader implements Closeable {
+
+    /**
+     * Kinds of value that can appear next in the stream.
+     */
+    public enum Token {
+        BEGIN_ARRAY, END_ARRAY, BEGIN_OBJECT, END_OBJECT, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    // what the innermost open scope expects next
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    // an object key has been read, its ':' and value have not
+    private static final int DANGLING_NAME = 6;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+
+    // reused for strings that span buffer refills or contain escapes
+    private final StringBuilder scratch = new StringBuilder();
+
+    private int[] scopes = new int[32];
+    private int depth = 1;
+    // whether the separator before the next token has already been consumed
+    private boolean separated;
+
+    public JSONStreamReader(Reader reader) {
+        this.reader = reader;
+        scopes[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Look at the next token without consuming it.
+     * The separator before it (',' or ':') is consumed and checked.
+     */
+    public Token peek() throws IOException {
+        final int c = peekSignificant();
+        switch (c) {
+            case -1:
+                return Token.END_DOCUMENT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case ']':
+                return Token.END_ARRAY;
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '}':
+                return Token.END_OBJECT;
+            case '"':
+                return Token.STRING;
+            case 't':
+            case 'f':
+                return Token.BOOLEAN;
+            case 'n':
+                return Token.NULL;
+            default:
+                return Token.NUMBER;
+        }
+    }
+
+    public void beginArray() throws IOException {
+        checkValueAllowed();
+        expect('[');
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        if (scopes[depth - 1] != EMPTY_ARRAY && scopes[depth - 1] != NONEMPTY_ARRAY) {
+            throw syntaxError("Not in an array");
+        }
+        expect(']');
+        depth--;
+        afterValue();
+    }
+
+    public void beginObject() throws IOException {
+        checkValueAllowed();
+        expect('{');
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        if (scopes[depth - 1] != EMPTY_OBJECT && scopes[depth - 1] != NONEMPTY_OBJECT) {
+            throw syntaxError(scopes[depth - 1] == DANGLING_NAME ? "Expected a value" : "Not in an object");
+        }
+        expect('}');
+        depth--;
+        afterValue();
+    }
+
+    /**
+     * Whether the current array or object has another element.
+     */
+    public boolean hasNext() throws IOException {
+        final int c = peekSignificant();
+        return c != ']' && c != '}' && c != -1;
+    }
+
+    /**
+     * Read the next object key.
+     */
+    public String nextName() throws IOException {
+        if (!expectingName()) {
+            throw syntaxError("Expected a value but was a name");
+        }
+        final String name = readString();
+        scopes[depth - 1] = DANGLING_NAME;
+        separated = false;
+        return name;
+    }
+
+    public String nextString() throws IOException {
+        checkValueAllowed();
+        final String value = readString();
+        afterValue();
+        return value;
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        // fast path: the whole string sits in the buffer with no escapes
+        for (int i = pos; i < limit; i++) {
+            final char c = buffer[i];
+            if (c == '"') {
+                final String result = new String(buffer, pos, i - pos);
+                pos = i + 1;
+                return result;
+            }
+            if (c == '\\') {
+                break;
+            }
+        }
+        scratch.setLength(0);
+        while (true) {
+            final int c = read();
+            if (c == -1) {
+                throw syntaxError("Unterminated string");
+            }
+            if (c == '"') {
+                return scratch.toString();
+            }
+            if (c == '\\') {
+                scratch.append(readEscape());
+            }
+            else {
+                scratch.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Read the next value as an int. Quoted numbers are accepted, since moves.json stores
+     * its numeric fields as strings.
+     *
+     * @return the value, or null if it is JSON null or a string that is not a number
+     */
+    public Integer nextInteger() throws IOException {
+        final Token token = peek();
+        if (token == Token.NULL) {
+            skipValue();
+            return null;
+        }
+        if (token == Token.STRING) {
+            try {
+                return Integer.parseInt(nextString());
+            }
+            catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return nextInt();
+    }
+
+    public int nextInt() throws IOException {
+        final String literal = nextLiteral();
+        try {
+            return Integer.parseInt(literal);
+        }
+        catch (NumberFormatException e) {
+            throw syntaxError("Expected an int but was " + literal);
+        }
+    }
+
+    public boolean nextBoolean() throws IOException {
+        final String literal = nextLiteral();
+        if ("true".equals(literal)) {
+            return true;
+        }
+        if ("false".equals(literal)) {
+            return false;
+        }
+        throw syntaxError("Expected a boolean but was " + literal);
+    }
+
+    /**
+     * Skip the next value, including any nested arrays or objects.
+     */
+    public void skipValue() throws IOException {
+        int nesting = 0;
+        do {
+            final Token token = peek();
+            switch (token) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    nesting++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    nesting++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    nesting--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    nesting--;
+                    break;
+                case STRING:
+                    if (expectingName()) {
+                        nextName();
+                    }
+                    else {
+                        nextString();
+                    }
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of document");
+                default:
+                    checkLiteral(token, nextLiteral());
+            }
+        } while (nesting > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void checkLiteral(Token token, String literal) throws IOException {
+        final boolean valid;
+        if (token == Token.NULL) {
+            valid = "null".equals(literal);
+        }
+        else if (token == Token.BOOLEAN) {
+            valid = "true".equals(literal) || "false".equals(literal);
+        }
+        else {
+            valid = isNumber(literal);
+        }
+        if (!valid) {
+            throw syntaxError("Unexpected literal " + literal);
+        }
+    }
+
+    private static boolean isNumber(String literal) {
+        try {
+            Double.parseDouble(literal);
+            return Character.isDigit(literal.charAt(literal.length() - 1));
+        }
+        catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean expectingName() {
+        final int scope = scopes[depth - 1];
+        return scope == EMPTY_OBJECT || scope == NONEMPTY_OBJECT;
+    }
+
+    private void checkValueAllowed() throws IOException {
+        if (expectingName()) {
+            throw syntaxError("Expected a name");
+        }
+    }
+
+    private void push(int scope) {
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+        separated = false;
+    }
+
+    // a complete value was read in the current scope
+    private void afterValue() {
+        switch (scopes[depth - 1]) {
+            case EMPTY_DOCUMENT:
+                scopes[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case EMPTY_ARRAY:
+                scopes[depth - 1] = NONEMPTY_ARRAY;
+                break;
+            case DANGLING_NAME:
+                scopes[depth - 1] = NONEMPTY_OBJECT;
+                break;
+            default:
+                break;
+        }
+        separated = false;
+    }
+
+    private void expect(char expected) throws IOException {
+        final int c = peekSignificant();
+        if (c != expected) {
+            throw syntaxError("Expected '" + expected + "' but was "
+                    + (c == -1 ? "end of document" : "'" + (char) c + "'"));
+        }
+        pos++;
+    }
+
+    // numbers, true, false and null
+    private String nextLiteral() throws IOException {
+        checkValueAllowed();
+        final String literal = readLiteral();
+        afterValue();
+        return literal;
+    }
+
+    private String readLiteral() throws IOException {
+        peekSignificant();
+        scratch.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            final char c = buffer[pos];
+            if (c == ',' || c == ']' || c == '}' || c == ':' || Character.isWhitespace(c)) {
+                break;
+            }
+            scratch.append(c);
+            pos++;
+        }
+        if (scratch.length() == 0) {
+            throw syntaxError("Expected a value");
+        }
+        return scratch.toString();
+    }
+
+    private char readEscape() throws IOException {
+        final int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid unicode escape");
+                    }
+                    code = (code << 4) | digit;
+                }
+                return (char) code;
+            default:
+                throw syntaxError("Invalid escape sequence");
+        }
+    }
+
+    // skip whitespace and the separator the current scope requires, returning the next
+    // char without consuming it
+    private int peekSignificant() throws IOException {
+        int c = skipWhitespace();
+        if (separated) {
+            return c;
+        }
+        switch (scopes[depth - 1]) {
+            case NONEMPTY_ARRAY:
+                c = skipSeparator(c, ']');
+                break;
+            case NONEMPTY_OBJECT:
+                c = skipSeparator(c, '}');
+                break;
+            case DANGLING_NAME:
+                if (c != ':') {
+                    throw syntaxError("Expected ':' after a name");
+                }
+                pos++;
+                c = skipWhitespace();
+                break;
+            case NONEMPTY_DOCUMENT:
+                if (c != -1) {
+                    throw syntaxError("Expected end of document");
+                }
+                break;
+            default:
+                break;
+        }
+        if (c == ',' || c == ':') {
+            throw syntaxError("Unexpected '" + (char) c + "'");
+        }
+        separated = true;
+        return c;
+    }
+
+    // between elements: either the closing bracket or a ',' and another element
+    private int skipSeparator(int c, char close) throws IOException {
+        if (c == close) {
+            return c;
+        }
+        if (c != ',') {
+            throw syntaxError("Expected ',' or '" + close + "'");
+        }
+        pos++;
+        final int next = skipWhitespace();
+        if (next == close) {
+            throw syntaxError("Trailing ','");
+        }
+        return next;
+    }
+
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            final char c = buffer[pos];
+            if (Character.isWhitespace(c)) {
+                pos++;
+            }
+            else {
+                return c;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        final int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            pos = 0;
+            limit = 0;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException("Malformed JSON: " + message);
+    }
+}
@@ -0,0 +1,344 @@
+package pokeapi;
+
+import entities.Pokemon;
+import entities.battle.DamageCalculator;
+import entities.battle.Move;
+import entities.battle.PokemonType;
+import entities.battle.Stats;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Species-vs-species matchups for every pair in the Pokedex, computed offline from base
+ * stats and learnsets and memory-mapped from a file next to the JSON data. Each entry is
+ * two bytes: the attacker's best learnable move's damage at the mean roll as a share of the
+ * defender's HP, quantized to 0..255 over 0 to {@link #MAX_SHARE}, and which of the two is
+ * faster. Shares go past 1 because with raw base stats most best moves knock out in one
+ * hit, and the overkill still tells matchups apart. A query is one read from the mapped file.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * header   magic, version, size and mtime of both source files
+ * species  count n, then n species ids, in matrix order
+ * entries  n x n rows of (u8 damage share, s8 speed order), attacker-major
+ * </pre>
+ * Like {@link PokedexSnapshot}, the file is rebuilt when the JSON files change.
+ */
+public final class MatchupMatrix {
+
+    public static final String DEFAULT_PATH = "src/assets/data/matchups.bin";
+    // damage shares are kept up to this many times the defender's HP
+    public static final double MAX_SHARE = 4.0;
+
+    private static final int MAGIC = 0x4D544348; // "MTCH"
+    private static final int VERSION = 1;
+    private static final int ENTRY_BYTES = 2;
+    private static final double SHARE_SCALE = 255.0 / MAX_SHARE;
+    private static final double MEAN_ROLL = DamageCalculator.MIN_RANDOM_FACTOR
+            + DamageCalculator.RANDOM_FACTOR_RANGE / 2.0;
+
+    private static volatile MatchupMatrix instance;
+
+    private final ByteBuffer entries;
+    private final int size;
+    // species id -> matrix index, -1 for unknown ids
+    private final int[] indexById;
+
+    private MatchupMatrix(ByteBuffer entries, int[] speciesIds) {
+        this.entries = entries;
+        this.size = speciesIds.length;
+        int maxId = 0;
+        for (int id : speciesIds) {
+            maxId = Math.max(maxId, id);
+        }
+        this.indexById = new int[maxId + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < speciesIds.length; i++) {
+            if (speciesIds[i] >= 0 && indexById[speciesIds[i]] < 0) {
+                indexById[speciesIds[i]] = i;
+            }
+        }
+    }
+
+    /**
+     * The matrix for the loaded Pokedex: mapped from {@link #DEFAULT_PATH} if it is up to
+     * date, otherwise computed and written there first. Blocks until the Pokedex is loaded.
+     */
+    public static MatchupMatrix get() {
+        if (instance == null) {
+            synchronized (MatchupMatrix.class) {
+                if (instance == null) {
+                    instance = loadOrBuild(DEFAULT_PATH, JSONLoader.POKEMON_PATH, JSONLoader.MOVES_PATH);
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static MatchupMatrix loadOrBuild(String matrixPath, String pokemonPath, String movesPath) {
+        final MatchupMatrix mapped = readIfFresh(matrixPath, pokemonPath, movesPath);
+        if (mapped != null) {
+            return mapped;
+        }
+        final JSONLoader loader = JSONLoader.getInstance();
+        final List<Pokemon> pokemon = loader.getAllPokemon();
+        final byte[] matrix = compute(pokemon, loader.getMoveRepository());
+        try {
+            write(matrixPath, pokemonPath, movesPath, speciesIds(pokemon), matrix);
+            final MatchupMatrix written = readIfFresh(matrixPath, pokemonPath, movesPath);
+            if (written != null) {
+                return written;
+            }
+        } catch (IOException e) {
+            // the file is only a cache, so keep the computed matrix in memory
+            System.err.println("Could not write matchup matrix: " + e.getMessage());
+        }
+        return new MatchupMatrix(ByteBuffer.wrap(matrix), speciesIds(pokemon));
+    }
+
+    /**
+     * Map the matrix if the file exists and was built from the current versions of the JSON files.
+     *
+     * @return the matrix, or null if the file is missing, stale or unreadable
+     */
+    public static MatchupMatrix readIfFresh(String matrixPath, String pokemonPath, String movesPath) {
+        final Path path = Paths.get(matrixPath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || !matchesSource(buffer, pokemonPath) || !matchesSource(buffer, movesPath)) {
+                return null;
+            }
+            final int[] ids = new int[buffer.getInt()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = buffer.getInt();
+            }
+            if (buffer.remaining() != (long) ids.length * ids.length * ENTRY_BYTES) {
+                return null;
+            }
+            return new MatchupMatrix(buffer.slice(), ids);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.println("Ignoring unreadable matchup matrix: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Compute the matrix for the given Pokedex and write it, stamped with the current state
+     * of the JSON files. Written to a temporary path and moved into place.
+     */
+    public static void write(String matrixPath, String pokemonPath, String movesPath,
+                             List<Pokemon> pokemon, MoveRepository moves) throws IOException {
+        write(matrixPath, pokemonPath, movesPath, speciesIds(pokemon), compute(pokemon, moves));
+    }
+
+    private static void write(String matrixPath, String pokemonPath, String movesPath,
+                              int[] speciesIds, byte[] matrix) throws IOException {
+        final Path target = Paths.get(matrixPath);
+        final Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeSource(out, pokemonPath);
+            writeSource(out, movesPath);
+            out.writeInt(speciesIds.length);
+            for (int id : speciesIds) {
+                out.writeInt(id);
+            }
+            out.write(matrix);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Build the matrix ahead of time, e.g. as a packaging step.
+     */
+    public static void main(String[] args) throws IOException {
+        final JSONLoader loader = JSONLoader.getInstance();
+        final long started = System.nanoTime();
+        write(DEFAULT_PATH, JSONLoader.POKEMON_PATH, JSONLoader.MOVES_PATH,
+                loader.getAllPokemon(), loader.getMoveRepository());
+        System.out.printf("Wrote %s for %d species in %d ms%n", DEFAULT_PATH, loader.getAllPokemon().size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean contains(int speciesId) {
+        return index(speciesId) >= 0;
+    }
+
+    /**
+     * Damage of the attacker's best learnable move at the mean roll as a share of the
+     * defender's HP, 0 to {@link #MAX_SHARE}; 0 if either species is unknown or the attacker
+     * learns no damaging move.
+     */
+    public double damageShare(int attackerId, int defenderId) {
+        final int offset = offset(attackerId, defenderId);
+        return offset < 0 ? 0.0 : Byte.toUnsignedInt(entries.get(offset)) / SHARE_SCALE;
+    }
+
+    /**
+     * 1 if the attacker is faster, -1 if slower, 0 on a speed tie or for unknown species.
+     */
+    public int speedOrder(int attackerId, int defenderId) {
+        final int offset = offset(attackerId, defenderId);
+        return offset < 0 ? 0 : entries.get(offset + 1);
+    }
+
+    /**
+     * Hits of its best move the attacker needs to knock the defender out from full HP,
+     * or {@link Integer#MAX_VALUE} if it cannot.
+     */
+    public int hitsToKnockOut(int attackerId, int defenderId) {
+        final int offset = offset(attackerId, defenderId);
+        final int share = offset < 0 ? 0 : Byte.toUnsignedInt(entries.get(offset));
+        return share == 0 ? Integer.MAX_VALUE : (int) Math.ceil(SHARE_SCALE / share - 1e-9);
+    }
+
+    /**
+     * Whether the first species wins a one-on-one from full HP: it needs fewer hits to
+     * knock the other out, or as many and it is faster.
+     */
+    public boolean beats(int speciesId, int otherId) {
+        final int mine = hitsToKnockOut(speciesId, otherId);
+        final int theirs = hitsToKnockOut(otherId, speciesId);
+        return mine < theirs || (mine == theirs && mine != Integer.MAX_VALUE && speedOrder(speciesId, otherId) > 0);
+    }
+
+    /**
+     * How much more of the other's HP the species takes per hit than it loses,
+     * -{@link #MAX_SHARE} to {@link #MAX_SHARE}.
+     */
+    public double advantage(int speciesId, int otherId) {
+        return damageShare(speciesId, otherId) - damageShare(otherId, speciesId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int index(int speciesId) {
+        return speciesId >= 0 && speciesId < indexById.length ? indexById[speciesId] : -1;
+    }
+
+    private int offset(int attackerId, int defenderId) {
+        final int attacker = index(attackerId);
+        final int defender = index(defenderId);
+        if (attacker < 0 || defender < 0) {
+            return -1;
+        }
+        return (attacker * size + defender) * ENTRY_BYTES;
+    }
+
+    // every damaging move of the same type and class differs only in power, so each attacker
+    // needs at most one candidate per type and class
+    static byte[] compute(List<Pokemon> pokemon, MoveRepository moves) {
+        final int n = pokemon.size();
+        final int types = PokemonType.COUNT;
+        final Stats[] stats = new Stats[n];
+        final PokemonType[][] typeIds = new PokemonType[n][];
+        for (int i = 0; i < n; i++) {
+            final Pokemon p = pokemon.get(i);
+            stats[i] = p.getSpecies().hasBaseStats() ? p.getSpecies().getBaseStats() : new Stats();
+            typeIds[i] = p.getTypeIds();
+        }
+        // effectiveness[type][defender]
+        final double[][] effectiveness = new double[types][n];
+        for (int t = 0; t < types; t++) {
+            for (int d = 0; d < n; d++) {
+                effectiveness[t][d] = DamageCalculator.getTypeEffectiveness(PokemonType.fromOrdinal(t), typeIds[d]);
+            }
+        }
+
+        final byte[] matrix = new byte[n * n * ENTRY_BYTES];
+        // best power per [special][type] for the current attacker
+        final int[][] power = new int[2][types];
+        for (int a = 0; a < n; a++) {
+            for (int[] row : power) {
+                Arrays.fill(row, 0);
+            }
+            final List<String> learnset = pokemon.get(a).getMoveNames();
+            if (learnset != null) {
+                for (String name : learnset) {
+                    final Move move = moves.getByName(name);
+                    if (move == null || move.getPower() == null || move.getPower() <= 0
+                            || move.getTypeId() == null || "status".equalsIgnoreCase(move.getDamageClass())) {
+                        continue;
+                    }
+                    final int special = "special".equalsIgnoreCase(move.getDamageClass()) ? 1 : 0;
+                    final int type = move.getTypeId().ordinal();
+                    power[special][type] = Math.max(power[special][type], move.getPower());
+                }
+            }
+            final double[] stab = new double[types];
+            for (int t = 0; t < types; t++) {
+                stab[t] = 1.0;
+                for (PokemonType own : typeIds[a]) {
+                    if (own.ordinal() == t) {
+                        stab[t] = 1.5;
+                    }
+                }
+            }
+
+            for (int d = 0; d < n; d++) {
+                int best = 0;
+                for (int special = 0; special < 2; special++) {
+                    final int attack = special == 1 ? stats[a].getSpAttack() : stats[a].getAttack();
+                    final int defense = special == 1 ? stats[d].getSpDefense() : stats[d].getDefense();
+                    for (int t = 0; t < types; t++) {
+                        if (power[special][t] > 0) {
+                            best = Math.max(best, DamageCalculator.calculateDamage(power[special][t], attack, defense,
+                                    stab[t], effectiveness[t][d], MEAN_ROLL));
+                        }
+                    }
+                }
+                final double share = Math.min(MAX_SHARE, best / (double) Math.max(1, stats[d].getMaxHp()));
+                final int offset = (a * n + d) * ENTRY_BYTES;
+                // any damage at all stays distinguishable from none
+                matrix[offset] = (byte) (best == 0 ? 0 : Math.max(1, (int) Math.round(share * SHARE_SCALE)));
+                matrix[offset + 1] = (byte) Integer.signum(stats[a].getSpeed() - stats[d].getSpeed());
+            }
+        }
+        return matrix;
+    }
+
+    private static int[] speciesIds(List<Pokemon> pokemon) {
+        final int[] ids = new int[pokemon.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = pokemon.get(i).getId();
+        }
+        return ids;
+    }
+
+    private static void writeSource(DataOutputStream out, String sourcePath) throws IOException {
+        final File source = new File(sourcePath);
+        out.writeLong(source.length());
+        out.writeLong(source.lastModified());
+    }
+
+    private static boolean matchesSource(ByteBuffer buffer, String sourcePath) {
+        final File source = new File(sourcePath);
+        final long length = buffer.getLong();
+        final long lastModified = buffer.getLong();
+        return source.isFile() && source.length() == length && source.lastModified() == lastModified;
+    }
+}
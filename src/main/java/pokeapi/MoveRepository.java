@@ -0,0 +1,149 @@
+package pokeapi;
+
+import entities.battle.Learnset;
+import entities.battle.Move;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexed view over the loaded moves.
+ * A move's ID is its position in moves.json, and names are matched case-insensitively.
+ * Lookups are a single hash probe instead of a scan over every move.
+ */
+public class MoveRepository {
+
+    public static final int UNKNOWN_ID = -1;
+
+    // canonical storage list (shared with JSONLoader)
+    private final VersionedList<Move> moves;
+
+    // name -> id index, rebuilt whenever the backing list changes
+    private volatile NameIndex index;
+
+    public MoveRepository(VersionedList<Move> moves) {
+        this.moves = moves;
+    }
+
+    /**
+     * Look up a move by name, ignoring case.
+     *
+     * @param name the move name, e.g. "thunderbolt" or "Thunderbolt"
+     * @return the move, or null if no move has that name
+     */
+    public Move getByName(String name) {
+        final int id = getId(name);
+        return id == UNKNOWN_ID ? null : moves.get(id);
+    }
+
+    /**
+     * Look up a move by its ID.
+     *
+     * @param id the move ID
+     * @return the move, or null if the ID is out of range
+     */
+    public Move getById(int id) {
+        if (id < 0 || id >= moves.size()) {
+            return null;
+        }
+        return moves.get(id);
+    }
+
+    /**
+     * Get the ID of a move by name, ignoring case.
+     *
+     * @param name the move name
+     * @return the move ID, or {@link #UNKNOWN_ID} if no move has that name
+     */
+    public int getId(String name) {
+        if (name == null) {
+            return UNKNOWN_ID;
+        }
+        final Map<String, Integer> ids = currentIndex().ids;
+        // the data files are already lowercase, so try the exact name before normalising
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = ids.get(normalize(name));
+        }
+        return id == null ? UNKNOWN_ID : id;
+    }
+
+    /**
+     * Build a shared learnset from a list of move names.
+     * All learnsets built from the same snapshot of the move list share one name table.
+     *
+     * @return the learnset, or null if a name is not a known move
+     */
+    public Learnset toLearnset(List<String> names) {
+        final NameIndex current = currentIndex();
+        final short[] ids = new short[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            final String name = names.get(i);
+            Integer id = name == null ? null : current.ids.get(name);
+            if (id == null && name != null) {
+                id = current.ids.get(normalize(name));
+            }
+            if (id == null || id > Short.MAX_VALUE) {
+                return null;
+            }
+            ids[i] = (short) (int) id;
+        }
+        return new Learnset(current.names, ids);
+    }
+
+    public boolean contains(String name) {
+        return getId(name) != UNKNOWN_ID;
+    }
+
+    public int size() {
+        return moves.size();
+    }
+
+    public List<Move> getAll() {
+        return moves;
+    }
+
+    private NameIndex currentIndex() {
+        NameIndex current = index;
+        if (current == null || current.version != moves.version()) {
+            synchronized (this) {
+                current = index;
+                if (current == null || current.version != moves.version()) {
+                    current = new NameIndex(moves);
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase();
+    }
+
+    /**
+     * Immutable snapshot of the name index for a given version of the list.
+     */
+    private static final class NameIndex {
+        private final int version;
+        private final Map<String, Integer> ids;
+        // move ID -> name, shared by every learnset built from this snapshot
+        private final String[] names;
+
+        NameIndex(VersionedList<Move> moves) {
+            this.version = moves.version();
+            final int size = moves.size();
+            this.ids = new HashMap<>(size * 2);
+            this.names = new String[size];
+            for (int i = 0; i < size; i++) {
+                final String name = moves.get(i).getName();
+                names[i] = name;
+                if (name != null) {
+                    // keep the first occurrence, matching the old linear scan
+                    ids.putIfAbsent(normalize(name), i);
+                }
+            }
+        }
+    }
+}
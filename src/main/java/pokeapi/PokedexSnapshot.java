@@ -0,0 +1,321 @@
+package pokeapi;
+
+import entities.Pokemon;
+import entities.Species;
+import entities.battle.Learnset;
+import entities.battle.Move;
+import entities.battle.Stats;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshot of pokemon.json and moves.json.
+ * Written after the first JSON load and memory-mapped on later launches.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * header   magic, version, size and mtime of both source files
+ * strings  count, then (u16 length, UTF-8 bytes) per entry
+ * moves    count, then fixed 28-byte records:
+ *          name, type, damageClass, effect (string ids), power, accuracy, priority
+ * pokemon  count, then per entry:
+ *          name (string id), id, shiny, type count, type string ids,
+ *          6 x u16 stats (hp, atk, def, spa, spd, spe), learnset size, learnset as u16 move ids
+ * </pre>
+ * Every name is stored once in the string table, and learnsets are stored as indexes into
+ * the move section, so they decode straight into shared {@link Learnset}s.
+ */
+public final class PokedexSnapshot {
+
+    public static final String DEFAULT_PATH = "src/assets/data/pokedex.bin";
+
+    private static final int MAGIC = 0x504B4458; // "PKDX"
+    private static final int VERSION = 2;
+
+    // marks a null string or Integer
+    private static final int NONE = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private PokedexSnapshot() {
+    }
+
+    /**
+     * Pokemon and moves decoded from a snapshot.
+     */
+    public static final class Contents {
+        private final List<Pokemon> pokemon;
+        private final List<Move> moves;
+
+        Contents(List<Pokemon> pokemon, List<Move> moves) {
+            this.pokemon = pokemon;
+            this.moves = moves;
+        }
+
+        public List<Pokemon> getPokemon() {
+            return pokemon;
+        }
+
+        public List<Move> getMoves() {
+            return moves;
+        }
+    }
+
+    /**
+     * Read the snapshot if it exists and was built from the current versions of the JSON files.
+     *
+     * @return the decoded contents, or null if the snapshot is missing, stale or unreadable
+     */
+    public static Contents readIfFresh(String snapshotPath, String pokemonPath, String movesPath) {
+        final Path path = Paths.get(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || !matchesSource(buffer, pokemonPath) || !matchesSource(buffer, movesPath)) {
+                return null;
+            }
+            final String[] strings = readStrings(buffer);
+            final List<Move> moves = readMoves(buffer, strings);
+            final List<Pokemon> pokemon = readPokemon(buffer, strings, moveNames(moves));
+            return new Contents(pokemon, moves);
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            System.err.println("Ignoring unreadable Pokedex snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write a snapshot of the given data, stamped with the current state of the JSON files.
+     * The file is written to a temporary path and moved into place, so a crash never leaves
+     * a half-written snapshot behind.
+     */
+    public static void write(String snapshotPath, String pokemonPath, String movesPath,
+                             List<Pokemon> pokemon, List<Move> moves) throws IOException {
+        final StringTable strings = new StringTable();
+        for (Move move : moves) {
+            strings.id(move.getName());
+            strings.id(move.getType());
+            strings.id(move.getDamageClass());
+            strings.id(move.getEffect());
+        }
+        for (Pokemon p : pokemon) {
+            strings.id(p.getName());
+            for (String type : p.getTypes()) {
+                strings.id(type);
+            }
+        }
+        if (strings.size() > 0xFFFF || moves.size() > Short.MAX_VALUE) {
+            throw new IOException("Too many strings or moves for u16 ids");
+        }
+        final Map<String, Integer> moveIds = new HashMap<>(moves.size() * 2);
+        for (int i = 0; i < moves.size(); i++) {
+            moveIds.putIfAbsent(moves.get(i).getName(), i);
+        }
+
+        final Path target = Paths.get(snapshotPath);
+        final Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeSource(out, pokemonPath);
+            writeSource(out, movesPath);
+
+            out.writeInt(strings.size());
+            for (String value : strings.values) {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(moves.size());
+            for (Move move : moves) {
+                out.writeInt(strings.id(move.getName()));
+                out.writeInt(strings.id(move.getType()));
+                out.writeInt(strings.id(move.getDamageClass()));
+                out.writeInt(strings.id(move.getEffect()));
+                out.writeInt(move.getPower() == null ? NULL_INT : move.getPower());
+                out.writeInt(move.getAccuracy() == null ? NULL_INT : move.getAccuracy());
+                out.writeInt(move.getPriority());
+            }
+
+            out.writeInt(pokemon.size());
+            for (Pokemon p : pokemon) {
+                out.writeInt(strings.id(p.getName()));
+                out.writeInt(p.getId());
+                out.writeBoolean(p.isShiny());
+                out.writeByte(p.getTypes().size());
+                for (String type : p.getTypes()) {
+                    out.writeShort(strings.id(type));
+                }
+                final Stats stats = p.getSpecies().getBaseStats();
+                out.writeShort(stats.getMaxHp());
+                out.writeShort(stats.getAttack());
+                out.writeShort(stats.getDefense());
+                out.writeShort(stats.getSpAttack());
+                out.writeShort(stats.getSpDefense());
+                out.writeShort(stats.getSpeed());
+                final List<String> learnset = p.getMoveNames();
+                out.writeShort(learnset.size());
+                for (String move : learnset) {
+                    final Integer moveId = moveIds.get(move);
+                    if (moveId == null) {
+                        throw new IOException(p.getName() + " has a move missing from moves.json: " + move);
+                    }
+                    out.writeShort(moveId);
+                }
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Build the snapshot ahead of time, e.g. as a packaging step.
+     */
+    public static void main(String[] args) throws IOException {
+        final JSONLoader loader = JSONLoader.getInstance();
+        write(DEFAULT_PATH, JSONLoader.POKEMON_PATH, JSONLoader.MOVES_PATH,
+                loader.getAllPokemon(), loader.getAllMoves());
+        System.out.println("Wrote " + DEFAULT_PATH);
+    }
+
+    private static void writeSource(DataOutputStream out, String sourcePath) throws IOException {
+        final File source = new File(sourcePath);
+        out.writeLong(source.length());
+        out.writeLong(source.lastModified());
+    }
+
+    private static boolean matchesSource(ByteBuffer buffer, String sourcePath) {
+        final File source = new File(sourcePath);
+        final long length = buffer.getLong();
+        final long lastModified = buffer.getLong();
+        return source.isFile() && source.length() == length && source.lastModified() == lastModified;
+    }
+
+    private static String[] readStrings(ByteBuffer buffer) {
+        final String[] strings = new String[buffer.getInt()];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < strings.length; i++) {
+            final int length = Short.toUnsignedInt(buffer.getShort());
+            if (length > scratch.length) {
+                scratch = new byte[length];
+            }
+            buffer.get(scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static List<Move> readMoves(ByteBuffer buffer, String[] strings) {
+        final int count = buffer.getInt();
+        final List<Move> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Move move = new Move()
+                    .setName(string(strings, buffer.getInt()))
+                    .setType(string(strings, buffer.getInt()))
+                    .setDamageClass(string(strings, buffer.getInt()))
+                    .setEffect(string(strings, buffer.getInt()));
+            move.setPower(nullableInt(buffer.getInt()));
+            move.setAccuracy(nullableInt(buffer.getInt()));
+            move.setPriority(buffer.getInt());
+            moves.add(move);
+        }
+        return moves;
+    }
+
+    private static String[] moveNames(List<Move> moves) {
+        final String[] names = new String[moves.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = moves.get(i).getName();
+        }
+        return names;
+    }
+
+    private static List<Pokemon> readPokemon(ByteBuffer buffer, String[] strings, String[] moveNames) {
+        final int count = buffer.getInt();
+        final List<Pokemon> pokemon = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = string(strings, buffer.getInt());
+            final int id = buffer.getInt();
+            final boolean shiny = buffer.get() != 0;
+
+            final int typeCount = buffer.get();
+            final ArrayList<String> types = new ArrayList<>(typeCount);
+            for (int t = 0; t < typeCount; t++) {
+                types.add(strings[Short.toUnsignedInt(buffer.getShort())]);
+            }
+
+            final Stats stats = new Stats(
+                    buffer.getShort(), buffer.getShort(), buffer.getShort(),
+                    buffer.getShort(), buffer.getShort(), buffer.getShort());
+
+            final short[] moveIds = new short[Short.toUnsignedInt(buffer.getShort())];
+            for (int m = 0; m < moveIds.length; m++) {
+                moveIds[m] = buffer.getShort();
+                if (moveIds[m] < 0 || moveIds[m] >= moveNames.length) {
+                    throw new IndexOutOfBoundsException("Bad move id " + moveIds[m]);
+                }
+            }
+
+            final Pokemon p = new Pokemon(new Species(name, id, types, stats, new Learnset(moveNames, moveIds)));
+            if (shiny) {
+                p.setShiny(true);
+            }
+            pokemon.add(p);
+        }
+        return pokemon;
+    }
+
+    private static String string(String[] strings, int id) {
+        return id == NONE ? null : strings[id];
+    }
+
+    private static Integer nullableInt(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    /**
+     * Assigns each distinct string a dense id in first-seen order.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int id(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            final Integer existing = ids.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            ids.put(value, values.size());
+            values.add(value);
+            return values.size() - 1;
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
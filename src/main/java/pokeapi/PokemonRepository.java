@@ -0,0 +1,290 @@
+package pokeapi;
+
+import entities.Pokemon;
+import entities.battle.PokemonType;
+import entities.battle.Stats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexed view over the loaded Pokemon.
+ * Supports constant-time lookup by id and name, per-type postings lists, and
+ * base-stat range queries backed by sorted arrays, e.g.
+ * {@code find(PokemonType.ELECTRIC, Stat.SPEED, 100, Integer.MAX_VALUE)}.
+ * The indexes are rebuilt whenever the backing list changes.
+ */
+public class PokemonRepository {
+
+    /**
+     * Base stats that can be range-queried.
+     */
+    public enum Stat {
+        HP, ATTACK, DEFENSE, SP_ATTACK, SP_DEFENSE, SPEED;
+
+        public int of(Stats stats) {
+            switch (this) {
+                case HP:
+                    return stats.getMaxHp();
+                case ATTACK:
+                    return stats.getAttack();
+                case DEFENSE:
+                    return stats.getDefense();
+                case SP_ATTACK:
+                    return stats.getSpAttack();
+                case SP_DEFENSE:
+                    return stats.getSpDefense();
+                case SPEED:
+                default:
+                    return stats.getSpeed();
+            }
+        }
+    }
+
+    // canonical storage list (shared with JSONLoader)
+    private final VersionedList<Pokemon> pokemon;
+
+    // indexes, rebuilt whenever the backing list changes
+    private volatile Index index;
+
+    public PokemonRepository(VersionedList<Pokemon> pokemon) {
+        this.pokemon = pokemon;
+    }
+
+    /**
+     * Look up a Pokemon by its Pokedex id.
+     *
+     * @return the Pokemon, or null if no Pokemon has that id
+     */
+    public Pokemon getById(int id) {
+        return currentIndex().byId.get(id);
+    }
+
+    /**
+     * Look up a Pokemon by name, ignoring case.
+     *
+     * @return the Pokemon, or null if no Pokemon has that name
+     */
+    public Pokemon getByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        final Map<String, Pokemon> byName = currentIndex().byName;
+        final Pokemon found = byName.get(name);
+        return found != null ? found : byName.get(name.trim().toLowerCase());
+    }
+
+    /**
+     * All Pokemon that have the given type, in load order.
+     */
+    public List<Pokemon> getByType(PokemonType type) {
+        final Index current = currentIndex();
+        return current.toPokemon(current.postings[type.ordinal()], current.postings[type.ordinal()].length);
+    }
+
+    /**
+     * All Pokemon whose base stat lies in [min, max], ordered by that stat.
+     */
+    public List<Pokemon> findByStatRange(Stat stat, int min, int max) {
+        return find(null, stat, min, max);
+    }
+
+    /**
+     * All Pokemon of the given type whose base stat lies in [min, max], ordered by that stat.
+     *
+     * @param type the required type, or null for any type
+     * @param stat the stat to filter on
+     * @param min inclusive lower bound
+     * @param max inclusive upper bound
+     */
+    public List<Pokemon> find(PokemonType type, Stat stat, int min, int max) {
+        final Index current = currentIndex();
+        final int[] sortedValues = current.statValues[stat.ordinal()];
+        final int[] sortedOrder = current.statOrder[stat.ordinal()];
+        final int from = lowerBound(sortedValues, min);
+        final int to = max == Integer.MAX_VALUE ? sortedValues.length : lowerBound(sortedValues, max + 1);
+        if (from >= to) {
+            return new ArrayList<>();
+        }
+
+        if (type == null) {
+            return current.toPokemon(Arrays.copyOfRange(sortedOrder, from, to), to - from);
+        }
+
+        final int[] postings = current.postings[type.ordinal()];
+        final int[] matches;
+        int count = 0;
+        if (postings.length < to - from) {
+            // fewer Pokemon of this type than in the stat range: filter the postings list
+            final int[] values = current.rawStats[stat.ordinal()];
+            final long[] keyed = new long[postings.length];
+            for (int position : postings) {
+                final int value = values[position];
+                if (value >= min && value <= max) {
+                    keyed[count++] = ((long) value << 32) | position;
+                }
+            }
+            Arrays.sort(keyed, 0, count);
+            matches = new int[count];
+            for (int i = 0; i < count; i++) {
+                matches[i] = (int) keyed[i];
+            }
+        }
+        else {
+            // narrower stat range: walk it and check the type mask
+            final int bit = 1 << type.ordinal();
+            matches = new int[to - from];
+            for (int i = from; i < to; i++) {
+                if ((current.typeMasks[sortedOrder[i]] & bit) != 0) {
+                    matches[count++] = sortedOrder[i];
+                }
+            }
+        }
+        return current.toPokemon(matches, count);
+    }
+
+    /**
+     * All Pokemon ordered by Pokedex id. The list is shared and must not be modified.
+     */
+    public List<Pokemon> getAllSortedById() {
+        return currentIndex().sortedById;
+    }
+
+    public List<Pokemon> getAll() {
+        return pokemon;
+    }
+
+    public int size() {
+        return pokemon.size();
+    }
+
+    private Index currentIndex() {
+        Index current = index;
+        if (current == null || current.version != pokemon.version()) {
+            synchronized (this) {
+                current = index;
+                if (current == null || current.version != pokemon.version()) {
+                    current = new Index(pokemon);
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Immutable snapshot of every index for a given version of the list.
+     * Positions refer to indices in the snapshot.
+     */
+    private static final class Index {
+        private final int version;
+        private final int size;
+        private final List<Pokemon> snapshot;
+        private final Map<Integer, Pokemon> byId;
+        private final Map<String, Pokemon> byName;
+        private final int[][] postings;
+        private final int[] typeMasks;
+        private final int[][] rawStats;
+        private final int[][] statOrder;
+        private final int[][] statValues;
+        private final List<Pokemon> sortedById;
+
+        Index(VersionedList<Pokemon> pokemon) {
+            this.version = pokemon.version();
+            this.snapshot = new ArrayList<>(pokemon);
+            this.size = snapshot.size();
+            this.byId = new HashMap<>(size * 2);
+            this.byName = new HashMap<>(size * 2);
+            this.typeMasks = new int[size];
+
+            final int[] typeCounts = new int[PokemonType.COUNT];
+            for (int i = 0; i < size; i++) {
+                final Pokemon p = snapshot.get(i);
+                // keep the first occurrence, matching the old linear scans
+                byId.putIfAbsent(p.getId(), p);
+                if (p.getName() != null) {
+                    byName.putIfAbsent(p.getName().toLowerCase(), p);
+                }
+                for (PokemonType type : p.getTypeIds()) {
+                    if ((typeMasks[i] & (1 << type.ordinal())) == 0) {
+                        typeMasks[i] |= 1 << type.ordinal();
+                        typeCounts[type.ordinal()]++;
+                    }
+                }
+            }
+
+            this.postings = new int[PokemonType.COUNT][];
+            for (int t = 0; t < PokemonType.COUNT; t++) {
+                postings[t] = new int[typeCounts[t]];
+            }
+            final int[] fill = new int[PokemonType.COUNT];
+            for (int i = 0; i < size; i++) {
+                for (int t = 0; t < PokemonType.COUNT; t++) {
+                    if ((typeMasks[i] & (1 << t)) != 0) {
+                        postings[t][fill[t]++] = i;
+                    }
+                }
+            }
+
+            final Stat[] stats = Stat.values();
+            this.rawStats = new int[stats.length][size];
+            this.statOrder = new int[stats.length][];
+            this.statValues = new int[stats.length][];
+            // base stats come from the shared species, so indexing never touches per-card state
+            final Stats[] baseStats = new Stats[size];
+            for (int i = 0; i < size; i++) {
+                baseStats[i] = snapshot.get(i).getSpecies().getBaseStats();
+            }
+            for (Stat stat : stats) {
+                final int[] values = rawStats[stat.ordinal()];
+                final long[] keyed = new long[size];
+                for (int i = 0; i < size; i++) {
+                    final Stats s = baseStats[i];
+                    values[i] = s != null ? stat.of(s) : 0;
+                    keyed[i] = ((long) values[i] << 32) | i;
+                }
+                Arrays.sort(keyed);
+                final int[] order = new int[size];
+                final int[] sortedValues = new int[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = (int) keyed[i];
+                    sortedValues[i] = (int) (keyed[i] >>> 32);
+                }
+                statOrder[stat.ordinal()] = order;
+                statValues[stat.ordinal()] = sortedValues;
+            }
+
+            final List<Pokemon> byIdOrder = new ArrayList<>(snapshot);
+            byIdOrder.sort(Comparator.comparingInt(Pokemon::getId));
+            this.sortedById = Collections.unmodifiableList(byIdOrder);
+        }
+
+        private List<Pokemon> toPokemon(int[] positions, int count) {
+            final List<Pokemon> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(snapshot.get(positions[i]));
+            }
+            return result;
+        }
+    }
+}
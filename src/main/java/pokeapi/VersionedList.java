@@ -0,0 +1,25 @@
+package pokeapi;
+
+import java.util.ArrayList;
+
+/**
+ * ArrayList that counts every change to it, so an index built over the list can tell it
+ * is stale even when the size comes out the same, e.g. after a clear and a reload.
+ */
+public final class VersionedList<E> extends ArrayList<E> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public E set(int index, E element) {
+        // ArrayList only counts structural changes
+        modCount++;
+        return super.set(index, element);
+    }
+
+    /**
+     * Changes when the list does; equal versions mean an unchanged list.
+     */
+    public int version() {
+        return modCount;
+    }
+}
@@ -6,12 +6,16 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class GroqAPIClient {
     private static final String API_ENDPOINT = "https://api.groq.com/openai/v1/chat/completions";
+    private static final String MODELS_ENDPOINT = "https://api.groq.com/openai/v1/models";
     private static final String DEFAULT_MODEL = "openai/gpt-oss-120b";
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
@@ -90,11 +94,41 @@ public class GroqAPIClient {
     }
 
     public GroqAPIClient(String apiKey) throws GroqAPIException {
+        this(apiKey, new OkHttpClient());
+    }
+
+    /**
+     * @param client the HTTP client to send requests through, usually one shared per process
+     */
+    public GroqAPIClient(String apiKey, OkHttpClient client) throws GroqAPIException {
         if (apiKey == null || apiKey.trim().isEmpty()) {
             throw new GroqAPIException("GROQ_API_KEY is not set. Please set the GROQ_API_KEY environment variable.");
         }
         this.apiKey = apiKey;
-        this.client = new OkHttpClient();
+        this.client = client;
+    }
+
+    /**
+     * Opens a connection to the API host in the background, so the first chat completion
+     * does not pay for the handshake. The response is discarded and failures are ignored.
+     */
+    public void preconnect() {
+        final Request request = new Request.Builder()
+                .url(MODELS_ENDPOINT)
+                .addHeader("Authorization", "Bearer " + apiKey)
+                .get()
+                .build();
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                System.out.println("[GroqAPIClient] Preconnect failed: " + e.getMessage());
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+            }
+        });
     }
 
     public ChatCompletionResponse createChatCompletion(List<Message> messages) throws GroqAPIException {
@@ -107,13 +141,7 @@ public class GroqAPIClient {
             System.out.println("[GroqAPIClient] Model: " + model);
             System.out.println("[GroqAPIClient] Messages count: " + messages.size());
 
-            JSONObject requestBody = buildRequestBody(messages, model);
-            Request request = new Request.Builder()
-                    .url(API_ENDPOINT)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .post(RequestBody.create(requestBody.toString(), JSON))
-                    .build();
+            Request request = buildRequest(messages, model);
 
             System.out.println("[GroqAPIClient] Sending HTTP request...");
             try (Response response = client.newCall(request).execute()) {
@@ -134,6 +162,113 @@ public class GroqAPIClient {
         }
     }
 
+    /**
+     * Streams the completion as server-sent events. Each piece of content is handed to
+     * {@code onContent} as it arrives, on OkHttp's thread. The future completes with the
+     * whole text once the stream ends. Cancelling it, or completing it exceptionally,
+     * cancels the HTTP call, so a caller can stop the stream as soon as it has what it needs.
+     */
+    public CompletableFuture<ChatCompletionResponse> streamChatCompletion(List<Message> messages,
+                                                                          Consumer<String> onContent) {
+        final CompletableFuture<ChatCompletionResponse> result = new CompletableFuture<>();
+        final Call call;
+        try {
+            call = client.newCall(buildRequest(messages, DEFAULT_MODEL, true));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(new GroqAPIException("Error communicating with Groq API", e));
+            return result;
+        }
+        result.whenComplete((response, failure) -> {
+            if (failure != null) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failed, IOException e) {
+                result.completeExceptionally(new GroqAPIException("Error communicating with Groq API", e));
+            }
+
+            @Override
+            public void onResponse(Call completed, Response response) {
+                try (Response r = response) {
+                    if (!r.isSuccessful()) {
+                        final String errorBody = r.body() != null ? r.body().string() : "Unknown error";
+                        result.completeExceptionally(new GroqAPIException(
+                                "API request failed with code " + r.code() + ": " + errorBody));
+                        return;
+                    }
+                    result.complete(readEvents(r.body(), onContent, result));
+                } catch (IOException | JSONException e) {
+                    result.completeExceptionally(new GroqAPIException("Error communicating with Groq API", e));
+                }
+            }
+        });
+        return result;
+    }
+
+    // one "data: {chunk}" line per event, ending with "data: [DONE]"
+    private static ChatCompletionResponse readEvents(ResponseBody body, Consumer<String> onContent,
+                                                     CompletableFuture<?> result) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        String model = "";
+        int totalTokens = 0;
+        try (BufferedReader reader = new BufferedReader(body.charStream())) {
+            String line;
+            while (!result.isDone() && (line = reader.readLine()) != null) {
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                final String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) {
+                    break;
+                }
+                final JSONObject chunk = new JSONObject(data);
+                model = chunk.optString("model", model);
+                final JSONObject usage = usageOf(chunk);
+                if (usage != null) {
+                    totalTokens = usage.optInt("total_tokens", totalTokens);
+                }
+                final JSONArray choices = chunk.optJSONArray("choices");
+                final JSONObject delta = choices != null && choices.length() > 0
+                        ? choices.getJSONObject(0).optJSONObject("delta") : null;
+                if (delta != null && delta.has("content") && !delta.isNull("content")) {
+                    final String piece = delta.getString("content");
+                    content.append(piece);
+                    onContent.accept(piece);
+                }
+            }
+        }
+        return new ChatCompletionResponse(content.toString(), model, totalTokens);
+    }
+
+    // the last chunk carries the token usage, at the top level or under Groq's x_groq
+    private static JSONObject usageOf(JSONObject chunk) {
+        final JSONObject usage = chunk.optJSONObject("usage");
+        if (usage != null) {
+            return usage;
+        }
+        final JSONObject groq = chunk.optJSONObject("x_groq");
+        return groq != null ? groq.optJSONObject("usage") : null;
+    }
+
+    private Request buildRequest(List<Message> messages, String model) {
+        return buildRequest(messages, model, false);
+    }
+
+    private Request buildRequest(List<Message> messages, String model, boolean stream) {
+        final JSONObject requestBody = buildRequestBody(messages, model);
+        if (stream) {
+            requestBody.put("stream", true);
+        }
+        return new Request.Builder()
+                .url(API_ENDPOINT)
+                .addHeader("Authorization", "Bearer " + apiKey)
+                .addHeader("Content-Type", "application/json")
+                .post(RequestBody.create(requestBody.toString(), JSON))
+                .build();
+    }
+
     private JSONObject buildRequestBody(List<Message> messages, String model) {
         JSONObject requestBody = new JSONObject();
         JSONArray messagesArray = new JSONArray();
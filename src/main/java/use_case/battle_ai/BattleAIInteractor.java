@@ -1,8 +1,11 @@
 package use_case.battle_ai;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
 
 import entities.*;
 import entities.battle.*;
@@ -15,16 +18,29 @@ import entities.user.UserPlayerAdapter;
  */
 public class BattleAIInteractor implements BattleAIInputBoundary {
     private static final int AI_TEAM_SIZE = 3;
+    // the battle view offers a button for each of the first four moves
+    private static final int MOVE_SLOTS = 4;
     private static final int LOSS_REWARD = 100;
     private static final int WIN_REWARD = 500;
 
     private final BattleAIUserDataAccessInterface dataAccess;
     private final BattleAIOutputBoundary presenter;
+    // seeds each battle's random streams
+    private final LongSupplier seedSource;
 
     public BattleAIInteractor(BattleAIUserDataAccessInterface dataAccess,
                               BattleAIOutputBoundary presenter) {
+        this(dataAccess, presenter, RandomStreams::newSeed);
+    }
+
+    /**
+     * @param seedSource supplies the seed of each new battle; a fixed seed replays the same battle
+     */
+    public BattleAIInteractor(BattleAIUserDataAccessInterface dataAccess,
+                              BattleAIOutputBoundary presenter, LongSupplier seedSource) {
         this.dataAccess = dataAccess;
         this.presenter = presenter;
+        this.seedSource = seedSource;
     }
 
     @Override
@@ -78,7 +94,8 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
         // Create AI player with generated team based on difficulty
         final String diff = difficulty != null ? difficulty : "medium";
         final AIPlayer aiPlayer = new AIPlayer("AI Trainer", diff);
-        final List<Pokemon> aiTeam = generateAITeam(diff);
+        final RandomStreams streams = new RandomStreams(seedSource.getAsLong());
+        final List<Pokemon> aiTeam = generateAITeam(streams.get(RandomStreams.Stream.TEAM_SELECTION));
         aiPlayer.setTeam(aiTeam);
         aiPlayer.setActivePokemon(aiTeam.get(0));
         dataAccess.saveAIPlayer(aiPlayer);
@@ -90,7 +107,7 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
         }
 
         // Create and start battle using the battle-specific user copy
-        final Battle battle = new Battle(0, battleUser, aiUser);
+        final Battle battle = new Battle(0, battleUser, aiUser, streams);
         battle.startBattle();
         dataAccess.saveBattle(battle);
 
@@ -98,6 +115,7 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
         final BattleAIOutputData outputData = new BattleAIOutputData(
                 null, battle, "Battle started! Choose your move.", false);
         presenter.prepareSuccessView(outputData);
+        prepareNextAIReply(battle, aiPlayer);
     }
 
     /**
@@ -130,24 +148,20 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
         }
 
         // Get move by index
-        final List<String> moveNames = playerPokemon.getMoves();
-        if (moveIndex < 0 || moveIndex >= moveNames.size()) {
+        final List<String> moveNames = playerPokemon.getMoveNames();
+        if (moveNames == null || moveIndex < 0 || moveIndex >= moveNames.size()) {
             presenter.prepareFailView("Invalid move index");
             return;
         }
 
-        final String moveName = moveNames.get(moveIndex);
-        Move selectedMove = findMoveByName(moveName);
-        if (selectedMove == null) {
-            selectedMove = new Move().setName(moveName).setPower(40);
-        }
+        final Move selectedMove = resolveMove(moveNames.get(moveIndex));
 
         // Track AI's Pokemon before player's turn
         final Pokemon aiPokemonBefore = aiPlayer.getActivePokemon();
 
         // Create and execute player's turn
         final Player playerAdapter = new UserPlayerAdapter(currentUser);
-        final MoveTurn playerTurn = new MoveTurn(1, playerAdapter, 1, selectedMove, aiPlayer);
+        final MoveTurn playerTurn = new MoveTurn(1, playerAdapter, 1, selectedMove, aiPlayer, damageRandom(battle));
         playerTurn.executeTurn();
         final String playerResult = playerTurn.getResult();
 
@@ -175,16 +189,17 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
             dataAccess.saveBattle(battle);
             final BattleAIOutputData outputData = new BattleAIOutputData(playerTurn, battle, playerResult, true, null, aiSwitchedTo);
             presenter.prepareSuccessView(outputData);
+            aiPlayer.cancelSpeculation();
             return;
         }
 
-        // Execute AI's turn (AI always has a move available)
-        final Move aiMove = aiPlayer.chooseMove(battle);
+        // Execute AI's turn (AI always has a move available); usually already decided speculatively
+        final Move aiMove = aiPlayer.chooseMove(battle, moveIndex);
         Pokemon playerSwitchedTo = null;
 
         // AI is always player2, player is always player1
         final Player targetPlayer = new UserPlayerAdapter(player1);
-        final MoveTurn aiTurn = new MoveTurn(1, aiPlayer, 1, aiMove, targetPlayer);
+        final MoveTurn aiTurn = new MoveTurn(1, aiPlayer, 1, aiMove, targetPlayer, damageRandom(battle));
         aiTurn.executeTurn();
         final String aiResult = aiTurn.getResult();
         aiPlayer.recordTurn(aiTurn);
@@ -227,6 +242,7 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
 
         final BattleAIOutputData outputData = new BattleAIOutputData(playerTurn, battle, fullResult, battleEnded, playerSwitchedTo, aiSwitchedTo);
         presenter.prepareSuccessView(outputData);
+        prepareNextAIReply(battle, aiPlayer);
     }
 
     /**
@@ -236,6 +252,34 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
         return dataAccess.getMoveByName(moveName);
     }
 
+    // unknown moves fall back to a plain 40-power move
+    private Move resolveMove(String moveName) {
+        final Move move = findMoveByName(moveName);
+        return move != null ? move : new Move().setName(moveName).setPower(40);
+    }
+
+    /**
+     * While the player picks their next move, let the AI work out its replies to each option.
+     */
+    private void prepareNextAIReply(Battle battle, AIPlayer aiPlayer) {
+        if ("COMPLETED".equals(battle.getBattleStatus())) {
+            aiPlayer.cancelSpeculation();
+            return;
+        }
+        final Pokemon playerPokemon = dataAccess.getPlayerActivePokemon();
+        final List<String> moveNames = playerPokemon != null ? playerPokemon.getMoveNames() : null;
+        if (moveNames == null) {
+            return;
+        }
+        // only the moves the player can pick; the rest would crowd out the pool with wasted calls
+        final int count = Math.min(MOVE_SLOTS, moveNames.size());
+        final List<Move> playerMoves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            playerMoves.add(resolveMove(moveNames.get(i)));
+        }
+        aiPlayer.speculate(battle, playerMoves);
+    }
+
     /**
      * Executes a player's switch by Pokemon ID and then AI's turn.
      */
@@ -311,7 +355,7 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
         // AI is always player2, player is always player1
         final User aiUser = battle.getPlayer2();
         final Player targetPlayer = new UserPlayerAdapter(battleUser);
-        final MoveTurn aiTurn = new MoveTurn(1, aiPlayer, 1, aiMove, targetPlayer);
+        final MoveTurn aiTurn = new MoveTurn(1, aiPlayer, 1, aiMove, targetPlayer, damageRandom(battle));
         aiTurn.executeTurn();
         final String aiResult = aiTurn.getResult();
         aiPlayer.recordTurn(aiTurn);
@@ -351,18 +395,27 @@ public class BattleAIInteractor implements BattleAIInputBoundary {
         final BattleAIOutputData outputData = new
                 BattleAIOutputData(aiTurn, battle, fullResult, battleEnded, playerSwitchedTo, null);
         presenter.prepareSuccessView(outputData);
+        prepareNextAIReply(battle, aiPlayer);
+    }
+
+    private static RandomGenerator damageRandom(Battle battle) {
+        return battle.getRandomStreams().get(RandomStreams.Stream.DAMAGE);
     }
 
     /**
      * Generates a random AI team of up to 3 Pokemon.
      */
-    private List<Pokemon> generateAITeam(String difficulty) {
-        final List<Pokemon> allPokemon = new ArrayList<>(dataAccess.getAllPokemon());
-        Collections.shuffle(allPokemon);
-        final List<Pokemon> aiTeam = new ArrayList<>();
+    private List<Pokemon> generateAITeam(RandomGenerator random) {
+        final List<Pokemon> allPokemon = dataAccess.getAllPokemon();
         final int limit = Math.min(AI_TEAM_SIZE, allPokemon.size());
-        for (int i = 0; i < limit; i++) {
-            aiTeam.add(allPokemon.get(i).copy());
+        // sample distinct indices rather than shuffling the whole Pokedex
+        final Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < limit) {
+            picked.add(random.nextInt(allPokemon.size()));
+        }
+        final List<Pokemon> aiTeam = new ArrayList<>();
+        for (int index : picked) {
+            aiTeam.add(allPokemon.get(index).copy());
         }
         return aiTeam;
     }
@@ -1,11 +1,12 @@
 package use_case.build_deck;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 import entities.Pokemon;
 import entities.battle.Deck;
+import entities.battle.RandomStreams;
 import entities.user.User;
 
 public class BuildDeckInteractor implements BuildDeckInputBoundary {
@@ -13,10 +14,20 @@ public class BuildDeckInteractor implements BuildDeckInputBoundary {
 
     private final BuildDeckUserDataAccessInterface dataAccess;
     private final BuildDeckOutputBoundary presenter;
+    private final RandomGenerator random;
 
     public BuildDeckInteractor(BuildDeckUserDataAccessInterface dataAccess, BuildDeckOutputBoundary presenter) {
+        this(dataAccess, presenter, RandomStreams.withRandomSeed().get(RandomStreams.Stream.TEAM_SELECTION));
+    }
+
+    /**
+     * @param random source for random deck generation, e.g. a seeded stream in tests
+     */
+    public BuildDeckInteractor(BuildDeckUserDataAccessInterface dataAccess, BuildDeckOutputBoundary presenter,
+                               RandomGenerator random) {
         this.dataAccess = dataAccess;
         this.presenter = presenter;
+        this.random = random;
     }
 
     // --- Helper Methods ---
@@ -150,7 +161,7 @@ public class BuildDeckInteractor implements BuildDeckInputBoundary {
 
     private List<Pokemon> generateRandomDeck(User user) {
         final List<Pokemon> owned = new ArrayList<>(user.getOwnedPokemon());
-        Collections.shuffle(owned);
+        RandomStreams.shuffle(owned, random);
 
         final int size = Math.min(DECK_LIMIT, owned.size());
         return owned.subList(0, size);
@@ -3,6 +3,7 @@ package use_case.collection;
 import java.util.*;
 
 import entities.Pokemon;
+import entities.battle.PokemonType;
 import entities.user.User;
 import pokeapi.JSONLoader;
 
@@ -23,9 +24,7 @@ public class ViewCollectionInteractor implements ViewCollectionInputBoundary {
 
         final ViewCollectionOutputData outputData = new ViewCollectionOutputData();
 
-        final List<Pokemon> result = new ArrayList<>(getPokemonList(filter));
-        // sort the page
-        result.sort(Comparator.comparingInt(Pokemon::getID));
+        final List<Pokemon> result = getSortedPokemonList(filter);
 
         final int from = currentPage * PAGE_SIZE;
         final int to = Math.min(from + PAGE_SIZE, result.size());
@@ -50,6 +49,16 @@ public class ViewCollectionInteractor implements ViewCollectionInputBoundary {
         }
     }
 
+    private List<Pokemon> getSortedPokemonList(String filter) {
+        if ("all".equals(filter)) {
+            // the repository keeps the full Pokedex pre-sorted by id
+            return JSONLoader.getInstance().getPokemonRepository().getAllSortedById();
+        }
+        final List<Pokemon> result = new ArrayList<>(getPokemonList(filter));
+        result.sort(Comparator.comparingInt(Pokemon::getID));
+        return result;
+    }
+
     private List<Pokemon> getPokemonList(String filter) {
         final List<Pokemon> result;
         switch (filter) {
@@ -63,11 +72,20 @@ public class ViewCollectionInteractor implements ViewCollectionInputBoundary {
                 result = getShinies(user.getOwnedPokemon());
                 break;
             default:
-                result = Collections.emptyList();
+                result = getByType(filter);
         }
         return result;
     }
 
+    private List<Pokemon> getByType(String filter) {
+        // a type name, e.g. "electric", selects every Pokemon of that type from the Pokedex
+        final PokemonType type = PokemonType.fromName(filter);
+        if (type == null) {
+            return Collections.emptyList();
+        }
+        return JSONLoader.getInstance().getPokemonRepository().getByType(type);
+    }
+
     private List<Pokemon> getShinies(List<Pokemon> ownedPokemon) {
         final List<Pokemon> shinyPokemon = new ArrayList<>();
         for (Pokemon pokemon : ownedPokemon) {
@@ -5,6 +5,7 @@ import java.util.*;
 import entities.Pokemon;
 import entities.battle.Move;
 import pokeapi.JSONLoader;
+import pokeapi.MoveRepository;
 
 public class PickMovesetInteractor implements PickMovesetInputBoundary {
 
@@ -18,13 +19,13 @@ public class PickMovesetInteractor implements PickMovesetInputBoundary {
     @Override
     public void execute(PickMovesetInputData inputData) {
         final Map<Pokemon, List<Move>> outputMap = new HashMap<>();
+        final MoveRepository moveRepository = JSONLoader.getInstance().getMoveRepository();
         for (Pokemon p : inputData.getDeck().getPokemons()) {
             final List<Move> moves = new ArrayList<>();
             for (String mvName : p.getMoves()) {
-                for (Move m : JSONLoader.getInstance().getAllMoves()) {
-                    if (m.getName().equalsIgnoreCase(mvName)) {
-                        moves.add(m);
-                    }
+                final Move m = moveRepository.getByName(mvName);
+                if (m != null) {
+                    moves.add(m);
                 }
             }
             outputMap.put(p, moves);
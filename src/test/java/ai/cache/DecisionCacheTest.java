@@ -0,0 +1,136 @@
+package ai.cache;
+
+import ai.fallback.RuleBasedDecisionMaker;
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import entities.Pokemon;
+import entities.battle.AIPlayer;
+import entities.battle.Stats;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionCacheTest {
+
+    private long now;
+
+    private static Pokemon pokemon(String name, int id, int hp, String... moves) {
+        return new Pokemon(name, id, new ArrayList<>(List.of("normal")),
+                new Stats(hp, 50, 50, 50, 50, 50), new ArrayList<>(List.of(moves)));
+    }
+
+    private static AIPlayer player(String name, Pokemon... team) {
+        AIPlayer player = new AIPlayer(name, null, "hard");
+        player.setTeam(new ArrayList<>(List.of(team)));
+        player.setActivePokemon(team[0]);
+        return player;
+    }
+
+    private static BattleDecisionState state(Pokemon aiActive, Pokemon foe) {
+        return new BattleDecisionState(null, player("AI", aiActive), player("Foe", foe), new ArrayList<>(), "hard");
+    }
+
+    private static Decision move(String name) {
+        return Decision.move(RuleBasedDecisionMaker.lookupMove(name), "test", 0.9);
+    }
+
+    private DecisionCache cache(int capacity, long ttlMillis) {
+        return new DecisionCache(capacity, ttlMillis, () -> now, null);
+    }
+
+    @Test
+    void hitRebuildsTheMoveForTheCurrentStateTest() {
+        DecisionCache cache = cache(8, 1000);
+        BattleDecisionState first = state(pokemon("pikachu", 25, 100, "tackle", "thunderbolt"),
+                pokemon("bulbasaur", 1, 100, "tackle"));
+        cache.put(first, move("thunderbolt"));
+
+        BattleDecisionState again = state(pokemon("pikachu", 25, 100, "tackle", "thunderbolt"),
+                pokemon("bulbasaur", 1, 100, "tackle"));
+        Decision hit = cache.get(again);
+        assertNotNull(hit);
+        assertEquals("thunderbolt", hit.getSelectedMove().getName());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void entriesExpireAfterTheTtlTest() {
+        DecisionCache cache = cache(8, 1000);
+        BattleDecisionState state = state(pokemon("pikachu", 25, 100, "tackle"), pokemon("bulbasaur", 1, 100, "tackle"));
+        cache.put(state, move("tackle"));
+
+        now = 999;
+        assertNotNull(cache.get(state));
+        now = 1000;
+        assertNull(cache.get(state));
+        assertEquals(1, cache.getExpirations());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedTest() {
+        DecisionCache cache = cache(2, 1000);
+        BattleDecisionState a = state(pokemon("pikachu", 25, 100, "tackle"), pokemon("bulbasaur", 1, 100, "tackle"));
+        BattleDecisionState b = state(pokemon("pikachu", 25, 100, "tackle"), pokemon("charmander", 4, 100, "tackle"));
+        BattleDecisionState c = state(pokemon("pikachu", 25, 100, "tackle"), pokemon("squirtle", 7, 100, "tackle"));
+        cache.put(a, move("tackle"));
+        cache.put(b, move("tackle"));
+        assertNotNull(cache.get(a));
+        cache.put(c, move("tackle"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get(a));
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(c));
+    }
+
+    @Test
+    void fingerprintTest() {
+        Pokemon foe = pokemon("bulbasaur", 1, 100, "tackle");
+        String base = DecisionCache.fingerprint(state(pokemon("pikachu", 25, 100, "tackle", "thunderbolt"), foe));
+        assertNotNull(base);
+
+        // HP within the same eighth shares an entry
+        assertEquals(base, DecisionCache.fingerprint(
+                state(pokemon("pikachu", 25, 100, "tackle", "thunderbolt"), pokemon("bulbasaur", 1, 100, "ember"))));
+        Pokemon hurt = pokemon("pikachu", 25, 100, "tackle", "thunderbolt");
+        hurt.getStats().setHp(99);
+        assertEquals(base, DecisionCache.fingerprint(state(hurt, foe)));
+        hurt.getStats().setHp(40);
+        assertNotEquals(base, DecisionCache.fingerprint(state(hurt, foe)));
+
+        // the offered moves, in order, are part of the key, but not as the full list of names
+        assertNotEquals(base, DecisionCache.fingerprint(state(pokemon("pikachu", 25, 100, "thunderbolt", "tackle"), foe)));
+        assertNotEquals(base, DecisionCache.fingerprint(state(pokemon("pikachu", 25, 100, "tackle"), foe)));
+        assertFalse(base.contains("thunderbolt"));
+
+        assertNull(DecisionCache.fingerprint(new BattleDecisionState(null, player("AI", foe), null, new ArrayList<>(), "hard")));
+    }
+
+    @Test
+    void fileCompactionDropsExpiredEntriesTest() throws IOException {
+        Path path = Files.createTempDirectory("decision-cache").resolve("cache.tsv");
+        DecisionCacheFile file = new DecisionCacheFile(path.toString());
+        for (int i = 0; i < 100; i++) {
+            file.append("stale" + i, new DecisionCache.Entry(false, 0, 0.9, "old", 500));
+        }
+        file.append("live", new DecisionCache.Entry(true, 1, 0.8, "fresh", 5000));
+
+        Map<String, DecisionCache.Entry> loaded = file.load(1000);
+        assertEquals(1, loaded.size());
+        assertEquals(1, loaded.get("live").index);
+        // the rewritten log keeps only the unexpired line
+        assertEquals(1, Files.readAllLines(path).size());
+
+        now = 1000;
+        assertEquals(1, new DecisionCache(8, 1000, () -> now, file).size());
+    }
+}
@@ -0,0 +1,89 @@
+package ai.parsers;
+
+import ai.graph.BattleDecisionState;
+import ai.graph.Decision;
+import entities.Pokemon;
+import entities.battle.AIPlayer;
+import entities.battle.Stats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingDecisionParserTest {
+
+    private static Pokemon pokemon(String name, int id, String... moves) {
+        return new Pokemon(name, id, new ArrayList<>(List.of("normal")),
+                new Stats(100, 50, 50, 50, 50, 50), new ArrayList<>(List.of(moves)));
+    }
+
+    private static BattleDecisionState state() {
+        AIPlayer ai = new AIPlayer("AI", null, "hard");
+        Pokemon pikachu = pokemon("pikachu", 25, "tackle", "thunderbolt");
+        ai.setTeam(new ArrayList<>(List.of(pikachu, pokemon("bulbasaur", 1, "tackle"))));
+        ai.setActivePokemon(pikachu);
+        AIPlayer foe = new AIPlayer("Foe", null, "hard");
+        Pokemon squirtle = pokemon("squirtle", 7, "tackle");
+        foe.setTeam(new ArrayList<>(List.of(squirtle)));
+        foe.setActivePokemon(squirtle);
+        return new BattleDecisionState(null, ai, foe, new ArrayList<>(), "hard");
+    }
+
+    @Test
+    void decisionSplitMidTokenTest() {
+        StreamingDecisionParser parser = new StreamingDecisionParser(state());
+        assertNull(parser.feed("MO"));
+        assertNull(parser.feed("VE:"));
+        assertNull(parser.feed(" 2"));
+        Decision decision = parser.feed("\nREASONING: super effective");
+        assertNotNull(decision);
+        assertEquals("thunderbolt", decision.getSelectedMove().getName());
+    }
+
+    @Test
+    void decisionWaitsForTheEndOfItsLineTest() {
+        StreamingDecisionParser parser = new StreamingDecisionParser(state());
+        assertNull(parser.feed("MOVE: 1"));
+        assertNull(parser.getDecision());
+        Decision decision = parser.feed("\n");
+        assertEquals("tackle", decision.getSelectedMove().getName());
+    }
+
+    @Test
+    void linesBeforeTheDecisionAreSkippedTest() {
+        StreamingDecisionParser parser = new StreamingDecisionParser(state());
+        assertNull(parser.feed("Let me think.\nThe foe is"));
+        assertNull(parser.feed(" slow.\n**SWITCH: Bulba"));
+        Decision decision = parser.feed("saur**\nREASONING: resists water");
+        assertNotNull(decision);
+        assertEquals("bulbasaur", decision.getSwitchTarget().getName());
+    }
+
+    @Test
+    void severalLinesInOneChunkTest() {
+        StreamingDecisionParser parser = new StreamingDecisionParser(state());
+        Decision decision = parser.feed("Thinking...\nMOVE: 2\nREASONING: strongest move\n");
+        assertEquals("thunderbolt", decision.getSelectedMove().getName());
+    }
+
+    @Test
+    void laterLinesDoNotChangeTheDecisionTest() {
+        StreamingDecisionParser parser = new StreamingDecisionParser(state());
+        Decision first = parser.feed("MOVE: 2\n");
+        assertSame(first, parser.feed("MOVE: 1\n"));
+        assertSame(first, parser.finish());
+        assertEquals("MOVE: 2\nMOVE: 1\n", parser.getText());
+    }
+
+    @Test
+    void finishParsesAnUnterminatedReplyTest() {
+        StreamingDecisionParser parser = new StreamingDecisionParser(state());
+        assertNull(parser.feed("MOVE"));
+        assertNull(parser.feed(": 2"));
+        Decision decision = parser.finish();
+        assertNotNull(decision);
+        assertEquals("thunderbolt", decision.getSelectedMove().getName());
+    }
+}
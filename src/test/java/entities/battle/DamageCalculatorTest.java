@@ -0,0 +1,104 @@
+package entities.battle;
+
+import entities.Pokemon;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DamageCalculatorTest {
+
+    // the string-keyed chart the enum-indexed one replaced: attacking type, then every
+    // defending type that is not neutral
+    private static final String[] REFERENCE_CHART = {
+            "normal rock=0.5 ghost=0.0 steel=0.5",
+            "fire fire=0.5 water=0.5 grass=2.0 ice=2.0 bug=2.0 rock=0.5 dragon=0.5 steel=2.0",
+            "water fire=2.0 water=0.5 grass=0.5 ground=2.0 rock=2.0 dragon=0.5",
+            "electric water=2.0 electric=0.5 grass=0.5 ground=0.0 flying=2.0 dragon=0.5",
+            "grass fire=0.5 water=2.0 grass=0.5 poison=0.5 ground=2.0 flying=0.5 bug=0.5 rock=2.0 dragon=0.5"
+                    + " steel=0.5",
+            "ice fire=0.5 water=0.5 grass=2.0 ice=0.5 ground=2.0 flying=2.0 dragon=2.0 steel=0.5",
+            "fighting normal=2.0 ice=2.0 poison=0.5 flying=0.5 psychic=0.5 bug=0.5 rock=2.0 ghost=0.0 dark=2.0"
+                    + " steel=2.0 fairy=0.5",
+            "poison grass=2.0 poison=0.5 ground=0.5 rock=0.5 ghost=0.5 steel=0.0 fairy=2.0",
+            "ground fire=2.0 electric=2.0 grass=0.5 poison=2.0 flying=0.0 bug=0.5 rock=2.0 steel=2.0",
+            "flying electric=0.5 grass=2.0 fighting=2.0 bug=2.0 rock=0.5 steel=0.5",
+            "psychic fighting=2.0 poison=2.0 psychic=0.5 dark=0.0 steel=0.5",
+            "bug fire=0.5 grass=2.0 fighting=0.5 poison=0.5 flying=0.5 psychic=2.0 ghost=0.5 dark=2.0 steel=0.5"
+                    + " fairy=0.5",
+            "rock fire=2.0 ice=2.0 fighting=0.5 ground=0.5 flying=2.0 bug=2.0 steel=0.5",
+            "ghost normal=0.0 psychic=2.0 ghost=2.0 dark=0.5",
+            "dragon dragon=2.0 steel=0.5 fairy=0.0",
+            "dark fighting=0.5 psychic=2.0 ghost=2.0 dark=0.5 fairy=0.5",
+            "steel fire=0.5 water=0.5 electric=0.5 ice=2.0 rock=2.0 steel=0.5 fairy=2.0",
+            "fairy fire=0.5 fighting=2.0 poison=0.5 dragon=2.0 dark=2.0 steel=0.5",
+    };
+
+    private static Map<String, Map<String, Double>> referenceChart() {
+        Map<String, Map<String, Double>> chart = new HashMap<>();
+        for (String row : REFERENCE_CHART) {
+            String[] fields = row.split(" ");
+            Map<String, Double> multipliers = new HashMap<>();
+            for (int i = 1; i < fields.length; i++) {
+                String[] entry = fields[i].split("=");
+                multipliers.put(entry[0], Double.parseDouble(entry[1]));
+            }
+            chart.put(fields[0], multipliers);
+        }
+        return chart;
+    }
+
+    private static double reference(Map<String, Map<String, Double>> chart, String attack, String defend) {
+        Map<String, Double> row = chart.get(attack);
+        return row != null && row.containsKey(defend) ? row.get(defend) : 1.0;
+    }
+
+    private static Pokemon defender(String... types) {
+        return new Pokemon("defender", 1, new ArrayList<>(List.of(types)), new Stats(), new ArrayList<>());
+    }
+
+    @Test
+    void everyPairMatchesTheReferenceChartTest() {
+        Map<String, Map<String, Double>> chart = referenceChart();
+        assertEquals(PokemonType.COUNT, chart.size());
+        for (PokemonType attack : PokemonType.values()) {
+            for (PokemonType defend : PokemonType.values()) {
+                assertEquals(reference(chart, attack.getName(), defend.getName()),
+                        DamageCalculator.getTypeMultiplier(attack, defend), 0.0,
+                        attack.getName() + " vs " + defend.getName());
+            }
+        }
+    }
+
+    @Test
+    void dualTypesMultiplyTest() {
+        Map<String, Map<String, Double>> chart = referenceChart();
+        for (PokemonType attack : PokemonType.values()) {
+            for (PokemonType first : PokemonType.values()) {
+                for (PokemonType second : PokemonType.values()) {
+                    if (first == second) {
+                        continue;
+                    }
+                    Move move = new Move().setName("test").setType(attack.getName());
+                    double expected = reference(chart, attack.getName(), first.getName())
+                            * reference(chart, attack.getName(), second.getName());
+                    assertEquals(expected, DamageCalculator.calculateTypeEffectiveness(
+                            move, defender(first.getName(), second.getName())), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unknownTypesAreNeutralTest() {
+        Move unknown = new Move().setName("test").setType("shadow");
+        assertEquals(1.0, DamageCalculator.calculateTypeEffectiveness(unknown, defender("ghost")), 0.0);
+        Move fire = new Move().setName("test").setType("Fire");
+        assertEquals(2.0, DamageCalculator.calculateTypeEffectiveness(fire, defender("grass", "shadow")), 0.0);
+        assertEquals(1.0, DamageCalculator.getTypeMultiplier(null, PokemonType.GHOST), 0.0);
+    }
+}
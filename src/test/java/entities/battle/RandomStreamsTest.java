@@ -0,0 +1,62 @@
+package entities.battle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomStreamsTest {
+
+    private static long[] draw(RandomGenerator random, int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextLong();
+        }
+        return values;
+    }
+
+    @Test
+    void sameSeedReplaysTest() {
+        RandomStreams first = new RandomStreams(42L);
+        RandomStreams second = new RandomStreams(42L);
+        for (RandomStreams.Stream stream : RandomStreams.Stream.values()) {
+            assertArrayEquals(draw(first.get(stream), 16), draw(second.get(stream), 16));
+        }
+    }
+
+    @Test
+    void streamsAreNotShiftedCopiesTest() {
+        RandomStreams streams = new RandomStreams(7L);
+        Set<Long> damage = new HashSet<>();
+        for (long value : draw(streams.get(RandomStreams.Stream.DAMAGE), 1000)) {
+            damage.add(value);
+        }
+        for (long value : draw(streams.get(RandomStreams.Stream.AI_TIEBREAK), 1000)) {
+            assertFalse(damage.contains(value));
+        }
+    }
+
+    @Test
+    void drawingFromOneStreamDoesNotMoveAnotherTest() {
+        RandomStreams drained = new RandomStreams(3L);
+        draw(drained.get(RandomStreams.Stream.DAMAGE), 100);
+        RandomStreams fresh = new RandomStreams(3L);
+        assertArrayEquals(draw(fresh.get(RandomStreams.Stream.AI_TIEBREAK), 8),
+                draw(drained.get(RandomStreams.Stream.AI_TIEBREAK), 8));
+    }
+
+    @Test
+    void deriveSeedTest() {
+        assertEquals(RandomStreams.deriveSeed(5L, 1L), RandomStreams.deriveSeed(5L, 1L));
+        Set<Long> seeds = new HashSet<>();
+        for (long seed = 0; seed < 4; seed++) {
+            for (long index = 0; index < 4; index++) {
+                seeds.add(RandomStreams.deriveSeed(seed, index));
+            }
+        }
+        assertEquals(16, seeds.size());
+    }
+}
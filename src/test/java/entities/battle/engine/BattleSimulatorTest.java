@@ -0,0 +1,54 @@
+package entities.battle.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleSimulatorTest {
+
+    private static final SimTeam FIRST = EngineFixtures.team("first", 0, 3, 6);
+    private static final SimTeam SECOND = EngineFixtures.team("second", 24, 80, 99);
+
+    private static String summary(SimResult result) {
+        return result.getWinner() + "/" + result.getTurns() + "/" + result.getDamageDealt(0) + "/"
+                + result.getDamageDealt(1) + "/" + result.getSurvivors(0) + "/" + result.getSurvivors(1);
+    }
+
+    @Test
+    void sameSeedReplaysTheBattleTest() {
+        BattleSimulator simulator = new BattleSimulator(new SplittableRandom(1L));
+        BattleSimulator other = new BattleSimulator(new SplittableRandom(2L));
+        for (long seed = 0; seed < 20; seed++) {
+            SimResult result = simulator.run(FIRST, SECOND, new RandomPolicy(), new RandomPolicy(), seed);
+            // a different simulator, after other battles, replays it exactly
+            other.run(SECOND, FIRST, new GreedyPolicy(), new RandomPolicy(), seed + 100);
+            SimResult replay = other.run(FIRST, SECOND, new RandomPolicy(), new RandomPolicy(), seed);
+            assertEquals(summary(result), summary(replay));
+            assertEquals(seed, replay.getSeed());
+        }
+    }
+
+    @Test
+    void differentSeedsPlayDifferentBattlesTest() {
+        BattleSimulator simulator = new BattleSimulator(new SplittableRandom(1L));
+        Set<String> outcomes = new HashSet<>();
+        for (long seed = 0; seed < 20; seed++) {
+            outcomes.add(summary(simulator.run(FIRST, SECOND, new RandomPolicy(), new RandomPolicy(), seed)));
+        }
+        assertTrue(outcomes.size() > 1);
+    }
+
+    @Test
+    void battleEndsWithOneSideStandingTest() {
+        BattleSimulator simulator = new BattleSimulator(new SplittableRandom(3L));
+        SimResult result = simulator.run(FIRST, SECOND, new GreedyPolicy(), new GreedyPolicy(), 7L);
+        assertFalse(result.isDraw());
+        assertEquals(0, result.getSurvivors(1 - result.getWinner()));
+        assertTrue(result.getSurvivors(result.getWinner()) > 0);
+        assertTrue(result.getTurns() <= simulator.getMaxTurns());
+    }
+}
@@ -0,0 +1,84 @@
+package entities.battle.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleStateTest {
+
+    private static final SimTeam FIRST = EngineFixtures.team("first", 0, 3, 6);
+    private static final SimTeam SECOND = EngineFixtures.team("second", 24, 80, 99);
+
+    @Test
+    void initialPositionTest() {
+        BattleState state = BattleState.initial(FIRST, SECOND);
+        assertEquals(0, state.getSideToMove());
+        assertEquals(0, state.getActiveSlot(0));
+        assertEquals(FIRST.get(0).getMaxHp(), state.getHp(0, 0));
+        assertEquals(3, state.getAliveCount(1));
+        assertFalse(state.isOver());
+        assertEquals(SimResult.DRAW, state.getWinner());
+    }
+
+    @Test
+    void moveDamagesTheDefenderAndLeavesTheParentAloneTest() {
+        BattleState start = BattleState.initial(FIRST, SECOND);
+        BattleState after = start.apply(BattleAction.move(0));
+
+        int expected = BattleSimulator.damage(FIRST.get(0), 0, SECOND.get(0), 0.925);
+        assertEquals(Math.max(0, SECOND.get(0).getMaxHp() - expected), after.getHp(1, 0));
+        assertEquals(SECOND.get(0).getMaxHp(), start.getHp(1, 0));
+        assertEquals(1, after.getSideToMove());
+        assertEquals(0, start.getSideToMove());
+        assertEquals(after, start.apply(BattleAction.move(0)));
+    }
+
+    @Test
+    void switchAndIllegalActionsTest() {
+        BattleState start = BattleState.initial(FIRST, SECOND);
+        BattleState switched = start.apply(BattleAction.switchTo(2));
+        assertEquals(2, switched.getActiveSlot(0));
+        assertEquals(0, start.getActiveSlot(0));
+
+        // switching to the active slot or a missing one, or an unknown move, only passes
+        for (int action : new int[]{BattleAction.switchTo(0), BattleAction.switchTo(5), BattleAction.move(9),
+                BattleAction.PASS}) {
+            BattleState passed = start.apply(action);
+            assertEquals(1, passed.getSideToMove());
+            assertEquals(0, passed.getActiveSlot(0));
+            assertEquals(SECOND.get(0).getMaxHp(), passed.getHp(1, 0));
+        }
+    }
+
+    @Test
+    void faintedPokemonIsReplacedUntilTheBattleEndsTest() {
+        int[][] hp = {EngineFixtures.fullHp(FIRST), {1, 0, 1}};
+        BattleState state = BattleState.of(FIRST, SECOND, hp, new int[]{0, 0}, null, 0);
+        assertEquals(2, state.getAliveCount(1));
+
+        BattleState fainted = state.apply(BattleAction.move(0));
+        assertEquals(0, fainted.getHp(1, 0));
+        assertEquals(2, fainted.getActiveSlot(1));
+        assertEquals(1, fainted.getAliveCount(1));
+
+        BattleState over = fainted.apply(BattleAction.PASS).apply(BattleAction.move(0));
+        assertTrue(over.isOver());
+        assertEquals(0, over.getWinner());
+        assertSame(over, over.apply(BattleAction.move(0)));
+    }
+
+    @Test
+    void agreesWithTheSimulatorStateTest() {
+        BattleState state = BattleState.initial(FIRST, SECOND)
+                .apply(BattleAction.move(1))
+                .apply(BattleAction.move(0));
+        SimState sim = state.toSimState();
+        for (int side = 0; side < SimState.SIDES; side++) {
+            assertEquals(state.getActiveSlot(side), sim.getActiveSlot(side));
+            for (int slot = 0; slot < state.getTeam(side).size(); slot++) {
+                assertEquals(state.getHp(side, slot), sim.getHp(side, slot));
+            }
+        }
+        assertEquals(state, BattleState.of(sim, state.getSideToMove()));
+    }
+}
@@ -0,0 +1,37 @@
+package entities.battle.engine;
+
+import entities.Pokemon;
+import pokeapi.JSONLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Teams built from the bundled Pokedex for the engine tests.
+ */
+final class EngineFixtures {
+
+    private EngineFixtures() {
+    }
+
+    static SimTeam team(String name, int... ids) {
+        JSONLoader loader = JSONLoader.getInstance();
+        List<Pokemon> members = new ArrayList<>();
+        for (int id : ids) {
+            members.add(loader.getAllPokemon().get(id));
+        }
+        return SimTeam.of(name, members, loader.getMoveRepository()::getByName);
+    }
+
+    static SimState start(SimTeam first, SimTeam second) {
+        return SimState.of(first, second, new int[][]{fullHp(first), fullHp(second)}, new int[]{0, 0});
+    }
+
+    static int[] fullHp(SimTeam team) {
+        int[] hp = new int[team.size()];
+        for (int slot = 0; slot < hp.length; slot++) {
+            hp[slot] = team.get(slot).getMaxHp();
+        }
+        return hp;
+    }
+}
@@ -0,0 +1,53 @@
+package entities.battle.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsSearchTest {
+
+    private static SimState start() {
+        return EngineFixtures.start(EngineFixtures.team("first", 0, 3, 6),
+                EngineFixtures.team("second", 24, 80, 99));
+    }
+
+    @Test
+    void fewerIterationsThanWorkersTerminatesTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MctsSearch.Result result = new MctsSearch(pool, 4, 0, 2).searchMove(start(), 0, 1L);
+            assertEquals(2L, result.getPlayouts());
+            assertTrue(result.getAction() != BattleAction.PASS);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void iterationBudgetIsSplitExactlyTest() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            MctsSearch.Result result = new MctsSearch(pool, 3, 0, 100).searchMove(start(), 0, 1L);
+            assertEquals(100L, result.getPlayouts());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sameSeedSameMoveTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MctsSearch search = new MctsSearch(pool, 4, 0, 400);
+            SimState state = start();
+            MctsSearch.Result first = search.searchMove(state, 0, 9L);
+            MctsSearch.Result second = search.searchMove(state, 0, 9L);
+            assertEquals(first.getAction(), second.getAction());
+            assertEquals(first.getWinRate(), second.getWinRate(), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package entities.battle.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    private static List<Tournament.Entrant> entrants() {
+        List<SimTeam> decks = new ArrayList<>();
+        decks.add(EngineFixtures.team("starters", 0, 3, 6));
+        decks.add(EngineFixtures.team("electric", 24, 80, 99));
+        decks.add(EngineFixtures.team("mixed", 129, 142, 148));
+        Map<String, BattlePolicy> policies = new LinkedHashMap<>();
+        policies.put("greedy", new GreedyPolicy());
+        policies.put("random", new RandomPolicy());
+        return Tournament.entrants(decks, policies);
+    }
+
+    private static String summary(TournamentResult result) {
+        StringBuilder out = new StringBuilder();
+        for (EntrantRecord record : result.getRecords()) {
+            out.append(record.getName()).append(' ').append(record.getWins()).append('/')
+                    .append(record.getLosses()).append('/').append(record.getDraws()).append(' ')
+                    .append(record.getAverageDamage()).append('\n');
+        }
+        return out.toString();
+    }
+
+    @Test
+    void sameSeedSameResultsWhateverThePoolTest() {
+        List<Tournament.Entrant> entrants = entrants();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool wide = new ForkJoinPool(4);
+        try {
+            TournamentResult first = new Tournament(single, 11L).runRoundRobin(entrants, 2);
+            TournamentResult second = new Tournament(wide, 11L).runRoundRobin(entrants, 2);
+            assertEquals(summary(first), summary(second));
+            assertEquals(first.getBattles(), second.getBattles());
+        } finally {
+            single.shutdown();
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void everyPairingIsPlayedTest() {
+        List<Tournament.Entrant> entrants = entrants();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            TournamentResult result = new Tournament(pool, 5L).runRoundRobin(entrants, 2);
+            int n = entrants.size();
+            assertEquals((long) n * (n - 1), result.getBattles());
+            for (EntrantRecord record : result.getRecords()) {
+                assertEquals(2L * (n - 1), record.getGames());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package entities.battle.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void capacityIsAPowerOfTwoTest() {
+        assertEquals(8, new TranspositionTable(5).capacity());
+        assertEquals(8, new TranspositionTable(8).capacity());
+        assertEquals(2, new TranspositionTable(0).capacity());
+    }
+
+    @Test
+    void storedValueIsReturnedForItsDepthOnlyTest() {
+        TranspositionTable table = new TranspositionTable(64);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        assertTrue(Double.isNaN(table.probe(key, 3)));
+
+        table.store(key, 3, 0.625);
+        assertEquals(0.625, table.probe(key, 3), 0.0);
+        assertTrue(Double.isNaN(table.probe(key, 2)));
+        assertTrue(Double.isNaN(table.probe(key, 4)));
+        assertTrue(Double.isNaN(table.probe(key + 1, 3)));
+    }
+
+    @Test
+    void samePositionIsOnlyReplacedByDeeperOrEqualSearchTest() {
+        TranspositionTable table = new TranspositionTable(64);
+        long key = 42L;
+        table.store(key, 4, 0.5);
+        table.store(key, 2, 0.25);
+        assertEquals(0.5, table.probe(key, 4), 0.0);
+        assertTrue(Double.isNaN(table.probe(key, 2)));
+
+        table.store(key, 4, 0.75);
+        assertEquals(0.75, table.probe(key, 4), 0.0);
+        table.store(key, 6, 0.125);
+        assertEquals(0.125, table.probe(key, 6), 0.0);
+    }
+
+    @Test
+    void otherPositionInTheSameSlotReplacesTheEntryTest() {
+        TranspositionTable table = new TranspositionTable(4);
+        long key = 1L;
+        // same low bits, so the same slot
+        long other = key + ((long) table.capacity() << 40);
+        table.store(key, 5, 0.5);
+        table.store(other, 1, 0.25);
+        assertEquals(0.25, table.probe(other, 1), 0.0);
+        assertTrue(Double.isNaN(table.probe(key, 5)));
+    }
+
+    @Test
+    void clearForgetsEveryEntryTest() {
+        TranspositionTable table = new TranspositionTable(16);
+        for (long key = 1; key <= 16; key++) {
+            table.store(key * 0x9E3779B97F4A7C15L, 1, key / 16.0);
+        }
+        table.clear();
+        for (long key = 1; key <= 16; key++) {
+            assertTrue(Double.isNaN(table.probe(key * 0x9E3779B97F4A7C15L, 1)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package entities.battle.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+
+    private static int randomAction(BattleState state, SplittableRandom random) {
+        SimTeam team = state.getTeam(state.getSideToMove());
+        if (random.nextInt(4) == 0) {
+            return BattleAction.switchTo(random.nextInt(team.size()));
+        }
+        return BattleAction.move(random.nextInt(SimPokemon.MAX_MOVES));
+    }
+
+    @Test
+    void incrementalKeyMatchesTheFullHashTest() {
+        SimTeam first = EngineFixtures.team("first", 0, 3, 6);
+        SimTeam second = EngineFixtures.team("second", 24, 80, 99);
+        SplittableRandom random = new SplittableRandom(17L);
+        for (int game = 0; game < 50; game++) {
+            BattleState state = BattleState.initial(first, second);
+            assertEquals(Zobrist.hash(state), state.getKey());
+            while (!state.isOver()) {
+                state = state.apply(randomAction(state, random), 0.85 + 0.15 * random.nextDouble());
+                assertEquals(Zobrist.hash(state), state.getKey());
+            }
+        }
+    }
+
+    @Test
+    void positionsWithoutStagesKeyTheSameAsSimStatesTest() {
+        SimTeam first = EngineFixtures.team("first", 0, 3, 6);
+        SimTeam second = EngineFixtures.team("second", 24, 80, 99);
+        BattleState state = BattleState.initial(first, second).apply(BattleAction.move(0));
+        assertEquals(Zobrist.hash(state.toSimState(), state.getSideToMove()), state.getKey());
+    }
+
+    @Test
+    void keysDistinguishTheFeaturesTest() {
+        SimTeam first = EngineFixtures.team("first", 0, 3, 6);
+        SimTeam second = EngineFixtures.team("second", 24, 80, 99);
+        BattleState start = BattleState.initial(first, second);
+        BattleState switched = start.apply(BattleAction.switchTo(1));
+        BattleState passed = start.apply(BattleAction.PASS);
+
+        assertNotEquals(start.getKey(), passed.getKey());
+        assertNotEquals(passed.getKey(), switched.getKey());
+        assertNotEquals(Zobrist.hp(0, 0, 10), Zobrist.hp(0, 0, 11));
+        assertNotEquals(Zobrist.hp(0, 0, 10), Zobrist.hp(1, 0, 10));
+        assertEquals(0L, Zobrist.stage(0, 0, 1, 0));
+        assertNotEquals(Zobrist.stage(0, 0, 1, 1), Zobrist.stage(0, 0, 1, -1));
+    }
+}
@@ -0,0 +1,44 @@
+package entities.user;
+
+import entities.Pokemon;
+import entities.battle.Stats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserTest {
+
+    private static Pokemon pokemon(String name, int id) {
+        return new Pokemon(name, id, new ArrayList<>(List.of("normal")), new Stats(), new ArrayList<>());
+    }
+
+    @Test
+    void getPokemonByIdTest() {
+        User user = new User(1, "Trainer", "trainer@pokemon.com", 0);
+        Pokemon first = pokemon("pikachu", 25);
+        user.addPokemon(first);
+        user.addPokemon(pokemon("pikachu", 25));
+
+        assertSame(first, user.getPokemonById(25));
+        assertNull(user.getPokemonById(1));
+    }
+
+    @Test
+    void indexFollowsChangesThroughTheOwnedListTest() {
+        User user = new User(1, "Trainer", "trainer@pokemon.com", 0);
+        user.addPokemon(pokemon("pikachu", 25));
+        assertNotNull(user.getPokemonById(25));
+
+        user.getOwnedPokemon().set(0, pokemon("bulbasaur", 1));
+        assertNull(user.getPokemonById(25));
+        assertNotNull(user.getPokemonById(1));
+
+        user.getOwnedPokemon().clear();
+        user.addPokemon(pokemon("charmander", 4));
+        assertNull(user.getPokemonById(1));
+        assertEquals("charmander", user.getPokemonById(4).getName());
+    }
+}
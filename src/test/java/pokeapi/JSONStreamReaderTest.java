@@ -0,0 +1,78 @@
+package pokeapi;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JSONStreamReaderTest {
+
+    // reads {"name": string, "ids": [int...], anything else skipped}
+    private static List<Object> read(String json) throws IOException {
+        List<Object> values = new ArrayList<>();
+        try (JSONStreamReader reader = new JSONStreamReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("name".equals(name)) {
+                    values.add(reader.nextString());
+                }
+                else if ("ids".equals(name)) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        values.add(reader.nextInt());
+                    }
+                    reader.endArray();
+                }
+                else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            assertEquals(JSONStreamReader.Token.END_DOCUMENT, reader.peek());
+        }
+        return values;
+    }
+
+    @Test
+    void readsWellFormedInputTest() throws IOException {
+        assertEquals(List.of("pika\"chu", 1, 25),
+                read("{\"name\": \"pika\\\"chu\", \"extra\": {\"a\": [1, {\"b\": null}], \"c\": true},"
+                        + " \"ids\": [1, 25], \"none\": []}"));
+        assertEquals(List.of(), read("{}"));
+    }
+
+    @Test
+    void rejectsMissingCommaTest() {
+        assertThrows(IOException.class, () -> read("{\"ids\": [1 2]}"));
+        assertThrows(IOException.class, () -> read("{\"name\": \"a\" \"ids\": []}"));
+    }
+
+    @Test
+    void rejectsMissingColonTest() {
+        assertThrows(IOException.class, () -> read("{\"name\" \"a\"}"));
+        assertThrows(IOException.class, () -> read("{\"name\", \"a\"}"));
+    }
+
+    @Test
+    void rejectsStraySeparatorsTest() {
+        assertThrows(IOException.class, () -> read("{\"ids\": [1,, 2]}"));
+        assertThrows(IOException.class, () -> read("{\"ids\": [, 1]}"));
+        assertThrows(IOException.class, () -> read("{\"ids\": [1,]}"));
+        assertThrows(IOException.class, () -> read("{\"name\": \"a\",}"));
+        assertThrows(IOException.class, () -> read("{\"name\":: \"a\"}"));
+        assertThrows(IOException.class, () -> read("{: \"name\"}"));
+    }
+
+    @Test
+    void rejectsOtherMalformedInputTest() {
+        assertThrows(IOException.class, () -> read("{\"name\": \"a\""));
+        assertThrows(IOException.class, () -> read("{\"x\": nul}"));
+        assertThrows(IOException.class, () -> read("{\"name\": \"a\"} {}"));
+        assertThrows(IOException.class, () -> read("{\"ids\": [1}"));
+    }
+}
@@ -0,0 +1,56 @@
+package pokeapi;
+
+import entities.battle.Learnset;
+import entities.battle.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveRepositoryTest {
+
+    private static VersionedList<Move> moves(String... names) {
+        VersionedList<Move> moves = new VersionedList<>();
+        for (String name : names) {
+            moves.add(new Move().setName(name));
+        }
+        return moves;
+    }
+
+    @Test
+    void lookupIgnoresCaseTest() {
+        MoveRepository repository = new MoveRepository(moves("tackle", "thunderbolt"));
+        assertEquals("thunderbolt", repository.getByName("Thunderbolt ").getName());
+        assertEquals(1, repository.getId("THUNDERBOLT"));
+        assertEquals(MoveRepository.UNKNOWN_ID, repository.getId("surf"));
+        assertNull(repository.getByName(null));
+        assertNull(repository.getById(2));
+    }
+
+    @Test
+    void indexFollowsReplacementOfTheSameSizeTest() {
+        VersionedList<Move> moves = moves("tackle", "thunderbolt");
+        MoveRepository repository = new MoveRepository(moves);
+        assertTrue(repository.contains("tackle"));
+
+        moves.set(0, new Move().setName("surf"));
+        assertTrue(repository.contains("surf"));
+        assertFalse(repository.contains("tackle"));
+
+        moves.clear();
+        moves.add(new Move().setName("ember"));
+        moves.add(new Move().setName("thunderbolt"));
+        assertEquals(0, repository.getId("ember"));
+        assertFalse(repository.contains("surf"));
+    }
+
+    @Test
+    void learnsetResolvesNamesTest() {
+        MoveRepository repository = new MoveRepository(moves("tackle", "thunderbolt", "surf"));
+        Learnset learnset = repository.toLearnset(List.of("Surf", "tackle"));
+        assertEquals(List.of("surf", "tackle"), learnset);
+        assertEquals(2, learnset.getMoveId(0));
+        assertNull(repository.toLearnset(List.of("tackle", "splash")));
+    }
+}
@@ -0,0 +1,141 @@
+package pokeapi;
+
+import entities.Pokemon;
+import entities.battle.Move;
+import entities.battle.Stats;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokedexSnapshotTest {
+
+    private Path dir;
+    private Path pokemonJson;
+    private Path movesJson;
+    private Path snapshot;
+    private List<Move> moves;
+    private List<Pokemon> pokemon;
+
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("pokedex-snapshot");
+        pokemonJson = Files.write(dir.resolve("pokemon.json"), "[{}]".getBytes(StandardCharsets.UTF_8));
+        movesJson = Files.write(dir.resolve("moves.json"), "[{}]".getBytes(StandardCharsets.UTF_8));
+        snapshot = dir.resolve("pokedex.bin");
+
+        moves = new ArrayList<>();
+        moves.add(new Move().setName("thunderbolt").setType("electric").setDamageClass("special")
+                .setEffect("May paralyze.").setPower(90).setAccuracy(100).setPriority(0));
+        moves.add(new Move().setName("growl").setType("normal").setDamageClass("status")
+                .setPower(null).setAccuracy(100).setPriority(0));
+        moves.add(new Move().setName("quick-attack").setType("normal").setDamageClass("physical")
+                .setEffect("Goes first.").setPower(40).setAccuracy(100).setPriority(1));
+
+        pokemon = new ArrayList<>();
+        pokemon.add(new Pokemon("pikachu", 25, new ArrayList<>(List.of("electric")),
+                new Stats(35, 55, 40, 50, 50, 90),
+                new ArrayList<>(List.of("thunderbolt", "quick-attack", "growl"))));
+        pokemon.add(new Pokemon("pidgey", 16, new ArrayList<>(List.of("normal", "flying")),
+                new Stats(40, 45, 40, 35, 35, 56), new ArrayList<>(List.of("quick-attack"))));
+    }
+
+    private PokedexSnapshot.Contents read() {
+        return PokedexSnapshot.readIfFresh(snapshot.toString(), pokemonJson.toString(), movesJson.toString());
+    }
+
+    private void write() throws IOException {
+        PokedexSnapshot.write(snapshot.toString(), pokemonJson.toString(), movesJson.toString(), pokemon, moves);
+    }
+
+    @Test
+    void roundTripTest() throws IOException {
+        setUp();
+        write();
+        PokedexSnapshot.Contents contents = read();
+        assertNotNull(contents);
+
+        assertEquals(moves.size(), contents.getMoves().size());
+        for (int i = 0; i < moves.size(); i++) {
+            Move expected = moves.get(i);
+            Move actual = contents.getMoves().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getDamageClass(), actual.getDamageClass());
+            assertEquals(expected.getEffect(), actual.getEffect());
+            assertEquals(expected.getPower(), actual.getPower());
+            assertEquals(expected.getAccuracy(), actual.getAccuracy());
+            assertEquals(expected.getPriority(), actual.getPriority());
+        }
+
+        assertEquals(pokemon.size(), contents.getPokemon().size());
+        for (int i = 0; i < pokemon.size(); i++) {
+            Pokemon expected = pokemon.get(i);
+            Pokemon actual = contents.getPokemon().get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTypes(), actual.getTypes());
+            assertEquals(expected.getMoveNames(), actual.getMoveNames());
+            Stats expectedStats = expected.getSpecies().getBaseStats();
+            Stats actualStats = actual.getSpecies().getBaseStats();
+            assertEquals(expectedStats.getMaxHp(), actualStats.getMaxHp());
+            assertEquals(expectedStats.getAttack(), actualStats.getAttack());
+            assertEquals(expectedStats.getDefense(), actualStats.getDefense());
+            assertEquals(expectedStats.getSpAttack(), actualStats.getSpAttack());
+            assertEquals(expectedStats.getSpDefense(), actualStats.getSpDefense());
+            assertEquals(expectedStats.getSpeed(), actualStats.getSpeed());
+        }
+    }
+
+    @Test
+    void missingSnapshotTest() throws IOException {
+        setUp();
+        assertNull(read());
+    }
+
+    @Test
+    void changedSourceSizeIsStaleTest() throws IOException {
+        setUp();
+        write();
+        Files.write(movesJson, "[{}, {}]".getBytes(StandardCharsets.UTF_8));
+        assertNull(read());
+    }
+
+    @Test
+    void changedSourceTimeIsStaleTest() throws IOException {
+        setUp();
+        write();
+        FileTime modified = Files.getLastModifiedTime(pokemonJson);
+        Files.setLastModifiedTime(pokemonJson, FileTime.fromMillis(modified.toMillis() + 60_000));
+        assertNull(read());
+    }
+
+    @Test
+    void deletedSourceIsStaleTest() throws IOException {
+        setUp();
+        write();
+        Files.delete(movesJson);
+        assertNull(read());
+    }
+
+    @Test
+    void unreadableSnapshotIsIgnoredTest() throws IOException {
+        setUp();
+        Files.write(snapshot, new byte[]{1, 2, 3});
+        assertNull(read());
+    }
+
+    @Test
+    void moveMissingFromMovesFailsTest() throws IOException {
+        setUp();
+        moves.remove(1);
+        assertThrows(IOException.class, this::write);
+        assertFalse(Files.exists(snapshot));
+    }
+}
@@ -0,0 +1,111 @@
+package pokeapi;
+
+import entities.Pokemon;
+import entities.battle.PokemonType;
+import entities.battle.Stats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PokemonRepositoryTest {
+
+    private static Pokemon pokemon(String name, int id) {
+        return new Pokemon(name, id, new ArrayList<>(List.of("normal")), new Stats(), new ArrayList<>());
+    }
+
+    private static Pokemon pokemon(String name, int id, int speed, String... types) {
+        return new Pokemon(name, id, new ArrayList<>(List.of(types)),
+                new Stats(50, 50, 50, 50, 50, speed), new ArrayList<>());
+    }
+
+    private static List<String> names(List<Pokemon> pokemon) {
+        List<String> names = new ArrayList<>();
+        for (Pokemon p : pokemon) {
+            names.add(p.getName());
+        }
+        return names;
+    }
+
+    private static VersionedList<Pokemon> pokedex() {
+        VersionedList<Pokemon> all = new VersionedList<>();
+        all.add(pokemon("pikachu", 25, 90, "electric"));
+        all.add(pokemon("jolteon", 135, 130, "electric"));
+        all.add(pokemon("zapdos", 145, 100, "electric", "flying"));
+        all.add(pokemon("pidgeot", 18, 101, "normal", "flying"));
+        all.add(pokemon("snorlax", 143, 30, "normal"));
+        return all;
+    }
+
+    @Test
+    void lookupByIdAndNameTest() {
+        VersionedList<Pokemon> all = new VersionedList<>();
+        all.add(pokemon("pikachu", 25));
+        all.add(pokemon("bulbasaur", 1));
+        PokemonRepository repository = new PokemonRepository(all);
+
+        assertEquals("pikachu", repository.getById(25).getName());
+        assertEquals(1, repository.getByName("Bulbasaur").getId());
+        assertNull(repository.getById(4));
+        assertNull(repository.getByName(null));
+        assertEquals(1, repository.getAllSortedById().get(0).getId());
+    }
+
+    @Test
+    void indexFollowsReplacementOfTheSameSizeTest() {
+        VersionedList<Pokemon> all = new VersionedList<>();
+        all.add(pokemon("pikachu", 25));
+        all.add(pokemon("bulbasaur", 1));
+        PokemonRepository repository = new PokemonRepository(all);
+        assertNotNull(repository.getById(25));
+
+        all.set(0, pokemon("charmander", 4));
+        assertNull(repository.getById(25));
+        assertEquals("charmander", repository.getById(4).getName());
+        assertEquals(List.of(all.get(1), all.get(0)), repository.getAllSortedById());
+    }
+
+    @Test
+    void typePostingsKeepLoadOrderTest() {
+        PokemonRepository repository = new PokemonRepository(pokedex());
+        assertEquals(List.of("pikachu", "jolteon", "zapdos"), names(repository.getByType(PokemonType.ELECTRIC)));
+        assertEquals(List.of("zapdos", "pidgeot"), names(repository.getByType(PokemonType.FLYING)));
+        assertTrue(repository.getByType(PokemonType.FIRE).isEmpty());
+    }
+
+    @Test
+    void statRangeIsInclusiveAndOrderedByStatTest() {
+        PokemonRepository repository = new PokemonRepository(pokedex());
+        assertEquals(List.of("zapdos", "pidgeot", "jolteon"),
+                names(repository.findByStatRange(PokemonRepository.Stat.SPEED, 100, Integer.MAX_VALUE)));
+        assertEquals(List.of("pikachu", "zapdos"),
+                names(repository.findByStatRange(PokemonRepository.Stat.SPEED, 90, 100)));
+        assertTrue(repository.findByStatRange(PokemonRepository.Stat.SPEED, 200, 300).isEmpty());
+    }
+
+    @Test
+    void typeAndStatRangeTest() {
+        PokemonRepository repository = new PokemonRepository(pokedex());
+        // "speed >= 100 and type = electric"
+        assertEquals(List.of("zapdos", "jolteon"),
+                names(repository.find(PokemonType.ELECTRIC, PokemonRepository.Stat.SPEED, 100, Integer.MAX_VALUE)));
+        // a wide stat range filters the shorter postings list instead
+        assertEquals(List.of("snorlax", "pidgeot"),
+                names(repository.find(PokemonType.NORMAL, PokemonRepository.Stat.SPEED, 0, 255)));
+    }
+
+    @Test
+    void typeAndStatIndexesFollowReplacementTest() {
+        VersionedList<Pokemon> all = pokedex();
+        PokemonRepository repository = new PokemonRepository(all);
+        assertEquals(3, repository.getByType(PokemonType.ELECTRIC).size());
+
+        all.set(1, pokemon("flareon", 136, 65, "fire"));
+        assertEquals(List.of("pikachu", "zapdos"), names(repository.getByType(PokemonType.ELECTRIC)));
+        assertEquals(List.of("flareon"), names(repository.getByType(PokemonType.FIRE)));
+        assertEquals(List.of("zapdos"),
+                names(repository.find(PokemonType.ELECTRIC, PokemonRepository.Stat.SPEED, 100, Integer.MAX_VALUE)));
+    }
+}
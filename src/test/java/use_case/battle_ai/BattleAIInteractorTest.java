@@ -179,6 +179,22 @@ public class BattleAIInteractorTest extends TestCase {
         assertNotNull(presenter.outputData.getPlayerSwitchedTo());
     }
 
+    public void testSpeculationCoversOnlyOfferedMoves() {
+        // the view offers four move buttons, so later moves are never speculated on
+        Pokemon player = new Pokemon("Mew", 1, new ArrayList<>(Arrays.asList("normal")),
+                new Stats(100, 10, 10, 10, 10, 10),
+                new ArrayList<>(Arrays.asList("m1", "m2", "m3", "m4", "m5", "m6", "m7", "m8")));
+        setupState(player, pokemon("Squirtle", 2, 100));
+        RecordingAIPlayer ai = new RecordingAIPlayer();
+        ai.setTeam(Arrays.asList(pokemon("Squirtle", 2, 100)));
+        ai.setActivePokemon(ai.getTeam().get(0));
+        gateway.saveAIPlayer(ai);
+
+        interactor.execute(new BattleAIInputData(0));
+        assertNull(presenter.errorMessage);
+        assertEquals(Arrays.asList("m1", "m2", "m3", "m4"), ai.speculatedMoves);
+    }
+
     public void testPlayerMoveEdgeCases() {
         // AI has no move - uses fallback
         setupState(pokemon("Pikachu", 1, 100), pokemonNoMoves("Squirtle", 2, 100));
@@ -405,6 +421,15 @@ public class BattleAIInteractorTest extends TestCase {
     }
 
 // test doubles
+    private static class RecordingAIPlayer extends AIPlayer {
+        List<String> speculatedMoves;
+        RecordingAIPlayer() { super("AI", "easy"); }
+        @Override public void speculate(Battle battle, List<Move> playerMoves) {
+            speculatedMoves = new ArrayList<>();
+            for (Move m : playerMoves) speculatedMoves.add(m.getName());
+        }
+    }
+
     private static class RecordingPresenter implements BattleAIOutputBoundary {
         BattleAIOutputData outputData;
         String errorMessage;
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import pokeapi.JSONLoader;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,6 +96,22 @@ class ViewCollectionInteractorTest {
         assertFalse(failed);
     }
 
+    @Test
+    void typeFilterSortedById() {
+        setUp();
+        ViewCollectionInputData input1 = new ViewCollectionInputData(new ArrayList<>(), 0, "electric");
+        interactor.execute( input1 );
+
+        List<Pokemon> page = presenter.lastOutput.getPokemonOnPage();
+        assertFalse(page.isEmpty());
+        int lastId = Integer.MIN_VALUE;
+        for (Pokemon pokemon : page) {
+            assertTrue(pokemon.getTypes().contains("electric"));
+            assertTrue(pokemon.getID() >= lastId);
+            lastId = pokemon.getID();
+        }
+    }
+
     @Test
     void invalidFilterEmpty() {
         setUp();